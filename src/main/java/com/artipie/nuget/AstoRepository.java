@@ -9,12 +9,25 @@ import com.artipie.asto.Content;
 import com.artipie.asto.Key;
 import com.artipie.asto.Meta;
 import com.artipie.asto.Storage;
+import com.artipie.asto.ext.ContentDigest;
+import com.artipie.asto.ext.Digests;
+import com.artipie.asto.ext.PublisherAs;
 import com.artipie.asto.streams.ContentAsStream;
 import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.NuspecField;
+import com.artipie.nuget.metadata.PackageId;
+import com.jcabi.log.Logger;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import javax.json.Json;
 
 /**
@@ -25,27 +38,98 @@ import javax.json.Json;
  */
 public final class AstoRepository implements Repository {
 
+    /**
+     * Name of package versions registry file.
+     */
+    private static final String INDEX = "index.json";
+
+    /**
+     * Max number of attempts to update index of published package.
+     */
+    private static final int ATTEMPTS = 3;
+
     /**
      * The storage.
      */
     private final Storage storage;
 
+    /**
+     * Package files storage.
+     */
+    private final LargeObjects objects;
+
+    /**
+     * Packages events catalog.
+     */
+    private final Catalog catalog;
+
+    /**
+     * Reverse dependency index.
+     */
+    private final Dependents dependents;
+
+    /**
+     * Index of packages by hash.
+     */
+    private final HashIndex hashes;
+
+    /**
+     * Published package identities.
+     */
+    private final PublishedIdentities identities;
+
+    /**
+     * Versions registries updates committer.
+     */
+    private final VersionsCommitter committer;
+
     /**
      * Ctor.
      *
      * @param storage Storage to store all repository data.
      */
     public AstoRepository(final Storage storage) {
+        this(storage, new LargeObjects(storage));
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage to store all repository data.
+     * @param objects Package files storage.
+     */
+    AstoRepository(final Storage storage, final LargeObjects objects) {
         this.storage = storage;
+        this.objects = objects;
+        this.catalog = new Catalog(storage);
+        this.dependents = new Dependents(storage);
+        this.hashes = new HashIndex(storage);
+        this.identities = new PublishedIdentities(storage);
+        this.committer = new VersionsCommitter(storage);
     }
 
     @Override
     public CompletionStage<Optional<Content>> content(final Key key) {
-        return this.storage.exists(key).thenCompose(
+        return this.ready(key).thenCompose(nothing -> this.objects.exists(key)).thenCompose(
             exists -> {
                 final CompletionStage<Optional<Content>> result;
                 if (exists) {
-                    result = this.storage.value(key).thenApply(Optional::of);
+                    result = this.objects.value(key).thenApply(Optional::of);
+                } else {
+                    result = CompletableFuture.completedFuture(Optional.empty());
+                }
+                return result;
+            }
+        );
+    }
+
+    @Override
+    public CompletionStage<Optional<Long>> size(final Key key) {
+        return this.ready(key).thenCompose(nothing -> this.objects.exists(key)).thenCompose(
+            exists -> {
+                final CompletionStage<Optional<Long>> result;
+                if (exists) {
+                    result = this.objects.size(key).thenApply(Optional::of);
                 } else {
                     result = CompletableFuture.completedFuture(Optional.empty());
                 }
@@ -57,55 +141,24 @@ public final class AstoRepository implements Repository {
     @Override
     public CompletionStage<PackageInfo> add(final Content content) {
         final Key key = new Key.From(UUID.randomUUID().toString());
-        return this.storage.save(key, content).thenCompose(
-            saved -> this.storage.value(key)
+        return this.objects.save(key, content).thenCompose(
+            saved -> this.objects.value(key)
                 .thenCompose(
                     val -> new ContentAsStream<Nuspec>(val).process(
                         input -> new Nupkg(input).nuspec()
                     )
-                ).thenCompose(
-                    nuspec -> {
-                        final PackageIdentity id =
-                            new PackageIdentity(nuspec.id(), nuspec.version());
-                        return this.storage.list(id.rootKey()).thenCompose(
-                            existing -> {
-                                if (!existing.isEmpty()) {
-                                    throw new PackageVersionAlreadyExistsException(id.toString());
-                                }
-                                final PackageKeys pkey = new PackageKeys(nuspec.id());
-                                return this.storage.exclusively(
-                                    pkey.rootKey(),
-                                    target -> CompletableFuture.allOf(
-                                        this.storage.value(key)
-                                            .thenCompose(val -> new Hash(val).save(target, id)),
-                                        this.storage.save(
-                                            new PackageIdentity(nuspec.id(), nuspec.version())
-                                                .nuspecKey(),
-                                            new Content.From(nuspec.bytes())
-                                        )
-                                    )
-                                        .thenCompose(nothing -> target.move(key, id.nupkgKey()))
-                                        .thenCompose(nothing -> this.versions(pkey))
-                                        .thenApply(vers -> vers.add(nuspec.version()))
-                                        .thenCompose(
-                                            vers -> vers.save(
-                                                target,
-                                                pkey.versionsKey()
-                                            )
-                                        ).thenCompose(
-                                            nothing -> this.storage.metadata(id.nuspecKey())
-                                                .thenApply(meta -> meta.read(Meta.OP_SIZE).get())
-                                        ).thenApply(
-                                            size -> new PackageInfo(
-                                                nuspec.id(), nuspec.version(), size
-                                            )
-                                        )
-                                );
-                            }
-                        );
-                    }
-                )
-        );
+                ).thenCompose(nuspec -> this.publish(key, nuspec))
+        ).handle(
+            (info, err) -> {
+                final CompletionStage<PackageInfo> res;
+                if (err == null) {
+                    res = CompletableFuture.completedFuture(info);
+                } else {
+                    res = this.discard(key, err);
+                }
+                return res;
+            }
+        ).thenCompose(Function.identity());
     }
 
     @Override
@@ -141,4 +194,280 @@ public final class AstoRepository implements Repository {
             }
         );
     }
+
+    @Override
+    public CompletionStage<Collection<NuspecField>> packages() {
+        return this.storage.list(Key.ROOT).thenApply(
+            keys -> keys.stream()
+                .map(Key::parts)
+                .filter(parts -> parts.size() == 2 && AstoRepository.INDEX.equals(parts.get(1)))
+                .map(parts -> new PackageId(parts.get(0)))
+                .collect(Collectors.toList())
+        );
+    }
+
+    @Override
+    public Optional<Storage> storage() {
+        return Optional.of(this.storage);
+    }
+
+    /**
+     * Make sure index the key belongs to is populated.
+     * Reverse dependency index is populated from stored nuspecs if it does not exist yet.
+     *
+     * @param key Resource key.
+     * @return Completion of population.
+     */
+    private CompletionStage<Void> ready(final Key key) {
+        final List<String> parts = new Key.From(key).parts();
+        final CompletionStage<Void> res;
+        if (!parts.isEmpty() && parts.get(0).equals(Dependents.ROOT.string())) {
+            res = this.dependents.ready(this);
+        } else {
+            res = CompletableFuture.completedFuture(null);
+        }
+        return res;
+    }
+
+    /**
+     * Publish pushed package unless its version is being published or already exists.
+     * Version is claimed before it is checked in storage, so no concurrent push
+     * of the same version can pass the check.
+     *
+     * @param key Pushed package key.
+     * @param nuspec Package description.
+     * @return Completion of publishing.
+     */
+    private CompletionStage<PackageInfo> publish(final Key key, final Nuspec nuspec) {
+        final PackageIdentity id = new PackageIdentity(nuspec.id(), nuspec.version());
+        final CompletionStage<PackageInfo> res;
+        if (this.identities.claim(id)) {
+            res = this.identities.contains(id).thenCompose(
+                exists -> {
+                    final CompletionStage<PackageInfo> published;
+                    if (exists) {
+                        published = this.duplicate(key, nuspec, id);
+                    } else {
+                        published = this.store(key, nuspec, id);
+                    }
+                    return published;
+                }
+            ).whenComplete((info, err) -> this.identities.release(id));
+        } else {
+            res = this.objects.delete(key).thenApply(
+                nothing -> {
+                    throw new PackageVersionAlreadyExistsException(id.toString());
+                }
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Store package files and update indexes.
+     * Package is published when its file is moved in place, failures to update
+     * indexes after that are retried and logged, but do not fail the push:
+     * pushing identical package again repairs them.
+     * If package fails to be moved in place, its hash and nuspec are removed.
+     *
+     * @param key Pushed package key.
+     * @param nuspec Package description.
+     * @param id Package identity.
+     * @return Completion of storing.
+     */
+    private CompletionStage<PackageInfo> store(final Key key, final Nuspec nuspec,
+        final PackageIdentity id) {
+        return CompletableFuture.allOf(
+            this.objects.value(key)
+                .thenCompose(val -> new Hash(val).save(this.storage, id))
+                .toCompletableFuture(),
+            this.storage.save(id.nuspecKey(), new Content.From(nuspec.bytes()))
+                .toCompletableFuture()
+        ).thenCompose(
+            nothing -> this.storage.metadata(id.nuspecKey())
+                .thenApply(meta -> meta.read(Meta.OP_SIZE).get())
+        ).thenCompose(
+            size -> this.objects.move(key, id.nupkgKey()).thenApply(nothing -> size)
+        ).handle(
+            (size, err) -> {
+                final CompletionStage<Long> res;
+                if (err == null) {
+                    res = CompletableFuture.completedFuture(size);
+                } else {
+                    res = this.unstore(id, err);
+                }
+                return res;
+            }
+        ).thenCompose(Function.identity()).thenCompose(
+            size -> this.index(nuspec, id)
+                .thenApply(nothing -> new PackageInfo(nuspec.id(), nuspec.version(), size))
+        );
+    }
+
+    /**
+     * Update indexes with published package.
+     * Hash index, versions registry and dependents ignore package which is already there,
+     * so updates are repeated to repair indexes when identical package is pushed again.
+     *
+     * @param nuspec Package description.
+     * @param id Package identity.
+     * @return Completion of updates.
+     */
+    private CompletableFuture<Void> index(final Nuspec nuspec, final PackageIdentity id) {
+        return CompletableFuture.allOf(
+            this.indexed("hashes", id, () -> this.hashes.add(id), 1),
+            this.indexed(
+                "versions registry", id,
+                () -> this.committer.add(new PackageKeys(nuspec.id()), nuspec.version()),
+                1
+            ),
+            this.indexed("dependents", id, () -> this.dependents.add(nuspec), 1),
+            this.indexed(
+                "catalog", id,
+                () -> this.catalog.append(Catalog.DETAILS, nuspec.id(), nuspec.version()),
+                1
+            )
+        );
+    }
+
+    /**
+     * Remove hash and nuspec of package which failed to be stored
+     * and fail with the store error.
+     *
+     * @param id Package identity.
+     * @param err Store error.
+     * @param <T> Result type.
+     * @return Failed completion.
+     */
+    private <T> CompletionStage<T> unstore(final PackageIdentity id, final Throwable err) {
+        return CompletableFuture.allOf(
+            AstoRepository.remove(this.storage, id.hashKey()).toCompletableFuture(),
+            AstoRepository.remove(this.storage, id.nuspecKey()).toCompletableFuture()
+        ).thenApply(
+            nothing -> {
+                if (err instanceof CompletionException) {
+                    throw (CompletionException) err;
+                }
+                throw new CompletionException(err);
+            }
+        );
+    }
+
+    /**
+     * Update index of published package, retry on failure.
+     * If all attempts fail, failure is logged and ignored.
+     *
+     * @param name Index name.
+     * @param id Package identity.
+     * @param update Index update.
+     * @param num Number of attempt, starting from one.
+     * @return Completion of update.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    private CompletableFuture<Void> indexed(final String name, final PackageIdentity id,
+        final Supplier<CompletionStage<Void>> update, final int num) {
+        return update.get().toCompletableFuture().handle(
+            (nothing, err) -> {
+                final CompletionStage<Void> res;
+                if (err == null) {
+                    res = CompletableFuture.completedFuture(null);
+                } else if (num < AstoRepository.ATTEMPTS) {
+                    res = this.indexed(name, id, update, num + 1);
+                } else {
+                    Logger.warn(
+                        AstoRepository.class,
+                        "Failed to update %s with published package %s: %[exception]s",
+                        name, id, err
+                    );
+                    res = CompletableFuture.completedFuture(null);
+                }
+                return res;
+            }
+        ).thenCompose(Function.identity());
+    }
+
+    /**
+     * Remove pushed package left after failed push and fail with the push error.
+     *
+     * @param key Pushed package key.
+     * @param err Push error.
+     * @param <T> Result type.
+     * @return Failed completion.
+     */
+    private <T> CompletionStage<T> discard(final Key key, final Throwable err) {
+        return this.objects.delete(key).thenApply(
+            nothing -> {
+                if (err instanceof CompletionException) {
+                    throw (CompletionException) err;
+                }
+                throw new CompletionException(err);
+            }
+        );
+    }
+
+    /**
+     * Reject pushed package which version already exists, pushed package is removed.
+     * If pushed package has the same SHA-512 hash as published one,
+     * push is a retry: indexes are updated again, so retry repairs indexes
+     * previous push failed to update, and {@link IdenticalPackageException} is thrown.
+     * Otherwise {@link PackageVersionAlreadyExistsException} is thrown.
+     *
+     * @param key Pushed package key.
+     * @param nuspec Package description.
+     * @param id Package identity.
+     * @param <T> Result type.
+     * @return Failed completion.
+     */
+    private <T> CompletionStage<T> duplicate(final Key key, final Nuspec nuspec,
+        final PackageIdentity id) {
+        return this.objects.value(key)
+            .thenCompose(val -> new ContentDigest(val, Digests.SHA512).bytes())
+            .thenCompose(
+                pushed -> this.content(id.hashKey()).thenCompose(
+                    stored -> stored.map(
+                        content -> new PublisherAs(content).asciiString().thenApply(
+                            hash -> hash.trim().equals(Base64.getEncoder().encodeToString(pushed))
+                        )
+                    ).orElse(CompletableFuture.completedFuture(false))
+                )
+            ).thenCompose(
+                same -> {
+                    final CompletionStage<Void> repaired;
+                    if (same) {
+                        repaired = this.index(nuspec, id);
+                    } else {
+                        repaired = CompletableFuture.completedFuture(null);
+                    }
+                    return repaired.thenCompose(nothing -> this.objects.delete(key)).thenApply(
+                        nothing -> {
+                            if (same) {
+                                throw new IdenticalPackageException(id.toString());
+                            }
+                            throw new PackageVersionAlreadyExistsException(id.toString());
+                        }
+                    );
+                }
+            );
+    }
+
+    /**
+     * Delete value if it exists.
+     *
+     * @param storage Storage.
+     * @param key Value key.
+     * @return Completion of deletion.
+     */
+    private static CompletionStage<Void> remove(final Storage storage, final Key key) {
+        return storage.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<Void> res;
+                if (exists) {
+                    res = storage.delete(key);
+                } else {
+                    res = CompletableFuture.completedFuture(null);
+                }
+                return res;
+            }
+        );
+    }
 }
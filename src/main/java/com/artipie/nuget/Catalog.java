@@ -0,0 +1,272 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.nuget.metadata.NuspecField;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonValue;
+import javax.json.JsonWriter;
+
+/**
+ * Append-only log of package events stored in {@link Storage}.
+ * Events are grouped into pages of limited size, only the last page is appended,
+ * full pages never change. Catalog root keeps commit summary of every page and events
+ * of the last page, so that event is appended by single {@link OptimisticUpdate} of root.
+ * Full page is saved separately when the next page is started.
+ * Every commit gets unique id and timestamp, timestamps strictly increase
+ * so they can be used as a cursor by mirrors.
+ * <p>
+ * Root document: <code>{"commitId", "commitTimeStamp", "count",
+ * "pages": [{"commitId", "commitTimeStamp", "count"}], "items": [last page events]}</code>.
+ * Page document: <code>{"items": [{"commitId", "commitTimeStamp", "type", "id",
+ * "version"}]}</code>.
+ *
+ * @since 1.6
+ */
+public final class Catalog {
+
+    /**
+     * Package details event type.
+     */
+    public static final String DETAILS = "nuget:PackageDetails";
+
+    /**
+     * Package delete event type.
+     */
+    public static final String DELETE = "nuget:PackageDelete";
+
+    /**
+     * Catalog location.
+     */
+    public static final Key ROOT = new Key.From(".catalog");
+
+    /**
+     * Catalog root document.
+     */
+    public static final Key INDEX = new Key.From(Catalog.ROOT, "root.json");
+
+    /**
+     * Maximum number of events in a page.
+     */
+    static final int PAGE = 550;
+
+    /**
+     * Commit id field.
+     */
+    private static final String COMMIT = "commitId";
+
+    /**
+     * Commit timestamp field.
+     */
+    private static final String STAMP = "commitTimeStamp";
+
+    /**
+     * Events count field.
+     */
+    private static final String COUNT = "count";
+
+    /**
+     * Pages field.
+     */
+    private static final String PAGES = "pages";
+
+    /**
+     * Page items field.
+     */
+    private static final String ITEMS = "items";
+
+    /**
+     * Storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     */
+    public Catalog(final Storage storage) {
+        this.storage = storage;
+    }
+
+    /**
+     * Key of catalog page.
+     *
+     * @param num Page number starting from zero.
+     * @return Key.
+     */
+    public static Key page(final int num) {
+        return new Key.From(Catalog.ROOT, "pages", String.format("%d.json", num));
+    }
+
+    /**
+     * Append event to catalog.
+     *
+     * @param type Event type.
+     * @param id Package id.
+     * @param version Package version.
+     * @return Completion of append.
+     */
+    public CompletionStage<Void> append(final String type, final NuspecField id,
+        final NuspecField version) {
+        return new OptimisticUpdate(this.storage, Catalog.INDEX).compose(
+            bytes -> {
+                final JsonObject root = bytes.map(Catalog::parse).orElseGet(Catalog::empty);
+                final JsonArray pages = root.getJsonArray(Catalog.PAGES);
+                final JsonArray items = root.getJsonArray(Catalog.ITEMS);
+                final int num;
+                final JsonArray existing;
+                final CompletionStage<Void> closed;
+                if (pages.isEmpty()) {
+                    num = 0;
+                    existing = JsonValue.EMPTY_JSON_ARRAY;
+                    closed = CompletableFuture.completedFuture(null);
+                } else if (items.size() >= Catalog.PAGE) {
+                    num = pages.size();
+                    existing = JsonValue.EMPTY_JSON_ARRAY;
+                    closed = Catalog.write(
+                        this.storage, Catalog.page(num - 1),
+                        Json.createObjectBuilder().add(Catalog.ITEMS, items).build()
+                    );
+                } else {
+                    num = pages.size() - 1;
+                    existing = items;
+                    closed = CompletableFuture.completedFuture(null);
+                }
+                return closed.thenApply(
+                    nothing -> Catalog.bytes(
+                        Catalog.appended(root, num, existing, type, id, version)
+                    )
+                );
+            }
+        );
+    }
+
+    /**
+     * Catalog root with appended event.
+     *
+     * @param root Current catalog root.
+     * @param num Number of the page to append event to.
+     * @param existing Events of the page.
+     * @param type Event type.
+     * @param id Package id.
+     * @param version Package version.
+     * @return New catalog root.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    private static JsonObject appended(final JsonObject root, final int num,
+        final JsonArray existing, final String type, final NuspecField id,
+        final NuspecField version) {
+        final JsonArray pages = root.getJsonArray(Catalog.PAGES);
+        final String commit = UUID.randomUUID().toString();
+        final String stamp = Catalog.stamp(root);
+        final JsonArray appended = Json.createArrayBuilder(existing).add(
+            Json.createObjectBuilder()
+                .add(Catalog.COMMIT, commit)
+                .add(Catalog.STAMP, stamp)
+                .add("type", type)
+                .add("id", id.raw())
+                .add("version", version.normalized())
+        ).build();
+        final JsonArrayBuilder updated = Json.createArrayBuilder();
+        for (int idx = 0; idx < num; idx = idx + 1) {
+            updated.add(pages.get(idx));
+        }
+        updated.add(
+            Json.createObjectBuilder()
+                .add(Catalog.COMMIT, commit)
+                .add(Catalog.STAMP, stamp)
+                .add(Catalog.COUNT, appended.size())
+        );
+        return Json.createObjectBuilder()
+            .add(Catalog.COMMIT, commit)
+            .add(Catalog.STAMP, stamp)
+            .add(Catalog.COUNT, root.getInt(Catalog.COUNT, 0) + 1)
+            .add(Catalog.PAGES, updated)
+            .add(Catalog.ITEMS, appended)
+            .build();
+    }
+
+    /**
+     * Commit timestamp: current time, but always after the last commit.
+     *
+     * @param root Catalog root.
+     * @return ISO-8601 timestamp.
+     */
+    private static String stamp(final JsonObject root) {
+        Instant now = Instant.now();
+        if (root.containsKey(Catalog.STAMP)) {
+            final Instant last = Instant.parse(root.getString(Catalog.STAMP));
+            if (!now.isAfter(last)) {
+                now = last.plusMillis(1);
+            }
+        }
+        return now.toString();
+    }
+
+    /**
+     * Parse catalog document.
+     *
+     * @param bytes Document bytes.
+     * @return JSON object.
+     */
+    private static JsonObject parse(final byte[] bytes) {
+        try (JsonReader reader = Json.createReader(new ByteArrayInputStream(bytes))) {
+            return reader.readObject();
+        }
+    }
+
+    /**
+     * Empty catalog document.
+     *
+     * @return JSON object.
+     */
+    private static JsonObject empty() {
+        return Json.createObjectBuilder()
+            .add(Catalog.PAGES, Json.createArrayBuilder())
+            .add(Catalog.ITEMS, Json.createArrayBuilder())
+            .build();
+    }
+
+    /**
+     * Write catalog document.
+     *
+     * @param storage Storage.
+     * @param key Document key.
+     * @param json Document.
+     * @return Completion of write.
+     */
+    private static CompletionStage<Void> write(final Storage storage, final Key key,
+        final JsonObject json) {
+        return storage.save(key, new Content.From(Catalog.bytes(json)));
+    }
+
+    /**
+     * Serialize catalog document.
+     *
+     * @param json Document.
+     * @return Document bytes.
+     */
+    private static byte[] bytes(final JsonObject json) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonWriter writer = Json.createWriter(out)) {
+            writer.writeObject(json);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,406 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.nuget.metadata.DependencyGroup;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.NuspecField;
+import com.artipie.nuget.metadata.PackageId;
+import com.jcabi.log.Logger;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonValue;
+import javax.json.JsonWriter;
+
+/**
+ * Reverse dependency index stored in {@link Storage}: packages depending on a package.
+ * Index keeps a small document per dependency id, it is updated on publish,
+ * so dependents of a package are found by reading single document instead of
+ * parsing every stored nuspec.
+ * <p>
+ * Document: <code>{"dependents": [{"id", "version", "range"}]}</code>,
+ * one item per dependent package version and distinct range.
+ * Documents are updated by {@link OptimisticUpdate}, so concurrent publishes
+ * of dependents do not fail on contention.
+ * Index which does not exist yet, e.g. in repository published to before the index
+ * was introduced, is populated from stored nuspecs on first use.
+ *
+ * @since 1.6
+ */
+public final class Dependents {
+
+    /**
+     * Index location.
+     */
+    public static final Key ROOT = new Key.From(".dependents");
+
+    /**
+     * Dependents field.
+     */
+    private static final String DEPENDENTS = "dependents";
+
+    /**
+     * Id field.
+     */
+    private static final String ID = "id";
+
+    /**
+     * Version field.
+     */
+    private static final String VERSION = "version";
+
+    /**
+     * Range field.
+     */
+    private static final String RANGE = "range";
+
+    /**
+     * Storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Index population from stored nuspecs.
+     */
+    private final AtomicReference<CompletableFuture<Void>> loading;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     */
+    public Dependents(final Storage storage) {
+        this.storage = storage;
+        this.loading = new AtomicReference<>();
+    }
+
+    /**
+     * Key of document with dependents of package.
+     *
+     * @param id Package id.
+     * @return Key.
+     */
+    public static Key key(final NuspecField id) {
+        return new Key.From(Dependents.ROOT, id.normalized(), "dependents.json");
+    }
+
+    /**
+     * Add package to dependents of all its dependencies.
+     *
+     * @param nuspec Package description.
+     * @return Completion of update.
+     */
+    public CompletionStage<Void> add(final Nuspec nuspec) {
+        final Map<String, Collection<String>> ranges = new LinkedHashMap<>();
+        for (final DependencyGroup group : nuspec.dependencyGroups()) {
+            for (final DependencyGroup.Dependency dep : group.dependencies()) {
+                if (!dep.id().isEmpty()) {
+                    ranges.computeIfAbsent(
+                        new PackageId(dep.id()).normalized(), key -> new LinkedHashSet<>(1)
+                    ).add(dep.version());
+                }
+            }
+        }
+        return CompletableFuture.allOf(
+            ranges.entrySet().stream().map(
+                entry -> this.add(
+                    new PackageId(entry.getKey()), nuspec.id(), nuspec.version(),
+                    entry.getValue()
+                ).toCompletableFuture()
+            ).toArray(CompletableFuture[]::new)
+        );
+    }
+
+    /**
+     * Index is populated from packages stored in repository if it does not exist.
+     * Population is started on first call and restarted on next call if it failed.
+     *
+     * @param repository Repository index belongs to.
+     * @return Completion of index population.
+     */
+    public CompletionStage<Void> ready(final Repository repository) {
+        CompletableFuture<Void> current = this.loading.get();
+        if (current == null || current.isCompletedExceptionally()) {
+            final CompletableFuture<Void> fresh = new CompletableFuture<>();
+            if (this.loading.compareAndSet(current, fresh)) {
+                this.storage.list(Dependents.ROOT).thenCompose(
+                    keys -> {
+                        final CompletionStage<Void> res;
+                        if (keys.isEmpty()) {
+                            res = this.rebuild(repository);
+                        } else {
+                            res = CompletableFuture.completedFuture(null);
+                        }
+                        return res;
+                    }
+                ).whenComplete(
+                    (nothing, err) -> {
+                        if (err == null) {
+                            fresh.complete(null);
+                        } else {
+                            fresh.completeExceptionally(err);
+                        }
+                    }
+                );
+            }
+            current = this.loading.get();
+        }
+        return current;
+    }
+
+    /**
+     * Add all packages stored in repository to index.
+     * Entries of packages which are already in index are replaced with the same ones.
+     *
+     * @param repository Repository index belongs to.
+     * @return Completion of rebuild.
+     */
+    public CompletionStage<Void> rebuild(final Repository repository) {
+        return repository.packages().thenCompose(
+            ids -> CompletableFuture.allOf(
+                ids.stream().map(id -> this.load(repository, id).toCompletableFuture())
+                    .toArray(CompletableFuture[]::new)
+            )
+        );
+    }
+
+    /**
+     * Dependents of package.
+     *
+     * @param id Package id.
+     * @return Dependents, empty list if nothing depends on package.
+     */
+    public CompletionStage<List<Dependent>> of(final NuspecField id) {
+        return Dependents.read(this.storage, Dependents.key(id)).thenApply(Dependents::parse);
+    }
+
+    /**
+     * Parse dependents document.
+     *
+     * @param json Dependents document.
+     * @return Dependents.
+     */
+    public static List<Dependent> parse(final JsonObject json) {
+        return json.getJsonArray(Dependents.DEPENDENTS).stream()
+            .map(JsonValue::asJsonObject)
+            .map(
+                item -> new Dependent(
+                    item.getString(Dependents.ID),
+                    item.getString(Dependents.VERSION),
+                    item.getString(Dependents.RANGE)
+                )
+            ).collect(Collectors.toList());
+    }
+
+    /**
+     * Add all versions of package stored in repository to index.
+     *
+     * @param repository Repository index belongs to.
+     * @param id Package id.
+     * @return Completion of update.
+     */
+    private CompletionStage<Void> load(final Repository repository, final NuspecField id) {
+        return repository.versions(new PackageKeys(id)).thenApply(Versions::all).thenCompose(
+            versions -> CompletableFuture.allOf(
+                versions.stream().map(
+                    version -> repository.nuspec(new PackageIdentity(id, version))
+                        .thenCompose(this::add)
+                        .toCompletableFuture()
+                        .exceptionally(
+                            err -> {
+                                Logger.warn(
+                                    Dependents.class,
+                                    "Failed to index dependencies of %s %s: %[exception]s",
+                                    id, version, err
+                                );
+                                return null;
+                            }
+                        )
+                ).toArray(CompletableFuture[]::new)
+            )
+        );
+    }
+
+    /**
+     * Add package version to dependents of dependency.
+     *
+     * @param dependency Dependency id.
+     * @param id Dependent package id.
+     * @param version Dependent package version.
+     * @param ranges Ranges of dependency required by dependent.
+     * @return Completion of update.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    private CompletionStage<Void> add(final NuspecField dependency, final NuspecField id,
+        final NuspecField version, final Collection<String> ranges) {
+        return new OptimisticUpdate(this.storage, Dependents.key(dependency)).apply(
+            bytes -> {
+                final JsonArrayBuilder updated = Json.createArrayBuilder();
+                for (final JsonValue value : Dependents.document(bytes)
+                    .getJsonArray(Dependents.DEPENDENTS)) {
+                    final JsonObject item = value.asJsonObject();
+                    if (!new PackageId(item.getString(Dependents.ID)).normalized()
+                        .equals(id.normalized())
+                        || !item.getString(Dependents.VERSION).equals(version.normalized())) {
+                        updated.add(item);
+                    }
+                }
+                for (final String range : ranges) {
+                    updated.add(
+                        Json.createObjectBuilder()
+                            .add(Dependents.ID, id.raw())
+                            .add(Dependents.VERSION, version.normalized())
+                            .add(Dependents.RANGE, range)
+                    );
+                }
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                try (JsonWriter writer = Json.createWriter(out)) {
+                    writer.writeObject(
+                        Json.createObjectBuilder().add(Dependents.DEPENDENTS, updated).build()
+                    );
+                }
+                return out.toByteArray();
+            }
+        );
+    }
+
+    /**
+     * Parse stored dependents document, empty one if it does not exist.
+     *
+     * @param bytes Document bytes, empty if document does not exist.
+     * @return JSON object.
+     */
+    private static JsonObject document(final Optional<byte[]> bytes) {
+        return bytes.map(
+            json -> {
+                try (JsonReader reader = Json.createReader(new ByteArrayInputStream(json))) {
+                    return reader.readObject();
+                }
+            }
+        ).orElseGet(
+            () -> Json.createObjectBuilder()
+                .add(Dependents.DEPENDENTS, Json.createArrayBuilder().build())
+                .build()
+        );
+    }
+
+    /**
+     * Read dependents document, empty one if it does not exist.
+     *
+     * @param storage Storage.
+     * @param key Document key.
+     * @return JSON object.
+     */
+    private static CompletionStage<JsonObject> read(final Storage storage, final Key key) {
+        return storage.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<JsonObject> res;
+                if (exists) {
+                    res = storage.value(key)
+                        .thenCompose(
+                            content -> new PublisherAs(content).string(StandardCharsets.UTF_8)
+                        )
+                        .thenApply(
+                            str -> {
+                                try (JsonReader reader = Json.createReader(new StringReader(str))) {
+                                    return reader.readObject();
+                                }
+                            }
+                        );
+                } else {
+                    final JsonArray empty = Json.createArrayBuilder().build();
+                    res = CompletableFuture.completedFuture(
+                        Json.createObjectBuilder().add(Dependents.DEPENDENTS, empty).build()
+                    );
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Package version depending on another package.
+     *
+     * @since 1.6
+     */
+    public static final class Dependent {
+
+        /**
+         * Dependent package id.
+         */
+        private final String id;
+
+        /**
+         * Dependent package version.
+         */
+        private final String version;
+
+        /**
+         * Required range of dependency.
+         */
+        private final String range;
+
+        /**
+         * Ctor.
+         *
+         * @param id Dependent package id.
+         * @param version Dependent package version.
+         * @param range Required range of dependency, empty string if not specified.
+         */
+        public Dependent(final String id, final String version, final String range) {
+            this.id = id;
+            this.version = version;
+            this.range = range;
+        }
+
+        /**
+         * Dependent package id.
+         *
+         * @return Package id.
+         */
+        @SuppressWarnings("PMD.ShortMethodName")
+        public String id() {
+            return this.id;
+        }
+
+        /**
+         * Dependent package version.
+         *
+         * @return Normalized version.
+         */
+        public String version() {
+            return this.version;
+        }
+
+        /**
+         * Required range of dependency.
+         *
+         * @return Range as written in nuspec, empty string if not specified.
+         */
+        public String range() {
+            return this.range;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Index of published packages by SHA-512 hash of package file.
+ * Allows to check if the same package was already published before reading
+ * pushed package: hash is used as package entity tag, it is the same base64 string
+ * as stored in {@code .nupkg.sha512} file. Entry {@code .hashes/<hex hash>} contains
+ * root key of the package version.
+ *
+ * @since 1.6
+ */
+public final class HashIndex {
+
+    /**
+     * Root key of index.
+     */
+    public static final Key ROOT = new Key.From(".hashes");
+
+    /**
+     * SHA-512 hash length in bytes.
+     */
+    private static final int LENGTH = 64;
+
+    /**
+     * Storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     */
+    public HashIndex(final Storage storage) {
+        this.storage = storage;
+    }
+
+    /**
+     * Add published package to index, hash is read from package hash file.
+     *
+     * @param identity Package identity.
+     * @return Completion of adding.
+     */
+    public CompletionStage<Void> add(final PackageIdentity identity) {
+        return this.storage.value(identity.hashKey())
+            .thenCompose(content -> new PublisherAs(content).asciiString())
+            .thenCompose(
+                hash -> this.storage.save(
+                    HashIndex.key(Base64.getDecoder().decode(hash.trim())),
+                    new Content.From(
+                        identity.rootKey().string().getBytes(StandardCharsets.UTF_8)
+                    )
+                )
+            );
+    }
+
+    /**
+     * Index entry key of package entity tag, which is base64 SHA-512 hash of package,
+     * optionally quoted and marked as weak.
+     *
+     * @param etag Entity tag.
+     * @return Index entry key, empty if entity tag is not a package hash.
+     */
+    public static Optional<Key> key(final String etag) {
+        String tag = etag.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() > 1 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        Optional<Key> res;
+        try {
+            final byte[] hash = Base64.getDecoder().decode(tag);
+            if (hash.length == HashIndex.LENGTH) {
+                res = Optional.of(HashIndex.key(hash));
+            } else {
+                res = Optional.empty();
+            }
+        } catch (final IllegalArgumentException ex) {
+            res = Optional.empty();
+        }
+        return res;
+    }
+
+    /**
+     * Index entry key of package hash.
+     *
+     * @param hash SHA-512 hash of package.
+     * @return Index entry key.
+     */
+    static Key key(final byte[] hash) {
+        final StringBuilder hex = new StringBuilder(hash.length * 2);
+        for (final byte val : hash) {
+            hex.append(String.format("%02x", val));
+        }
+        return new Key.From(HashIndex.ROOT, hex.toString());
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget;
+
+import com.artipie.ArtipieException;
+
+/**
+ * Exception indicates that package version is not added,
+ * because exactly the same package is already published,
+ * i.e. pushing the package again has no effect.
+ *
+ * @since 1.6
+ */
+@SuppressWarnings("serial")
+public final class IdenticalPackageException extends ArtipieException {
+
+    /**
+     * Ctor.
+     *
+     * @param message Exception details message.
+     */
+    public IdenticalPackageException(final String message) {
+        super(message);
+    }
+}
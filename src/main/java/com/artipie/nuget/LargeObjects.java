@@ -0,0 +1,446 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import hu.akarnokd.rxjava2.interop.CompletableInterop;
+import hu.akarnokd.rxjava2.interop.SingleInterop;
+import io.reactivex.Flowable;
+import io.reactivex.processors.UnicastProcessor;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import javax.json.Json;
+import javax.json.JsonObject;
+
+/**
+ * Storage of large objects, such as package files.
+ * Object not larger than single part is saved to storage as is. Larger object is split
+ * into parts while it is read, parts are streamed to storage concurrently under
+ * {@code <key>.parts/<number>} keys, then manifest with object size and number of parts
+ * is saved under {@code <key>.parts/manifest} key: object exists once its manifest exists.
+ * Parted object is read with read-ahead, next parts are requested from storage
+ * while previous one is consumed.
+ *
+ * @since 1.6
+ */
+final class LargeObjects {
+
+    /**
+     * Default part size.
+     */
+    private static final int PART = 16 * 1024 * 1024;
+
+    /**
+     * Default max number of parts written or read concurrently.
+     */
+    private static final int PARALLEL = 4;
+
+    /**
+     * Parts location suffix.
+     */
+    private static final String SUFFIX = ".parts";
+
+    /**
+     * Manifest name.
+     */
+    private static final String MANIFEST = "manifest";
+
+    /**
+     * Storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Part size.
+     */
+    private final int part;
+
+    /**
+     * Max number of parts written or read concurrently.
+     */
+    private final int parallel;
+
+    /**
+     * Ctor with default part size and parallelism.
+     *
+     * @param storage Storage.
+     */
+    LargeObjects(final Storage storage) {
+        this(storage, LargeObjects.PART, LargeObjects.PARALLEL);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     * @param part Part size.
+     * @param parallel Max number of parts written or read concurrently.
+     */
+    LargeObjects(final Storage storage, final int part, final int parallel) {
+        this.storage = storage;
+        this.part = part;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Save object.
+     * Object of known size not larger than single part is saved as is. Otherwise parts are
+     * streamed to storage while object is read, object which turns out to fit single part
+     * is moved in place of object key.
+     *
+     * @param key Object key.
+     * @param content Object content.
+     * @return Completion of saving.
+     */
+    CompletionStage<Void> save(final Key key, final Content content) {
+        final CompletionStage<Void> res;
+        if (content.size().filter(size -> size <= this.part).isPresent()) {
+            res = this.storage.save(key, content);
+        } else {
+            res = this.parted(key, content);
+        }
+        return res;
+    }
+
+    /**
+     * Save object in parts.
+     *
+     * @param key Object key.
+     * @param content Object content.
+     * @return Completion of saving.
+     */
+    private CompletionStage<Void> parted(final Key key, final Content content) {
+        final Windows windows = new Windows(this.part);
+        final AtomicInteger number = new AtomicInteger();
+        return Flowable.fromPublisher(content)
+            .concatMapIterable(windows::accept)
+            .doOnComplete(windows::complete)
+            .doOnError(windows::fail)
+            .flatMapCompletable(
+                window -> CompletableInterop.fromFuture(
+                    this.storage.save(
+                        LargeObjects.part(key, number.incrementAndGet()),
+                        new Content.From(window)
+                    )
+                ),
+                false,
+                this.parallel
+            ).to(CompletableInterop.<Void>await())
+            .thenCompose(
+                nothing -> {
+                    final CompletionStage<Void> res;
+                    if (number.get() == 0) {
+                        res = this.storage.save(key, new Content.From(new byte[0]));
+                    } else if (number.get() == 1) {
+                        res = this.storage.move(LargeObjects.part(key, 1), key);
+                    } else {
+                        res = this.storage.save(
+                            LargeObjects.manifest(key),
+                            new Content.From(
+                                Json.createObjectBuilder()
+                                    .add("size", windows.size())
+                                    .add("parts", number.get())
+                                    .build().toString()
+                                    .getBytes(StandardCharsets.UTF_8)
+                            )
+                        );
+                    }
+                    return res;
+                }
+            );
+    }
+
+    /**
+     * Check if object exists.
+     *
+     * @param key Object key.
+     * @return True if object exists.
+     */
+    CompletionStage<Boolean> exists(final Key key) {
+        return this.storage.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<Boolean> res;
+                if (exists) {
+                    res = CompletableFuture.completedFuture(true);
+                } else {
+                    res = this.storage.exists(LargeObjects.manifest(key));
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Read object, fails if object does not exist.
+     *
+     * @param key Object key.
+     * @return Object content.
+     */
+    CompletionStage<Content> value(final Key key) {
+        return this.storage.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<Content> res;
+                if (exists) {
+                    res = this.storage.value(key);
+                } else {
+                    res = this.read(key).thenApply(
+                        manifest -> new Content.From(
+                            manifest.getJsonNumber("size").longValue(),
+                            Flowable.range(1, manifest.getInt("parts")).concatMapEager(
+                                number -> SingleInterop.fromFuture(
+                                    this.storage.value(LargeObjects.part(key, number))
+                                ).flatMapPublisher(content -> content),
+                                this.parallel,
+                                Flowable.bufferSize()
+                            )
+                        )
+                    );
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Read object size, fails if object does not exist.
+     *
+     * @param key Object key.
+     * @return Object size.
+     */
+    CompletionStage<Long> size(final Key key) {
+        return this.storage.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<Long> res;
+                if (exists) {
+                    res = this.storage.metadata(key)
+                        .thenApply(meta -> meta.read(Meta.OP_SIZE).get());
+                } else {
+                    res = this.read(key)
+                        .thenApply(manifest -> manifest.getJsonNumber("size").longValue());
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Move object, parted object becomes visible under destination key
+     * once all parts are moved.
+     *
+     * @param source Source key.
+     * @param destination Destination key.
+     * @return Completion of moving.
+     */
+    CompletionStage<Void> move(final Key source, final Key destination) {
+        return this.storage.exists(source).thenCompose(
+            exists -> {
+                final CompletionStage<Void> res;
+                if (exists) {
+                    res = this.storage.move(source, destination);
+                } else {
+                    res = this.read(source).thenCompose(
+                        manifest -> CompletableFuture.allOf(
+                            IntStream.rangeClosed(1, manifest.getInt("parts")).mapToObj(
+                                number -> this.storage.move(
+                                    LargeObjects.part(source, number),
+                                    LargeObjects.part(destination, number)
+                                )
+                            ).toArray(CompletableFuture[]::new)
+                        )
+                    ).thenCompose(
+                        nothing -> this.storage.move(
+                            LargeObjects.manifest(source), LargeObjects.manifest(destination)
+                        )
+                    );
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Delete object with all its parts, if any.
+     *
+     * @param key Object key.
+     * @return Completion of deletion.
+     */
+    CompletionStage<Void> delete(final Key key) {
+        return CompletableFuture.allOf(
+            LargeObjects.delete(this.storage, key).toCompletableFuture(),
+            LargeObjects.delete(this.storage, LargeObjects.manifest(key)).toCompletableFuture()
+        ).thenCompose(
+            nothing -> this.storage.deleteAll(
+                new Key.From(String.format("%s%s", key.string(), LargeObjects.SUFFIX))
+            )
+        );
+    }
+
+    /**
+     * Read object manifest.
+     *
+     * @param key Object key.
+     * @return Manifest JSON.
+     */
+    private CompletionStage<JsonObject> read(final Key key) {
+        return this.storage.value(LargeObjects.manifest(key))
+            .thenCompose(content -> new PublisherAs(content).string(StandardCharsets.UTF_8))
+            .thenApply(json -> Json.createReader(new StringReader(json)).readObject());
+    }
+
+    /**
+     * Delete value if it exists.
+     *
+     * @param storage Storage.
+     * @param key Value key.
+     * @return Completion of deletion.
+     */
+    private static CompletionStage<Void> delete(final Storage storage, final Key key) {
+        return storage.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<Void> res;
+                if (exists) {
+                    res = storage.delete(key);
+                } else {
+                    res = CompletableFuture.completedFuture(null);
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Object part key.
+     *
+     * @param key Object key.
+     * @param number Part number starting from 1.
+     * @return Part key.
+     */
+    private static Key part(final Key key, final int number) {
+        return new Key.From(
+            String.format("%s%s", key.string(), LargeObjects.SUFFIX), String.valueOf(number)
+        );
+    }
+
+    /**
+     * Object manifest key.
+     *
+     * @param key Object key.
+     * @return Manifest key.
+     */
+    private static Key manifest(final Key key) {
+        return new Key.From(
+            String.format("%s%s", key.string(), LargeObjects.SUFFIX), LargeObjects.MANIFEST
+        );
+    }
+
+    /**
+     * Object content split into parts of the same size while it is read.
+     * Every part is a stream of object bytes, which is opened when first bytes
+     * of the part arrive and completed when the part is full or object is read.
+     * Bytes are not copied, parts are slices of object buffers.
+     *
+     * @since 1.6
+     */
+    private static final class Windows {
+
+        /**
+         * Part size.
+         */
+        private final int part;
+
+        /**
+         * Bytes of current part, null if no part is opened yet.
+         */
+        private UnicastProcessor<ByteBuffer> current;
+
+        /**
+         * Number of bytes in current part.
+         */
+        private int filled;
+
+        /**
+         * Object size.
+         */
+        private long size;
+
+        /**
+         * Ctor.
+         *
+         * @param part Part size.
+         */
+        Windows(final int part) {
+            this.part = part;
+        }
+
+        /**
+         * Accept next bytes of object.
+         *
+         * @param buffer Bytes.
+         * @return Parts opened by these bytes.
+         */
+        List<Flowable<ByteBuffer>> accept(final ByteBuffer buffer) {
+            final List<Flowable<ByteBuffer>> opened = new ArrayList<>(1);
+            final ByteBuffer bytes = buffer.duplicate();
+            while (bytes.hasRemaining()) {
+                if (this.current == null || this.filled == this.part) {
+                    if (this.current != null) {
+                        this.current.onComplete();
+                    }
+                    this.current = UnicastProcessor.create();
+                    this.filled = 0;
+                    opened.add(this.current);
+                }
+                final int length = Math.min(bytes.remaining(), this.part - this.filled);
+                final ByteBuffer slice = bytes.slice();
+                slice.limit(length);
+                bytes.position(bytes.position() + length);
+                this.current.onNext(slice);
+                this.filled += length;
+                this.size += length;
+            }
+            return opened;
+        }
+
+        /**
+         * Complete last part when object is read.
+         */
+        void complete() {
+            if (this.current != null) {
+                this.current.onComplete();
+            }
+        }
+
+        /**
+         * Fail current part when object reading failed.
+         *
+         * @param err Error.
+         */
+        void fail(final Throwable err) {
+            if (this.current != null) {
+                this.current.onError(err);
+            }
+        }
+
+        /**
+         * Object size.
+         *
+         * @return Number of bytes read.
+         */
+        long size() {
+            return this.size;
+        }
+    }
+}
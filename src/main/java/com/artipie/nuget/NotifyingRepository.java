@@ -0,0 +1,154 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.NuspecField;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import com.jcabi.log.Logger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Repository notifying {@link PublishListener}s about added packages.
+ * Listeners are notified after package is added without delaying the publish,
+ * their failures are logged.
+ *
+ * @since 1.6
+ */
+public final class NotifyingRepository implements Repository {
+
+    /**
+     * Origin repository.
+     */
+    private final Repository origin;
+
+    /**
+     * Publish listeners.
+     */
+    private final Collection<PublishListener> listeners;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin repository.
+     * @param listeners Publish listeners.
+     */
+    public NotifyingRepository(final Repository origin, final PublishListener... listeners) {
+        this(origin, Arrays.asList(listeners));
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin repository.
+     * @param listeners Publish listeners.
+     */
+    public NotifyingRepository(
+        final Repository origin,
+        final Collection<PublishListener> listeners
+    ) {
+        this.origin = origin;
+        this.listeners = listeners;
+    }
+
+    @Override
+    public CompletionStage<Optional<Content>> content(final Key key) {
+        return this.origin.content(key);
+    }
+
+    @Override
+    public CompletionStage<Optional<Long>> size(final Key key) {
+        return this.origin.size(key);
+    }
+
+    @Override
+    public CompletionStage<PackageInfo> add(final Content content) {
+        return this.origin.add(content).thenApply(
+            info -> {
+                this.announce(info);
+                return info;
+            }
+        );
+    }
+
+    @Override
+    public CompletionStage<Versions> versions(final PackageKeys id) {
+        return this.origin.versions(id);
+    }
+
+    @Override
+    public CompletionStage<Nuspec> nuspec(final PackageIdentity identity) {
+        return this.origin.nuspec(identity);
+    }
+
+    @Override
+    public CompletionStage<Collection<NuspecField>> packages() {
+        return this.origin.packages();
+    }
+
+    @Override
+    public Optional<Storage> storage() {
+        return this.origin.storage();
+    }
+
+    /**
+     * Notify listeners about published package in background.
+     *
+     * @param info Published package info.
+     */
+    private void announce(final PackageInfo info) {
+        this.origin.nuspec(
+            new PackageIdentity(
+                new PackageId(info.packageName()), new Version(info.packageVersion())
+            )
+        ).thenCompose(
+            nuspec -> CompletableFuture.allOf(
+                this.listeners.stream()
+                    .map(listener -> NotifyingRepository.safely(listener, nuspec))
+                    .toArray(CompletableFuture[]::new)
+            )
+        ).exceptionally(
+            err -> {
+                Logger.warn(
+                    NotifyingRepository.class,
+                    "Failed to notify listeners about %s %s: %[exception]s",
+                    info.packageName(), info.packageVersion(), err
+                );
+                return null;
+            }
+        );
+    }
+
+    /**
+     * Notify listener, errors are logged and ignored.
+     *
+     * @param listener Listener.
+     * @param nuspec Published package description.
+     * @return Completion of notification.
+     */
+    private static CompletableFuture<Void> safely(
+        final PublishListener listener,
+        final Nuspec nuspec
+    ) {
+        return listener.published(nuspec).toCompletableFuture().exceptionally(
+            err -> {
+                Logger.warn(
+                    NotifyingRepository.class,
+                    "Publish listener failed for %s: %[exception]s",
+                    nuspec.id(), err
+                );
+                return null;
+            }
+        );
+    }
+}
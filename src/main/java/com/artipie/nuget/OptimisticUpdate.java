@@ -0,0 +1,255 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget;
+
+import com.artipie.asto.ArtipieIOException;
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Optimistic read-modify-write of single storage value.
+ * New value is computed from a snapshot without any lock, then it is saved only if
+ * the stored value is still equal to the snapshot (compare-and-swap), otherwise update
+ * is retried with exponential backoff and jitter. Storage has no conditional writes,
+ * so compare and save are done under storage lock, which is held for that short step only;
+ * failure to acquire the lock is retried the same way as a conflict.
+ * Updates of the same value in this process are applied one after another,
+ * so they never conflict with each other, only with updates from other processes.
+ *
+ * @since 1.6
+ */
+final class OptimisticUpdate {
+
+    /**
+     * Default max number of attempts.
+     */
+    private static final int ATTEMPTS = 20;
+
+    /**
+     * Initial backoff in milliseconds.
+     */
+    private static final long BACKOFF = 5L;
+
+    /**
+     * Max backoff in milliseconds.
+     */
+    private static final long MAX_BACKOFF = 500L;
+
+    /**
+     * Retries scheduler.
+     */
+    private static final ScheduledExecutorService SCHEDULER =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                final Thread thread = new Thread(runnable, "nuget-update-retry");
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+
+    /**
+     * Last updates of values in this process by storage and key.
+     */
+    private static final ConcurrentMap<String, CompletableFuture<Void>> TURNS =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Key of value to update.
+     */
+    private final Key key;
+
+    /**
+     * Max number of attempts.
+     */
+    private final int attempts;
+
+    /**
+     * Ctor with default number of attempts.
+     *
+     * @param storage Storage.
+     * @param key Key of value to update.
+     */
+    OptimisticUpdate(final Storage storage, final Key key) {
+        this(storage, key, OptimisticUpdate.ATTEMPTS);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     * @param key Key of value to update.
+     * @param attempts Max number of attempts.
+     */
+    OptimisticUpdate(final Storage storage, final Key key, final int attempts) {
+        this.storage = storage;
+        this.key = key;
+        this.attempts = attempts;
+    }
+
+    /**
+     * Update value.
+     * Update function may be called several times and should have no side effects.
+     *
+     * @param update Function computing new value from current one, empty if value is absent.
+     * @return Completion of update.
+     */
+    CompletionStage<Void> apply(final Function<Optional<byte[]>, byte[]> update) {
+        return this.compose(bytes -> CompletableFuture.completedFuture(update.apply(bytes)));
+    }
+
+    /**
+     * Update value with asynchronous update function.
+     * Update function may be called several times, it may only do idempotent writes
+     * of other values, which depend on current value only.
+     *
+     * @param update Function computing new value from current one, empty if value is absent.
+     * @return Completion of update.
+     */
+    CompletionStage<Void> compose(
+        final Function<Optional<byte[]>, CompletionStage<byte[]>> update) {
+        final String slot = String.format(
+            "%d/%s", System.identityHashCode(this.storage), this.key.string()
+        );
+        final CompletableFuture<Void> turn = new CompletableFuture<>();
+        final CompletableFuture<Void> previous = OptimisticUpdate.TURNS.put(slot, turn);
+        final CompletionStage<Void> res;
+        if (previous == null) {
+            res = this.attempt(update, 1);
+        } else {
+            res = previous.thenComposeAsync(nothing -> this.attempt(update, 1));
+        }
+        return res.whenComplete(
+            (nothing, err) -> {
+                OptimisticUpdate.TURNS.remove(slot, turn);
+                turn.complete(null);
+            }
+        );
+    }
+
+    /**
+     * Attempt to update value.
+     *
+     * @param update Update function.
+     * @param num Number of attempt, starting from one.
+     * @return Completion of update.
+     */
+    private CompletionStage<Void> attempt(
+        final Function<Optional<byte[]>, CompletionStage<byte[]>> update, final int num) {
+        return OptimisticUpdate.read(this.storage, this.key).thenCompose(
+            before -> update.apply(before).thenCompose(
+                after -> this.swap(before, after)
+            ).handle(
+                (swapped, err) -> {
+                    final CompletionStage<Void> res;
+                    if (err == null && swapped) {
+                        res = CompletableFuture.completedFuture(null);
+                    } else if (num < this.attempts) {
+                        res = OptimisticUpdate.delay(num)
+                            .thenCompose(nothing -> this.attempt(update, num + 1));
+                    } else {
+                        final CompletableFuture<Void> failed = new CompletableFuture<>();
+                        failed.completeExceptionally(
+                            new ArtipieIOException(
+                                String.format(
+                                    "Failed to update %s in %d attempts",
+                                    this.key.string(), this.attempts
+                                ),
+                                err
+                            )
+                        );
+                        res = failed;
+                    }
+                    return res;
+                }
+            ).thenCompose(Function.identity())
+        );
+    }
+
+    /**
+     * Save new value if stored value is equal to expected one.
+     *
+     * @param expected Expected stored value, empty if value is expected to be absent.
+     * @param value New value.
+     * @return True if value is saved, false if stored value is changed.
+     */
+    private CompletionStage<Boolean> swap(final Optional<byte[]> expected, final byte[] value) {
+        return this.storage.exclusively(
+            this.key,
+            target -> OptimisticUpdate.read(target, this.key).thenCompose(
+                current -> {
+                    final CompletionStage<Boolean> res;
+                    if (Arrays.equals(current.orElse(null), expected.orElse(null))) {
+                        res = target.save(this.key, new Content.From(value))
+                            .thenApply(nothing -> true);
+                    } else {
+                        res = CompletableFuture.completedFuture(false);
+                    }
+                    return res;
+                }
+            )
+        );
+    }
+
+    /**
+     * Read value.
+     *
+     * @param storage Storage.
+     * @param key Key.
+     * @return Value bytes, empty if value is absent.
+     */
+    private static CompletionStage<Optional<byte[]>> read(final Storage storage,
+        final Key key) {
+        return storage.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<Optional<byte[]>> res;
+                if (exists) {
+                    res = storage.value(key)
+                        .thenCompose(content -> new PublisherAs(content).bytes())
+                        .thenApply(Optional::of);
+                } else {
+                    res = CompletableFuture.completedFuture(Optional.empty());
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Wait before next attempt.
+     *
+     * @param num Number of failed attempt, starting from one.
+     * @return Completion after delay.
+     */
+    private static CompletionStage<Void> delay(final int num) {
+        final long max = Math.min(
+            OptimisticUpdate.MAX_BACKOFF, OptimisticUpdate.BACKOFF << Math.min(num, 16)
+        );
+        final CompletableFuture<Void> res = new CompletableFuture<>();
+        OptimisticUpdate.SCHEDULER.schedule(
+            () -> res.complete(null),
+            ThreadLocalRandom.current().nextLong(max / 2, max + 1),
+            TimeUnit.MILLISECONDS
+        );
+        return res;
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget;
+
+import com.artipie.nuget.metadata.Nuspec;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Listener of packages published to {@link Repository}.
+ *
+ * @since 1.6
+ */
+public interface PublishListener {
+
+    /**
+     * Handle package published to repository.
+     *
+     * @param nuspec Description of published package.
+     * @return Completion of handling.
+     */
+    CompletionStage<Void> published(Nuspec nuspec);
+}
@@ -0,0 +1,71 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget;
+
+import com.artipie.asto.Storage;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Published package identities, used to check if package version already exists
+ * without listing storage. Package is published if its file exists, this is checked
+ * by single lookup of package file key, which is authoritative for versions published
+ * by any node sharing the storage. Identities being published in this process are
+ * claimed, so concurrent pushes of the same package version are rejected.
+ *
+ * @since 1.6
+ */
+final class PublishedIdentities {
+
+    /**
+     * Package files storage.
+     */
+    private final LargeObjects objects;
+
+    /**
+     * Identities being published.
+     */
+    private final Set<String> pending;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     */
+    PublishedIdentities(final Storage storage) {
+        this.objects = new LargeObjects(storage);
+        this.pending = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Check if package version is published.
+     *
+     * @param identity Package identity.
+     * @return True if package file exists.
+     */
+    CompletionStage<Boolean> contains(final PackageIdentity identity) {
+        return this.objects.exists(identity.nupkgKey());
+    }
+
+    /**
+     * Claim package version for publishing.
+     *
+     * @param identity Package identity.
+     * @return True if claimed, false if the version is being published already.
+     */
+    boolean claim(final PackageIdentity identity) {
+        return this.pending.add(identity.nupkgKey().string());
+    }
+
+    /**
+     * Release claimed package version.
+     *
+     * @param identity Package identity.
+     */
+    void release(final PackageIdentity identity) {
+        this.pending.remove(identity.nupkgKey().string());
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget;
+
+import com.artipie.ArtipieException;
+
+/**
+ * Exception indicates that package cannot be added,
+ * because repository does not accept packages.
+ *
+ * @since 1.6
+ */
+@SuppressWarnings("serial")
+public final class ReadOnlyRepositoryException extends ArtipieException {
+
+    /**
+     * Ctor.
+     *
+     * @param message Exception details message.
+     */
+    public ReadOnlyRepositoryException(final String message) {
+        super(message);
+    }
+}
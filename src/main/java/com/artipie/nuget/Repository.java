@@ -7,8 +7,10 @@ package com.artipie.nuget;
 
 import com.artipie.asto.Content;
 import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
 import com.artipie.nuget.metadata.Nuspec;
 import com.artipie.nuget.metadata.NuspecField;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 
@@ -27,6 +29,14 @@ public interface Repository {
      */
     CompletionStage<Optional<Content>> content(Key key);
 
+    /**
+     * Read package content size from storage metadata, content itself is not read.
+     *
+     * @param key Package content key.
+     * @return Content size if exists, empty otherwise.
+     */
+    CompletionStage<Optional<Long>> size(Key key);
+
     /**
      * Adds NuGet package in .nupkg file format from storage.
      *
@@ -51,6 +61,23 @@ public interface Repository {
      */
     CompletionStage<Nuspec> nuspec(PackageIdentity identity);
 
+    /**
+     * Enumerates identifiers of all packages in repository.
+     *
+     * @return Package identifiers.
+     */
+    CompletionStage<Collection<NuspecField>> packages();
+
+    /**
+     * Storage keeping repository data, used by default to keep state of
+     * repository services, such as uploads and downloads counters.
+     *
+     * @return Storage, empty if repository does not keep data in storage.
+     */
+    default Optional<Storage> storage() {
+        return Optional.empty();
+    }
+
     /**
      * Package info.
      * @since 1.6
@@ -103,10 +103,16 @@ public final class Versions {
      * @return Completion of save operation.
      */
     public CompletableFuture<Void> save(final Storage storage, final Key key) {
-        return storage.save(
-            key,
-            new Content.From(this.content.toString().getBytes(StandardCharsets.UTF_8))
-        );
+        return storage.save(key, new Content.From(this.bytes()));
+    }
+
+    /**
+     * Packages registry content as bytes.
+     *
+     * @return JSON bytes.
+     */
+    byte[] bytes() {
+        return this.content.toString().getBytes(StandardCharsets.UTF_8);
     }
 
 }
@@ -0,0 +1,275 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget;
+
+import com.artipie.asto.Storage;
+import com.artipie.nuget.metadata.NuspecField;
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.json.Json;
+
+/**
+ * Group commit of package versions registry updates.
+ * Versions added to the same package within short window are collected in a batch,
+ * which is applied to the registry by single {@link OptimisticUpdate} when the window
+ * ends or the batch is full. Every caller is completed after that single write.
+ * Versions already present in the registry are not added again.
+ *
+ * @since 1.6
+ */
+final class VersionsCommitter {
+
+    /**
+     * Default batch window.
+     */
+    private static final Duration WINDOW = Duration.ofMillis(20);
+
+    /**
+     * Default max batch size.
+     */
+    private static final int SIZE = 64;
+
+    /**
+     * Batches flush scheduler.
+     */
+    private static final ScheduledExecutorService SCHEDULER =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                final Thread thread = new Thread(runnable, "nuget-versions-commit");
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+
+    /**
+     * Storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Batch window.
+     */
+    private final Duration window;
+
+    /**
+     * Max batch size.
+     */
+    private final int size;
+
+    /**
+     * Open batches by versions registry key.
+     */
+    private final ConcurrentMap<String, Batch> batches;
+
+    /**
+     * Ctor with default window and batch size.
+     *
+     * @param storage Storage.
+     */
+    VersionsCommitter(final Storage storage) {
+        this(storage, VersionsCommitter.WINDOW, VersionsCommitter.SIZE);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     * @param window Batch window.
+     * @param size Max batch size.
+     */
+    VersionsCommitter(final Storage storage, final Duration window, final int size) {
+        this.storage = storage;
+        this.window = window;
+        this.size = size;
+        this.batches = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Add version to package versions registry.
+     * Batch closed by flush is replaced with a fresh one, so adding never waits
+     * for flush to remove closed batch.
+     *
+     * @param pkey Package keys.
+     * @param version Version to add.
+     * @return Completion of registry write including the version.
+     */
+    CompletionStage<Void> add(final PackageKeys pkey, final NuspecField version) {
+        final String key = pkey.versionsKey().string();
+        final CompletableFuture<Void> res = new CompletableFuture<>();
+        boolean added = false;
+        while (!added) {
+            final Batch fresh = new Batch(pkey);
+            Batch batch = this.batches.putIfAbsent(key, fresh);
+            if (batch == null) {
+                batch = fresh;
+                VersionsCommitter.SCHEDULER.schedule(
+                    () -> this.flush(fresh), this.window.toMillis(), TimeUnit.MILLISECONDS
+                );
+            }
+            added = batch.offer(version, res);
+            if (!added) {
+                this.batches.remove(key, batch);
+            } else if (batch.size() >= this.size) {
+                this.flush(batch);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Close batch and write its versions to registry.
+     * Does nothing if batch is already closed.
+     *
+     * @param batch Batch.
+     */
+    private void flush(final Batch batch) {
+        final Optional<List<Pending>> pending = batch.close();
+        if (pending.isPresent()) {
+            this.batches.remove(batch.pkey.versionsKey().string(), batch);
+            new OptimisticUpdate(this.storage, batch.pkey.versionsKey()).apply(
+                bytes -> {
+                    Versions versions = bytes.map(
+                        json -> new Versions(
+                            Json.createReader(new ByteArrayInputStream(json)).readObject()
+                        )
+                    ).orElseGet(Versions::new);
+                    final Set<String> present = versions.all().stream()
+                        .map(NuspecField::normalized)
+                        .collect(Collectors.toSet());
+                    for (final Pending item : pending.get()) {
+                        if (present.add(item.version.normalized())) {
+                            versions = versions.add(item.version);
+                        }
+                    }
+                    return versions.bytes();
+                }
+            ).whenComplete(
+                (nothing, err) -> {
+                    for (final Pending item : pending.get()) {
+                        if (err == null) {
+                            item.future.complete(null);
+                        } else {
+                            item.future.completeExceptionally(err);
+                        }
+                    }
+                }
+            );
+        }
+    }
+
+    /**
+     * Batch of versions waiting to be added to registry of one package.
+     *
+     * @since 1.6
+     */
+    private static final class Batch {
+
+        /**
+         * Package keys.
+         */
+        private final PackageKeys pkey;
+
+        /**
+         * Pending versions.
+         */
+        private final List<Pending> pending;
+
+        /**
+         * Is batch closed for new versions.
+         */
+        private boolean closed;
+
+        /**
+         * Ctor.
+         *
+         * @param pkey Package keys.
+         */
+        Batch(final PackageKeys pkey) {
+            this.pkey = pkey;
+            this.pending = new ArrayList<>(1);
+        }
+
+        /**
+         * Add version to batch unless it is closed.
+         *
+         * @param version Version.
+         * @param future Completion to complete after write.
+         * @return True if version is added.
+         */
+        synchronized boolean offer(final NuspecField version,
+            final CompletableFuture<Void> future) {
+            if (!this.closed) {
+                this.pending.add(new Pending(version, future));
+            }
+            return !this.closed;
+        }
+
+        /**
+         * Number of pending versions.
+         *
+         * @return Batch size.
+         */
+        synchronized int size() {
+            return this.pending.size();
+        }
+
+        /**
+         * Close batch.
+         *
+         * @return Pending versions, empty if batch was already closed.
+         */
+        synchronized Optional<List<Pending>> close() {
+            final Optional<List<Pending>> res;
+            if (this.closed) {
+                res = Optional.empty();
+            } else {
+                this.closed = true;
+                res = Optional.of(new ArrayList<>(this.pending));
+            }
+            return res;
+        }
+    }
+
+    /**
+     * Version waiting to be added to registry.
+     *
+     * @since 1.6
+     */
+    private static final class Pending {
+
+        /**
+         * Version.
+         */
+        private final NuspecField version;
+
+        /**
+         * Completion to complete after write.
+         */
+        private final CompletableFuture<Void> future;
+
+        /**
+         * Ctor.
+         *
+         * @param version Version.
+         * @param future Completion to complete after write.
+         */
+        Pending(final NuspecField version, final CompletableFuture<Void> future) {
+            this.version = version;
+            this.future = future;
+        }
+    }
+}
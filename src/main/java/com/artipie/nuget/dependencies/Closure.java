@@ -0,0 +1,149 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.dependencies;
+
+import com.artipie.nuget.metadata.DependencyGroup;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import com.artipie.nuget.metadata.VersionRange;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Transitive dependency closure of root packages.
+ * Each dependency is resolved to the lowest version satisfying its {@link VersionRange},
+ * if package is required by several dependents the highest of the resolved versions wins.
+ *
+ * @since 1.6
+ */
+public final class Closure {
+
+    /**
+     * Resolved packages.
+     */
+    private final List<PackageNode> resolved;
+
+    /**
+     * Dependencies that could not be resolved.
+     */
+    private final List<DependencyGroup.Dependency> missing;
+
+    /**
+     * Ctor.
+     *
+     * @param roots Root packages with version ranges.
+     * @param framework Target framework, empty string if not specified.
+     * @param graph Package versions by normalized id.
+     */
+    Closure(final Collection<DependencyGroup.Dependency> roots, final String framework,
+        final Function<String, NavigableMap<Version, PackageNode>> graph) {
+        final Map<String, PackageNode> chosen = new HashMap<>();
+        final List<DependencyGroup.Dependency> unresolved = new ArrayList<>(0);
+        final Deque<PackageNode> queue = new ArrayDeque<>();
+        final Deque<DependencyGroup.Dependency> required = new ArrayDeque<>(roots);
+        while (!required.isEmpty()) {
+            final DependencyGroup.Dependency dep = required.poll();
+            final String key = new PackageId(dep.id()).normalized();
+            final Optional<PackageNode> candidate = Closure.lowest(
+                graph.apply(key), dep.version()
+            );
+            if (candidate.isPresent()) {
+                final PackageNode existing = chosen.get(key);
+                if (existing == null
+                    || candidate.get().version().compareTo(existing.version()) > 0) {
+                    chosen.put(key, candidate.get());
+                    queue.add(candidate.get());
+                }
+            } else {
+                unresolved.add(dep);
+            }
+            while (required.isEmpty() && !queue.isEmpty()) {
+                final PackageNode node = queue.poll();
+                if (chosen.get(new PackageId(node.id()).normalized()) == node) {
+                    required.addAll(node.dependencies(framework));
+                }
+            }
+        }
+        final List<PackageNode> nodes = Closure.reachable(roots, framework, chosen);
+        nodes.sort(Comparator.comparing(node -> new PackageId(node.id()).normalized()));
+        this.resolved = Collections.unmodifiableList(nodes);
+        this.missing = Collections.unmodifiableList(unresolved);
+    }
+
+    /**
+     * Resolved packages sorted by id.
+     *
+     * @return Packages of the closure.
+     */
+    public List<PackageNode> packages() {
+        return this.resolved;
+    }
+
+    /**
+     * Dependencies without any stored version satisfying required range.
+     *
+     * @return Unresolved dependencies.
+     */
+    public List<DependencyGroup.Dependency> unresolved() {
+        return this.missing;
+    }
+
+    /**
+     * Chosen packages reachable from roots through chosen versions only, so that
+     * dependencies of versions superseded by higher ones are dropped.
+     *
+     * @param roots Root packages.
+     * @param framework Target framework, empty string if not specified.
+     * @param chosen Chosen versions by normalized package id.
+     * @return Reachable packages.
+     */
+    private static List<PackageNode> reachable(final Collection<DependencyGroup.Dependency> roots,
+        final String framework, final Map<String, PackageNode> chosen) {
+        final List<PackageNode> res = new ArrayList<>(chosen.size());
+        final Set<String> visited = new HashSet<>();
+        final Deque<DependencyGroup.Dependency> pending = new ArrayDeque<>(roots);
+        while (!pending.isEmpty()) {
+            final String key = new PackageId(pending.poll().id()).normalized();
+            final PackageNode node = chosen.get(key);
+            if (node != null && visited.add(key)) {
+                res.add(node);
+                pending.addAll(node.dependencies(framework));
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Lowest package version satisfying range.
+     * Malformed range is not satisfied by any version.
+     *
+     * @param versions Package versions.
+     * @param range Version range.
+     * @return Package version if any.
+     */
+    private static Optional<PackageNode> lowest(final NavigableMap<Version, PackageNode> versions,
+        final String range) {
+        Optional<PackageNode> res;
+        try {
+            res = new VersionRange(range).bestMatch(versions.navigableKeySet())
+                .map(versions::get);
+        } catch (final IllegalArgumentException ex) {
+            res = Optional.empty();
+        }
+        return res;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.dependencies;
+
+import com.artipie.nuget.PackageIdentity;
+import com.artipie.nuget.PackageKeys;
+import com.artipie.nuget.PublishListener;
+import com.artipie.nuget.Repository;
+import com.artipie.nuget.Versions;
+import com.artipie.nuget.metadata.DependencyGroup;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.NuspecField;
+import com.artipie.nuget.metadata.Version;
+import com.jcabi.log.Logger;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.NavigableMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory graph of package dependencies built from stored nuspecs.
+ * Graph is populated on first use and updated incrementally on publish,
+ * so dependency closure is resolved without reading storage.
+ *
+ * @since 1.6
+ */
+public final class DependencyGraph implements PublishListener {
+
+    /**
+     * Repository to populate graph from.
+     */
+    private final Repository repository;
+
+    /**
+     * Package versions by normalized package id.
+     */
+    private final ConcurrentMap<String, ConcurrentNavigableMap<Version, PackageNode>> nodes;
+
+    /**
+     * Graph population from repository.
+     */
+    private final AtomicReference<CompletableFuture<Void>> loading;
+
+    /**
+     * Ctor.
+     *
+     * @param repository Repository to populate graph from.
+     */
+    public DependencyGraph(final Repository repository) {
+        this.repository = repository;
+        this.nodes = new ConcurrentHashMap<>();
+        this.loading = new AtomicReference<>();
+    }
+
+    @Override
+    public CompletionStage<Void> published(final Nuspec nuspec) {
+        return this.ready().thenRun(() -> this.add(nuspec));
+    }
+
+    /**
+     * Graph is populated from repository. Population is started on first call
+     * and restarted on next call if it failed.
+     *
+     * @return Completion of graph population.
+     */
+    public CompletionStage<Void> ready() {
+        CompletableFuture<Void> current = this.loading.get();
+        if (current == null || current.isCompletedExceptionally()) {
+            final CompletableFuture<Void> fresh = new CompletableFuture<>();
+            if (this.loading.compareAndSet(current, fresh)) {
+                this.scan().whenComplete(
+                    (nothing, err) -> {
+                        if (err == null) {
+                            fresh.complete(null);
+                        } else {
+                            fresh.completeExceptionally(err);
+                        }
+                    }
+                );
+            }
+            current = this.loading.get();
+        }
+        return current;
+    }
+
+    /**
+     * Add package version to graph.
+     *
+     * @param nuspec Package description.
+     */
+    public void add(final Nuspec nuspec) {
+        final PackageNode node = new PackageNode(nuspec);
+        this.nodes.computeIfAbsent(
+            nuspec.id().normalized(), key -> new ConcurrentSkipListMap<>()
+        ).put(node.version(), node);
+    }
+
+    /**
+     * Resolve transitive dependency closure of root packages.
+     * Graph should be {@link #ready()} before resolving.
+     *
+     * @param roots Root package ids with version ranges.
+     * @param framework Target framework, empty string to follow dependencies of all frameworks.
+     * @return Dependency closure.
+     */
+    public Closure closure(final Collection<DependencyGroup.Dependency> roots,
+        final String framework) {
+        return new Closure(
+            roots, framework,
+            key -> {
+                final NavigableMap<Version, PackageNode> versions = this.nodes.get(key);
+                final NavigableMap<Version, PackageNode> res;
+                if (versions == null) {
+                    res = Collections.emptyNavigableMap();
+                } else {
+                    res = versions;
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Populate graph with all packages stored in repository.
+     *
+     * @return Completion of population.
+     */
+    private CompletionStage<Void> scan() {
+        return this.repository.packages().thenCompose(
+            ids -> CompletableFuture.allOf(
+                ids.stream().map(id -> this.load(id).toCompletableFuture())
+                    .toArray(CompletableFuture[]::new)
+            )
+        );
+    }
+
+    /**
+     * Populate graph with all versions of package.
+     *
+     * @param id Package id.
+     * @return Completion of population.
+     */
+    private CompletionStage<Void> load(final NuspecField id) {
+        return this.repository.versions(new PackageKeys(id)).thenApply(Versions::all).thenCompose(
+            versions -> CompletableFuture.allOf(
+                versions.stream().map(
+                    version -> this.repository.nuspec(new PackageIdentity(id, version))
+                        .thenAccept(this::add)
+                        .toCompletableFuture()
+                        .exceptionally(
+                            err -> {
+                                Logger.warn(
+                                    DependencyGraph.class,
+                                    "Failed to load dependencies of %s %s: %[exception]s",
+                                    id, version, err
+                                );
+                                return null;
+                            }
+                        )
+                ).toArray(CompletableFuture[]::new)
+            )
+        );
+    }
+}
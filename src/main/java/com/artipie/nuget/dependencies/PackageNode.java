@@ -0,0 +1,119 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.dependencies;
+
+import com.artipie.nuget.PackageIdentity;
+import com.artipie.nuget.metadata.DependencyGroup;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Package version in dependency graph.
+ *
+ * @since 1.6
+ */
+public final class PackageNode {
+
+    /**
+     * Package id as in nuspec.
+     */
+    private final String id;
+
+    /**
+     * Package version.
+     */
+    private final Version version;
+
+    /**
+     * Dependency groups.
+     */
+    private final List<DependencyGroup> groups;
+
+    /**
+     * Ctor.
+     *
+     * @param nuspec Package description.
+     */
+    PackageNode(final Nuspec nuspec) {
+        this(
+            nuspec.id().raw(),
+            new Version(nuspec.version().raw()),
+            nuspec.dependencyGroups()
+        );
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param id Package id as in nuspec.
+     * @param version Package version.
+     * @param groups Dependency groups.
+     */
+    PackageNode(final String id, final Version version, final List<DependencyGroup> groups) {
+        this.id = id;
+        this.version = version;
+        this.groups = groups;
+    }
+
+    /**
+     * Package id as in nuspec.
+     *
+     * @return Package id.
+     */
+    @SuppressWarnings("PMD.ShortMethodName")
+    public String id() {
+        return this.id;
+    }
+
+    /**
+     * Package version.
+     *
+     * @return Version.
+     */
+    public Version version() {
+        return this.version;
+    }
+
+    /**
+     * Package identity.
+     *
+     * @return Identity of package version.
+     */
+    public PackageIdentity identity() {
+        return new PackageIdentity(new PackageId(this.id), this.version);
+    }
+
+    /**
+     * Dependencies for target framework.
+     * Group of exactly the same framework is used, group without framework is the fallback.
+     * Dependencies of all groups are returned if framework is not specified.
+     *
+     * @param framework Target framework, empty string if not specified.
+     * @return Dependencies.
+     */
+    List<DependencyGroup.Dependency> dependencies(final String framework) {
+        final List<DependencyGroup.Dependency> res = new ArrayList<>(0);
+        final List<DependencyGroup.Dependency> fallback = new ArrayList<>(0);
+        boolean matched = false;
+        for (final DependencyGroup group : this.groups) {
+            if (framework.isEmpty() || framework.equalsIgnoreCase(group.targetFramework())) {
+                matched = true;
+                res.addAll(group.dependencies());
+            } else if (group.targetFramework().isEmpty()) {
+                fallback.addAll(group.dependencies());
+            }
+        }
+        final List<DependencyGroup.Dependency> deps;
+        if (matched) {
+            deps = res;
+        } else {
+            deps = fallback;
+        }
+        return deps;
+    }
+}
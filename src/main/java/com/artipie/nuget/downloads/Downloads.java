@@ -0,0 +1,381 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.downloads;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import com.jcabi.log.Logger;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import javax.json.Json;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonReader;
+import javax.json.JsonWriter;
+
+/**
+ * Package downloads counters.
+ * Downloads are counted in memory with striped {@link LongAdder} counters,
+ * accumulated increments are periodically flushed to storage in a batch: one
+ * read-modify-write of per-package counters file under storage lock, so several
+ * nodes may share the same storage. Counting never touches storage.
+ *
+ * @since 1.6
+ */
+public final class Downloads implements AutoCloseable {
+
+    /**
+     * Counters location.
+     */
+    static final Key ROOT = new Key.From(".downloads");
+
+    /**
+     * Default flush interval.
+     */
+    private static final Duration INTERVAL = Duration.ofSeconds(10);
+
+    /**
+     * Storage to persist counters, empty for in-memory counters.
+     */
+    private final Optional<Storage> storage;
+
+    /**
+     * Increments not flushed yet: normalized package id to version to increment.
+     */
+    private final ConcurrentMap<String, ConcurrentMap<String, LongAdder>> pending;
+
+    /**
+     * Flushed totals: normalized package id to version to total.
+     */
+    private final ConcurrentMap<String, Map<String, Long>> flushed;
+
+    /**
+     * Flush scheduler.
+     */
+    private final Optional<ScheduledExecutorService> scheduler;
+
+    /**
+     * Counters loading from storage.
+     */
+    private final AtomicReference<CompletableFuture<Void>> loading;
+
+    /**
+     * Ctor for in-memory counters.
+     */
+    public Downloads() {
+        this(Optional.empty(), Optional.empty());
+    }
+
+    /**
+     * Ctor with default flush interval.
+     *
+     * @param storage Storage to persist counters.
+     */
+    public Downloads(final Storage storage) {
+        this(storage, Downloads.INTERVAL);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage to persist counters.
+     * @param interval Flush interval.
+     */
+    public Downloads(final Storage storage, final Duration interval) {
+        this(
+            Optional.of(storage),
+            Optional.of(
+                Executors.newSingleThreadScheduledExecutor(
+                    runnable -> {
+                        final Thread thread = new Thread(runnable, "nuget-downloads-flush");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                )
+            )
+        );
+        final long millis = interval.toMillis();
+        this.scheduler.get().scheduleWithFixedDelay(
+            () -> this.flush().toCompletableFuture().join(), millis, millis, TimeUnit.MILLISECONDS
+        );
+    }
+
+    /**
+     * Primary ctor.
+     *
+     * @param storage Storage to persist counters.
+     * @param scheduler Flush scheduler.
+     */
+    private Downloads(
+        final Optional<Storage> storage,
+        final Optional<ScheduledExecutorService> scheduler
+    ) {
+        this.storage = storage;
+        this.scheduler = scheduler;
+        this.pending = new ConcurrentHashMap<>();
+        this.flushed = new ConcurrentHashMap<>();
+        this.loading = new AtomicReference<>();
+    }
+
+    /**
+     * Count package download.
+     *
+     * @param id Package id.
+     * @param version Package version.
+     */
+    public void count(final String id, final String version) {
+        this.pending
+            .computeIfAbsent(new PackageId(id).normalized(), key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(new Version(version).normalized(), key -> new LongAdder())
+            .increment();
+    }
+
+    /**
+     * Downloads count of package version.
+     *
+     * @param id Package id.
+     * @param version Package version.
+     * @return Downloads count.
+     */
+    public long downloads(final String id, final String version) {
+        final String key = new PackageId(id).normalized();
+        final String vers = new Version(version).normalized();
+        long res = this.flushed.getOrDefault(key, Collections.emptyMap())
+            .getOrDefault(vers, 0L);
+        final Map<String, LongAdder> increments = this.pending.get(key);
+        if (increments != null) {
+            final LongAdder adder = increments.get(vers);
+            if (adder != null) {
+                res = res + adder.sum();
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Counters are loaded from storage. Loading is started on first call
+     * and restarted on next call if it failed.
+     *
+     * @return Completion of loading.
+     */
+    public CompletionStage<Void> ready() {
+        CompletableFuture<Void> current = this.loading.get();
+        if (current == null || current.isCompletedExceptionally()) {
+            final CompletableFuture<Void> fresh = new CompletableFuture<>();
+            if (this.loading.compareAndSet(current, fresh)) {
+                this.load().whenComplete(
+                    (nothing, err) -> {
+                        if (err == null) {
+                            fresh.complete(null);
+                        } else {
+                            fresh.completeExceptionally(err);
+                        }
+                    }
+                );
+            }
+            current = this.loading.get();
+        }
+        return current;
+    }
+
+    /**
+     * Flush accumulated increments to storage.
+     * Increments of a package are returned back to pending if flush of the package fails.
+     *
+     * @return Completion of flush.
+     */
+    public CompletionStage<Void> flush() {
+        return this.storage.map(
+            asto -> CompletableFuture.allOf(
+                this.pending.keySet().stream().map(
+                    id -> {
+                        final Map<String, Long> increments = this.drain(id);
+                        final CompletableFuture<Void> res;
+                        if (increments.isEmpty()) {
+                            res = CompletableFuture.completedFuture(null);
+                        } else {
+                            res = this.flush(asto, id, increments).handle(
+                                (nothing, err) -> {
+                                    if (err != null) {
+                                        this.restore(id, increments);
+                                        Logger.warn(
+                                            Downloads.class,
+                                            "Failed to flush downloads of %s: %[exception]s",
+                                            id, err
+                                        );
+                                    }
+                                    return (Void) null;
+                                }
+                            ).toCompletableFuture();
+                        }
+                        return res;
+                    }
+                ).toArray(CompletableFuture[]::new)
+            )
+        ).orElse(CompletableFuture.completedFuture(null));
+    }
+
+    @Override
+    public void close() {
+        this.scheduler.ifPresent(ScheduledExecutorService::shutdown);
+        this.flush().toCompletableFuture().join();
+    }
+
+    /**
+     * Load all counters from storage.
+     *
+     * @return Completion of loading.
+     */
+    private CompletionStage<Void> load() {
+        return this.storage.map(
+            asto -> asto.list(Downloads.ROOT).thenCompose(
+                keys -> CompletableFuture.allOf(
+                    keys.stream().map(
+                        key -> Downloads.read(asto, key).thenAccept(
+                            totals -> this.flushed.put(
+                                key.string().substring(Downloads.ROOT.string().length() + 1)
+                                    .replaceAll("\\.json$", ""),
+                                totals
+                            )
+                        ).toCompletableFuture()
+                    ).toArray(CompletableFuture[]::new)
+                )
+            )
+        ).orElse(CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * Add increments to stored package counters.
+     *
+     * @param asto Storage.
+     * @param id Normalized package id.
+     * @param increments Increments by version.
+     * @return Completion of flush.
+     */
+    private CompletionStage<Void> flush(final Storage asto, final String id,
+        final Map<String, Long> increments) {
+        final Key key = new Key.From(Downloads.ROOT, String.format("%s.json", id));
+        return asto.exclusively(
+            key,
+            target -> Downloads.read(target, key).thenCompose(
+                stored -> {
+                    final Map<String, Long> totals = new HashMap<>(stored);
+                    increments.forEach((vers, inc) -> totals.merge(vers, inc, Long::sum));
+                    return target.save(key, new Content.From(Downloads.json(totals)))
+                        .thenRun(() -> this.flushed.put(id, totals));
+                }
+            )
+        );
+    }
+
+    /**
+     * Take accumulated increments of package resetting counters.
+     * Taken amount is subtracted instead of reset, so increments made concurrently
+     * are kept for the next flush.
+     *
+     * @param id Normalized package id.
+     * @return Increments by version.
+     */
+    private Map<String, Long> drain(final String id) {
+        final Map<String, Long> res = new HashMap<>();
+        final Map<String, LongAdder> increments = this.pending.get(id);
+        if (increments != null) {
+            increments.forEach(
+                (vers, adder) -> {
+                    final long inc = adder.sum();
+                    if (inc > 0) {
+                        adder.add(-inc);
+                        res.put(vers, inc);
+                    }
+                }
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Return increments back to pending counters.
+     *
+     * @param id Normalized package id.
+     * @param increments Increments by version.
+     */
+    private void restore(final String id, final Map<String, Long> increments) {
+        final ConcurrentMap<String, LongAdder> counters =
+            this.pending.computeIfAbsent(id, key -> new ConcurrentHashMap<>());
+        increments.forEach(
+            (vers, inc) -> counters.computeIfAbsent(vers, key -> new LongAdder()).add(inc)
+        );
+    }
+
+    /**
+     * Read stored counters.
+     *
+     * @param asto Storage.
+     * @param key Counters key.
+     * @return Totals by version, empty if there are no stored counters.
+     */
+    private static CompletionStage<Map<String, Long>> read(final Storage asto, final Key key) {
+        return asto.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<Map<String, Long>> res;
+                if (exists) {
+                    res = asto.value(key).thenCompose(val -> new PublisherAs(val).asciiString())
+                        .thenApply(
+                            str -> {
+                                try (JsonReader reader = Json.createReader(new StringReader(str))) {
+                                    final JsonObject json = reader.readObject();
+                                    final Map<String, Long> totals = new HashMap<>();
+                                    json.forEach(
+                                        (vers, val) -> totals.put(
+                                            vers, ((JsonNumber) val).longValue()
+                                        )
+                                    );
+                                    return totals;
+                                }
+                            }
+                        );
+                } else {
+                    res = CompletableFuture.completedFuture(Collections.emptyMap());
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Counters JSON.
+     *
+     * @param totals Totals by version.
+     * @return JSON bytes.
+     */
+    private static byte[] json(final Map<String, Long> totals) {
+        final JsonObjectBuilder builder = Json.createObjectBuilder();
+        totals.forEach(builder::add);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonWriter writer = Json.createWriter(out)) {
+            writer.writeObject(builder.build());
+        }
+        return out.toByteArray();
+    }
+}
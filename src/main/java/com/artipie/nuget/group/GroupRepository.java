@@ -0,0 +1,297 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.group;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.nuget.PackageIdentity;
+import com.artipie.nuget.PackageKeys;
+import com.artipie.nuget.ReadOnlyRepositoryException;
+import com.artipie.nuget.Repository;
+import com.artipie.nuget.Versions;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.NuspecField;
+import com.jcabi.log.Logger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-only repository grouping member repositories, e.g. hosted and proxy ones.
+ * Metadata lookups are sent to all members in parallel, package files are looked up
+ * in members order, so proxy members do not fetch packages other members have.
+ * Member which failed or did not answer within timeout is treated as not having
+ * the resource. Package versions and package ids of all members are merged, content
+ * and nuspec are served from the first member in members order which has them.
+ * Registrations built by {@link com.artipie.nuget.http.NuGet} from this repository
+ * are merged the same way, so clients can use single feed URL.
+ *
+ * @since 1.6
+ */
+public final class GroupRepository implements Repository {
+
+    /**
+     * Default member timeout.
+     */
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * Timeouts scheduler shared by all groups.
+     */
+    private static final ScheduledExecutorService SCHEDULER =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                final Thread thread = new Thread(runnable, "nuget-group-timeout");
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+
+    /**
+     * Member repositories in priority order.
+     */
+    private final List<Repository> members;
+
+    /**
+     * Member timeout.
+     */
+    private final Duration timeout;
+
+    /**
+     * Ctor with default member timeout.
+     *
+     * @param members Member repositories in priority order.
+     */
+    public GroupRepository(final List<Repository> members) {
+        this(members, GroupRepository.TIMEOUT);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param members Member repositories in priority order.
+     * @param timeout Member timeout.
+     */
+    public GroupRepository(final List<Repository> members, final Duration timeout) {
+        this.members = members;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public CompletionStage<Optional<Content>> content(final Key key) {
+        return this.ordered(
+            member -> member.size(key).thenApply(size -> size.map(present -> member))
+        ).thenCompose(
+            found -> found.map(member -> member.content(key))
+                .orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()))
+        );
+    }
+
+    @Override
+    public CompletionStage<Optional<Long>> size(final Key key) {
+        return this.ordered(member -> member.size(key));
+    }
+
+    @Override
+    public CompletionStage<PackageInfo> add(final Content content) {
+        final CompletableFuture<PackageInfo> res = new CompletableFuture<>();
+        res.completeExceptionally(
+            new ReadOnlyRepositoryException("Group repository is read-only")
+        );
+        return res;
+    }
+
+    @Override
+    public CompletionStage<Versions> versions(final PackageKeys id) {
+        return this.all(member -> member.versions(id).thenApply(Versions::all)).thenApply(
+            lists -> {
+                Versions res = new Versions();
+                for (final NuspecField version : GroupRepository.distinct(lists)) {
+                    res = res.add(version);
+                }
+                return res;
+            }
+        );
+    }
+
+    @Override
+    public CompletionStage<Nuspec> nuspec(final PackageIdentity identity) {
+        return this.first(member -> member.nuspec(identity).thenApply(Optional::of)).thenApply(
+            nuspec -> nuspec.orElseThrow(
+                () -> new IllegalArgumentException(
+                    String.format("Cannot find package: %s", identity)
+                )
+            )
+        );
+    }
+
+    @Override
+    public CompletionStage<Collection<NuspecField>> packages() {
+        return this.all(Repository::packages).thenApply(GroupRepository::distinct);
+    }
+
+    /**
+     * Ask all members in parallel and take first present result in members order.
+     *
+     * @param query Member query.
+     * @param <T> Result type.
+     * @return First present result, empty if no member has it.
+     */
+    private <T> CompletionStage<Optional<T>> first(
+        final Function<Repository, CompletionStage<Optional<T>>> query
+    ) {
+        final List<CompletableFuture<Optional<T>>> answers = this.members.stream()
+            .map(member -> this.bounded(member, query, Optional.<T>empty()))
+            .collect(Collectors.toList());
+        CompletableFuture<Optional<T>> res = CompletableFuture.completedFuture(Optional.empty());
+        for (final CompletableFuture<Optional<T>> answer : answers) {
+            res = res.thenCompose(
+                found -> {
+                    final CompletableFuture<Optional<T>> next;
+                    if (found.isPresent()) {
+                        next = CompletableFuture.completedFuture(found);
+                    } else {
+                        next = answer;
+                    }
+                    return next;
+                }
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Ask members one by one in members order until some member has the result.
+     * Used for package files: proxy member fetches package from upstream to answer,
+     * so it is asked only if preceding members do not have the package.
+     *
+     * @param query Member query.
+     * @param <T> Result type.
+     * @return First present result, empty if no member has it.
+     */
+    private <T> CompletionStage<Optional<T>> ordered(
+        final Function<Repository, CompletionStage<Optional<T>>> query
+    ) {
+        CompletableFuture<Optional<T>> res = CompletableFuture.completedFuture(Optional.empty());
+        for (final Repository member : this.members) {
+            res = res.thenCompose(
+                found -> {
+                    final CompletableFuture<Optional<T>> next;
+                    if (found.isPresent()) {
+                        next = CompletableFuture.completedFuture(found);
+                    } else {
+                        next = this.bounded(member, query, Optional.<T>empty());
+                    }
+                    return next;
+                }
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Ask all members in parallel and collect answers.
+     *
+     * @param query Member query.
+     * @param <T> Result element type.
+     * @return Answers of members which answered in time.
+     */
+    private <T> CompletionStage<List<Collection<T>>> all(
+        final Function<Repository, CompletionStage<? extends Collection<T>>> query
+    ) {
+        final List<CompletableFuture<Optional<Collection<T>>>> answers = this.members.stream()
+            .map(
+                member -> this.bounded(
+                    member,
+                    repo -> query.apply(repo).thenApply(col -> Optional.<Collection<T>>of(col)),
+                    Optional.<Collection<T>>empty()
+                )
+            )
+            .collect(Collectors.toList());
+        return CompletableFuture.allOf(answers.toArray(new CompletableFuture<?>[0])).thenApply(
+            nothing -> answers.stream()
+                .map(CompletableFuture::join)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Query member, falling back to default value if member fails or times out.
+     *
+     * @param member Member repository.
+     * @param query Member query.
+     * @param fallback Default value.
+     * @param <T> Result type.
+     * @return Member answer or default value.
+     */
+    private <T> CompletableFuture<T> bounded(
+        final Repository member,
+        final Function<Repository, CompletionStage<T>> query,
+        final T fallback
+    ) {
+        final CompletableFuture<T> res = new CompletableFuture<>();
+        final ScheduledFuture<?> timer = GroupRepository.SCHEDULER.schedule(
+            () -> {
+                if (res.complete(fallback)) {
+                    Logger.warn(
+                        GroupRepository.class,
+                        "Group member %s did not answer in %s", member, this.timeout
+                    );
+                }
+            },
+            this.timeout.toMillis(),
+            TimeUnit.MILLISECONDS
+        );
+        CompletableFuture.completedFuture(member).thenCompose(query).whenComplete(
+            (value, err) -> {
+                timer.cancel(false);
+                if (err == null) {
+                    res.complete(value);
+                } else {
+                    Logger.debug(
+                        GroupRepository.class,
+                        "Group member %s failed: %[exception]s", member, err
+                    );
+                    res.complete(fallback);
+                }
+            }
+        );
+        return res;
+    }
+
+    /**
+     * Merge collections of versions or package ids dropping duplicates.
+     * Values are compared by normalized form ignoring case, first occurrence is kept.
+     *
+     * @param lists Collections to merge.
+     * @return Distinct values.
+     */
+    private static List<NuspecField> distinct(
+        final List<? extends Collection<? extends NuspecField>> lists
+    ) {
+        final Map<String, NuspecField> res = new LinkedHashMap<>();
+        for (final Collection<? extends NuspecField> list : lists) {
+            for (final NuspecField field : list) {
+                res.putIfAbsent(field.normalized().toLowerCase(Locale.ROOT), field);
+            }
+        }
+        return new ArrayList<>(res.values());
+    }
+}
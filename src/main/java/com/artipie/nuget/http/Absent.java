@@ -23,6 +23,11 @@ public final class Absent implements Resource {
         return new RsWithStatus(RsStatus.NOT_FOUND);
     }
 
+    @Override
+    public Response head(final Headers headers) {
+        return new RsWithStatus(RsStatus.NOT_FOUND);
+    }
+
     @Override
     public Response put(
         final Headers headers,
@@ -0,0 +1,106 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http;
+
+import com.artipie.http.auth.AuthUser;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Cache of credentials verification results.
+ * Successful and failed authentications are stored separately, both caches
+ * are bounded by size and expire entries after short time to live, so revoked
+ * credentials stop working after positive TTL at most. Entries are keyed by
+ * SHA-256 of `Authorization` header value, raw credentials are never kept in memory.
+ *
+ * @since 1.6
+ */
+public final class AuthCache {
+
+    /**
+     * Default max number of entries in each cache.
+     */
+    private static final long SIZE = 10_000L;
+
+    /**
+     * Successful authentications.
+     */
+    private final Cache<String, AuthUser> users;
+
+    /**
+     * Failed authentications.
+     */
+    private final Cache<String, Boolean> failures;
+
+    /**
+     * Ctor with default settings: successful authentications are kept for one minute,
+     * failed ones for ten seconds.
+     */
+    public AuthCache() {
+        this(Duration.ofMinutes(1), Duration.ofSeconds(10), AuthCache.SIZE);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param ttl Time to live of successful authentication.
+     * @param negative Time to live of failed authentication.
+     * @param size Max number of entries in each cache.
+     */
+    public AuthCache(final Duration ttl, final Duration negative, final long size) {
+        this.users = CacheBuilder.newBuilder()
+            .maximumSize(size).expireAfterWrite(ttl).recordStats().build();
+        this.failures = CacheBuilder.newBuilder()
+            .maximumSize(size).expireAfterWrite(negative).recordStats().build();
+    }
+
+    /**
+     * Statistics of successful authentications cache.
+     *
+     * @return Cache statistics.
+     */
+    public CacheStats successes() {
+        return this.users.stats();
+    }
+
+    /**
+     * Statistics of failed authentications cache.
+     *
+     * @return Cache statistics.
+     */
+    public CacheStats failures() {
+        return this.failures.stats();
+    }
+
+    /**
+     * Find user by `Authorization` header value, using cached result if present.
+     *
+     * @param header Authorization header value.
+     * @param origin Origin authentication to call on cache miss.
+     * @return User if credentials are valid, empty otherwise.
+     */
+    Optional<AuthUser> user(
+        final String header,
+        final Function<String, Optional<AuthUser>> origin
+    ) {
+        final String key = Hashing.sha256().hashString(header, StandardCharsets.UTF_8).toString();
+        Optional<AuthUser> user = Optional.ofNullable(this.users.getIfPresent(key));
+        if (!user.isPresent() && this.failures.getIfPresent(key) == null) {
+            user = origin.apply(header);
+            if (user.isPresent()) {
+                this.users.put(key, user.get());
+            } else {
+                this.failures.put(key, Boolean.TRUE);
+            }
+        }
+        return user;
+    }
+}
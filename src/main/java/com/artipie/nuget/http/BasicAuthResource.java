@@ -0,0 +1,159 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http;
+
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.auth.AuthUser;
+import com.artipie.http.auth.Authentication;
+import com.artipie.http.auth.AuthzSlice;
+import com.artipie.http.auth.BasicAuthScheme;
+import com.artipie.http.auth.OperationControl;
+import com.artipie.http.headers.Authorization;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithHeaders;
+import com.artipie.http.rs.RsWithStatus;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.function.Function;
+import org.reactivestreams.Publisher;
+
+/**
+ * Resource protected by basic authentication.
+ * Checks credentials and permissions directly on resource level, so the request
+ * is not converted to {@link com.artipie.http.Slice} and back for every call.
+ *
+ * @since 1.6
+ */
+final class BasicAuthResource implements Resource {
+
+    /**
+     * Authentication challenge sent with 401 response.
+     */
+    private static final String CHALLENGE =
+        String.format("%s realm=\"artipie\"", BasicAuthScheme.NAME);
+
+    /**
+     * Origin resource.
+     */
+    private final Resource origin;
+
+    /**
+     * Authentication.
+     */
+    private final Authentication auth;
+
+    /**
+     * Operation access control.
+     */
+    private final OperationControl control;
+
+    /**
+     * Authentication results cache.
+     */
+    private final AuthCache cache;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin resource.
+     * @param auth Authentication mechanism.
+     * @param control Operation access control.
+     */
+    BasicAuthResource(
+        final Resource origin,
+        final Authentication auth,
+        final OperationControl control
+    ) {
+        this(origin, auth, control, new AuthCache());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin resource.
+     * @param auth Authentication mechanism.
+     * @param control Operation access control.
+     * @param cache Authentication results cache.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    BasicAuthResource(
+        final Resource origin,
+        final Authentication auth,
+        final OperationControl control,
+        final AuthCache cache
+    ) {
+        this.origin = origin;
+        this.auth = auth;
+        this.control = control;
+        this.cache = cache;
+    }
+
+    @Override
+    public Response get(final Headers headers) {
+        return this.serve(headers, this.origin::get);
+    }
+
+    @Override
+    public Response head(final Headers headers) {
+        return this.serve(headers, this.origin::head);
+    }
+
+    @Override
+    public Response put(final Headers headers, final Publisher<ByteBuffer> body) {
+        return this.serve(headers, hdrs -> this.origin.put(hdrs, body));
+    }
+
+    /**
+     * Authenticates and authorizes request, serves it with origin resource if permitted.
+     *
+     * @param headers Request headers.
+     * @param action Action to perform with origin resource.
+     * @return Response to request.
+     */
+    private Response serve(final Headers headers, final Function<Headers, Response> action) {
+        final Optional<String> header = new RqHeaders(headers, Authorization.NAME)
+            .stream().findFirst();
+        final Optional<AuthUser> user;
+        if (header.isPresent()) {
+            user = this.cache.user(header.get(), this::user);
+        } else {
+            user = Optional.of(AuthUser.ANONYMOUS);
+        }
+        final Response response;
+        if (user.isPresent() && this.control.allowed(user.get())) {
+            response = action.apply(
+                new Headers.From(headers, AuthzSlice.LOGIN_HDR, user.get().name())
+            );
+        } else if (user.isPresent() && header.isPresent()) {
+            response = new RsWithStatus(RsStatus.FORBIDDEN);
+        } else {
+            response = new RsWithHeaders(
+                new RsWithStatus(RsStatus.UNAUTHORIZED),
+                new Headers.From("WWW-Authenticate", BasicAuthResource.CHALLENGE)
+            );
+        }
+        return response;
+    }
+
+    /**
+     * Find user by `Authorization` header value.
+     *
+     * @param header Authorization header value.
+     * @return User if credentials are valid, empty otherwise.
+     */
+    private Optional<AuthUser> user(final String header) {
+        final Authorization authz = new Authorization(header);
+        final Optional<AuthUser> user;
+        if (BasicAuthScheme.NAME.equals(authz.scheme())) {
+            final Authorization.Basic basic = new Authorization.Basic(authz.credentials());
+            user = this.auth.user(basic.username(), basic.password());
+        } else {
+            user = Optional.empty();
+        }
+        return user;
+    }
+}
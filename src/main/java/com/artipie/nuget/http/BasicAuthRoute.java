@@ -5,7 +5,6 @@
 package com.artipie.nuget.http;
 
 import com.artipie.http.auth.Authentication;
-import com.artipie.http.auth.BasicAuthzSlice;
 import com.artipie.http.auth.OperationControl;
 
 /**
@@ -30,6 +29,11 @@ final class BasicAuthRoute implements Route {
      */
     private final Authentication auth;
 
+    /**
+     * Authentication results cache.
+     */
+    private final AuthCache cache;
+
     /**
      * Ctor.
      *
@@ -38,9 +42,28 @@ final class BasicAuthRoute implements Route {
      * @param auth Authentication mechanism.
      */
     BasicAuthRoute(final Route origin, final OperationControl control, final Authentication auth) {
+        this(origin, control, auth, new AuthCache());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin route.
+     * @param control Operation access control.
+     * @param auth Authentication mechanism.
+     * @param cache Authentication results cache.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    BasicAuthRoute(
+        final Route origin,
+        final OperationControl control,
+        final Authentication auth,
+        final AuthCache cache
+    ) {
         this.origin = origin;
         this.auth = auth;
         this.control = control;
+        this.cache = cache;
     }
 
     @Override
@@ -50,13 +73,8 @@ final class BasicAuthRoute implements Route {
 
     @Override
     public Resource resource(final String path) {
-        return new ResourceFromSlice(
-            path,
-            new BasicAuthzSlice(
-                new SliceFromResource(this.origin.resource(path)),
-                this.auth,
-                this.control
-            )
+        return new BasicAuthResource(
+            this.origin.resource(path), this.auth, this.control, this.cache
         );
     }
 }
@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.Hashing;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of gzip encoded metadata documents.
+ * Documents are keyed by 128-bit hash of plain bytes, so the same document is compressed
+ * only once while it stays in cache and a changed document never gets stale encoding.
+ * Cache is bounded by total size of compressed bytes.
+ *
+ * @since 1.6
+ */
+public final class GzipCache {
+
+    /**
+     * Default max total size of compressed documents in bytes.
+     */
+    private static final long WEIGHT = 64L * 1024 * 1024;
+
+    /**
+     * Compressed documents.
+     */
+    private final Cache<String, byte[]> encoded;
+
+    /**
+     * Ctor with default max size of 64 MB.
+     */
+    public GzipCache() {
+        this(GzipCache.WEIGHT);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param weight Max total size of compressed documents in bytes.
+     */
+    public GzipCache(final long weight) {
+        this.encoded = CacheBuilder.newBuilder()
+            .maximumWeight(weight)
+            .<String, byte[]>weigher((key, val) -> val.length)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Get gzip encoding of the document.
+     *
+     * @param plain Plain document bytes.
+     * @return Gzip encoded bytes.
+     */
+    public byte[] gzip(final byte[] plain) {
+        try {
+            return this.encoded.get(
+                Hashing.murmur3_128().hashBytes(plain).toString(),
+                () -> GzipCache.compress(plain)
+            );
+        } catch (final ExecutionException ex) {
+            throw new IllegalStateException("Failed to gzip document", ex.getCause());
+        }
+    }
+
+    /**
+     * Cache statistics.
+     *
+     * @return Statistics.
+     */
+    public CacheStats stats() {
+        return this.encoded.stats();
+    }
+
+    /**
+     * Compress bytes with gzip.
+     *
+     * @param plain Plain bytes.
+     * @return Compressed bytes.
+     */
+    static byte[] compress(final byte[] plain) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(plain.length / 4 + 1);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(plain);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+}
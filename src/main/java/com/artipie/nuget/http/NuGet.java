@@ -11,13 +11,29 @@ import com.artipie.http.auth.Authentication;
 import com.artipie.http.auth.OperationControl;
 import com.artipie.http.rq.RequestLineFrom;
 import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rq.RqParams;
 import com.artipie.http.rs.RsStatus;
 import com.artipie.http.rs.RsWithStatus;
+import com.artipie.nuget.NotifyingRepository;
 import com.artipie.nuget.Repository;
+import com.artipie.nuget.dependencies.DependencyGraph;
+import com.artipie.nuget.downloads.Downloads;
+import com.artipie.nuget.http.catalog.PackageCatalog;
 import com.artipie.nuget.http.content.PackageContent;
+import com.artipie.nuget.http.dependencies.PackageDependencies;
+import com.artipie.nuget.http.dependencies.PackageDependents;
+import com.artipie.nuget.http.index.Service;
 import com.artipie.nuget.http.index.ServiceIndex;
+import com.artipie.nuget.http.metadata.Hive;
 import com.artipie.nuget.http.metadata.PackageMetadata;
+import com.artipie.nuget.http.metadata.RegistrationDocuments;
+import com.artipie.nuget.http.metadata.RegistrationHives;
 import com.artipie.nuget.http.publish.PackagePublish;
+import com.artipie.nuget.http.publish.PackageUpload;
+import com.artipie.nuget.http.search.PackageAutocomplete;
+import com.artipie.nuget.http.search.PackageSearch;
+import com.artipie.nuget.search.SearchIndex;
+import com.artipie.nuget.uploads.Uploads;
 import com.artipie.scheduling.ArtifactEvent;
 import com.artipie.scheduling.EventQueue;
 import com.artipie.security.perms.Action;
@@ -25,8 +41,10 @@ import com.artipie.security.perms.AdapterBasicPermission;
 import com.artipie.security.policy.Policy;
 import java.net.URL;
 import java.nio.ByteBuffer;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.reactivestreams.Publisher;
 
 /**
@@ -40,7 +58,7 @@ import org.reactivestreams.Publisher;
  * @checkstyle ParameterNumberCheck (500 lines)
  * @checkstyle ClassDataAbstractionCouplingCheck (2 lines)
  */
-public final class NuGet implements Slice {
+public final class NuGet implements Slice, AutoCloseable {
 
     /**
      * Base URL.
@@ -72,6 +90,46 @@ public final class NuGet implements Slice {
      */
     private final EventQueue<ArtifactEvent> events;
 
+    /**
+     * Authentication results cache.
+     */
+    private final AuthCache cache;
+
+    /**
+     * Encoded metadata documents cache.
+     */
+    private final GzipCache gzip;
+
+    /**
+     * Materialized registration documents.
+     */
+    private final RegistrationDocuments docs;
+
+    /**
+     * Packages search index.
+     */
+    private final SearchIndex search;
+
+    /**
+     * Package downloads counters.
+     */
+    private final Downloads downloads;
+
+    /**
+     * Whether downloads counters were created by this front end.
+     */
+    private final boolean owned;
+
+    /**
+     * Packages dependency graph.
+     */
+    private final DependencyGraph graph;
+
+    /**
+     * Chunked package uploads.
+     */
+    private final Uploads uploads;
+
     /**
      * Ctor.
      *
@@ -99,13 +157,164 @@ public final class NuGet implements Slice {
         final Authentication users,
         final String name,
         final EventQueue<ArtifactEvent> events
+    ) {
+        this(url, repository, policy, users, name, events, new AuthCache());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param url Base URL.
+     * @param repository Storage for packages.
+     * @param policy Access policy.
+     * @param users User identities.
+     * @param name Repository name
+     * @param events Events queue
+     * @param cache Authentication results cache
+     */
+    public NuGet(
+        final URL url,
+        final Repository repository,
+        final Policy<?> policy,
+        final Authentication users,
+        final String name,
+        final EventQueue<ArtifactEvent> events,
+        final AuthCache cache
+    ) {
+        this(
+            url, repository, policy, users, name, events, cache,
+            repository.storage().map(storage -> new SearchIndex(repository, storage))
+                .orElseGet(() -> new SearchIndex(repository)),
+            repository.storage().map(Uploads::new).orElseGet(Uploads::new),
+            Optional.empty()
+        );
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param url Base URL.
+     * @param repository Storage for packages.
+     * @param policy Access policy.
+     * @param users User identities.
+     * @param name Repository name
+     * @param events Events queue
+     * @param cache Authentication results cache
+     * @param search Packages search index
+     * @param downloads Package downloads counters
+     */
+    public NuGet(
+        final URL url,
+        final Repository repository,
+        final Policy<?> policy,
+        final Authentication users,
+        final String name,
+        final EventQueue<ArtifactEvent> events,
+        final AuthCache cache,
+        final SearchIndex search,
+        final Downloads downloads
+    ) {
+        this(
+            url, repository, policy, users, name, events, cache, search, downloads,
+            repository.storage().map(Uploads::new).orElseGet(Uploads::new)
+        );
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param url Base URL.
+     * @param repository Storage for packages.
+     * @param policy Access policy.
+     * @param users User identities.
+     * @param name Repository name
+     * @param events Events queue
+     * @param cache Authentication results cache
+     * @param search Packages search index
+     * @param downloads Package downloads counters
+     * @param uploads Chunked package uploads
+     */
+    public NuGet(
+        final URL url,
+        final Repository repository,
+        final Policy<?> policy,
+        final Authentication users,
+        final String name,
+        final EventQueue<ArtifactEvent> events,
+        final AuthCache cache,
+        final SearchIndex search,
+        final Downloads downloads,
+        final Uploads uploads
+    ) {
+        this(
+            url, repository, policy, users, name, events, cache, search, uploads,
+            Optional.of(downloads)
+        );
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param url Base URL.
+     * @param repository Storage for packages.
+     * @param policy Access policy.
+     * @param users User identities.
+     * @param name Repository name
+     * @param events Events queue
+     * @param cache Authentication results cache
+     * @param search Packages search index
+     * @param uploads Chunked package uploads
+     * @param downloads Package downloads counters, created and owned if empty
+     */
+    private NuGet(
+        final URL url,
+        final Repository repository,
+        final Policy<?> policy,
+        final Authentication users,
+        final String name,
+        final EventQueue<ArtifactEvent> events,
+        final AuthCache cache,
+        final SearchIndex search,
+        final Uploads uploads,
+        final Optional<Downloads> downloads
     ) {
         this.url = url;
-        this.repository = repository;
         this.policy = policy;
         this.users = users;
         this.name = name;
         this.events = events;
+        this.cache = cache;
+        this.gzip = new GzipCache();
+        this.docs = new RegistrationDocuments();
+        this.search = search;
+        this.downloads = downloads.orElseGet(
+            () -> repository.storage().map(Downloads::new).orElseGet(Downloads::new)
+        );
+        this.owned = !downloads.isPresent();
+        this.graph = new DependencyGraph(repository);
+        this.uploads = uploads;
+        this.repository = new NotifyingRepository(
+            repository,
+            new RegistrationHives(
+                repository,
+                new PackageContent(url, repository, this.gzip, this.downloads),
+                this.gzip,
+                this.docs
+            ),
+            this.search,
+            this.graph
+        );
+    }
+
+    /**
+     * Flush and stop package downloads counters if they were created by this front end,
+     * counters passed to constructor are left to their owner.
+     */
+    @Override
+    public void close() {
+        if (this.owned) {
+            this.downloads.close();
+        }
     }
 
     @Override
@@ -116,11 +325,14 @@ public final class NuGet implements Slice {
     ) {
         final Response response;
         final RequestLineFrom request = new RequestLineFrom(line);
-        final String path = request.uri().getPath();
-        final Resource resource = this.resource(path);
+        final Resource resource = this.resource(
+            request.uri().getPath(), new RqParams(request.uri())
+        );
         final RqMethod method = request.method();
         if (method.equals(RqMethod.GET)) {
             response = resource.get(new Headers.From(headers));
+        } else if (method.equals(RqMethod.HEAD)) {
+            response = resource.head(new Headers.From(headers));
         } else if (method.equals(RqMethod.PUT)) {
             response = resource.put(new Headers.From(headers), body);
         } else {
@@ -133,25 +345,58 @@ public final class NuGet implements Slice {
      * Find resource by relative path.
      *
      * @param path Relative path.
+     * @param params Request query parameters.
      * @return Resource found by path.
      */
-    private Resource resource(final String path) {
+    private Resource resource(final String path, final RqParams params) {
         final PackagePublish publish = new PackagePublish(this.repository, this.events, this.name);
-        final PackageContent content = new PackageContent(this.url, this.repository);
-        final PackageMetadata metadata = new PackageMetadata(this.repository, content);
-        return new RoutingResource(
-            path,
-            new ServiceIndex(
-                Arrays.asList(
-                    new RouteService(this.url, publish, "PackagePublish/2.0.0"),
-                    new RouteService(this.url, metadata, "RegistrationsBaseUrl/Versioned"),
-                    new RouteService(this.url, content, "PackageBaseAddress/3.0.0")
-                )
-            ),
-            this.auth(publish, Action.Standard.WRITE),
-            this.auth(content, Action.Standard.READ),
-            this.auth(metadata, Action.Standard.READ)
+        final PackageContent content = new PackageContent(
+            this.url, this.repository, this.gzip, this.downloads
+        );
+        final List<Service> services = new ArrayList<>(Hive.values().length + 9);
+        final List<Route> routes = new ArrayList<>(Hive.values().length + 9);
+        services.add(new RouteService(this.url, publish, "PackagePublish/2.0.0"));
+        routes.add(this.auth(publish, Action.Standard.WRITE));
+        routes.add(
+            this.auth(
+                new PackageUpload(this.repository, this.events, this.name, this.uploads),
+                Action.Standard.WRITE
+            )
+        );
+        for (final Hive hive : Hive.values()) {
+            final PackageMetadata metadata = new PackageMetadata(
+                this.repository, content, this.gzip, hive, this.docs
+            );
+            services.add(new RouteService(this.url, metadata, hive.type()));
+            routes.add(this.auth(metadata, Action.Standard.READ));
+        }
+        services.add(new RouteService(this.url, content, "PackageBaseAddress/3.0.0"));
+        routes.add(this.auth(content, Action.Standard.READ));
+        final PackageSearch query = new PackageSearch(
+            this.url, this.search, this.downloads, params
+        );
+        services.add(new RouteService(this.url, query, "SearchQueryService"));
+        services.add(new RouteService(this.url, query, "SearchQueryService/3.5.0"));
+        routes.add(this.auth(query, Action.Standard.READ));
+        final PackageAutocomplete autocomplete = new PackageAutocomplete(this.search, params);
+        services.add(new RouteService(this.url, autocomplete, "SearchAutocompleteService"));
+        services.add(
+            new RouteService(this.url, autocomplete, "SearchAutocompleteService/3.5.0")
+        );
+        routes.add(this.auth(autocomplete, Action.Standard.READ));
+        final PackageCatalog catalog = new PackageCatalog(this.url, this.repository);
+        services.add(new RouteService(this.url, catalog, "Catalog/3.0.0"));
+        routes.add(this.auth(catalog, Action.Standard.READ));
+        final PackageDependencies dependencies = new PackageDependencies(
+            this.graph, this.repository, content, params
         );
+        services.add(new RouteService(this.url, dependencies, "DependencyClosure/1.0.0"));
+        routes.add(this.auth(dependencies, Action.Standard.READ));
+        final PackageDependents dependents = new PackageDependents(this.repository, params);
+        services.add(new RouteService(this.url, dependents, "PackageDependents/1.0.0"));
+        routes.add(this.auth(dependents, Action.Standard.READ));
+        routes.add(new ServiceIndex(services));
+        return new RoutingResource(path, routes.toArray(new Route[0]));
     }
 
     /**
@@ -165,7 +410,8 @@ public final class NuGet implements Slice {
         return new BasicAuthRoute(
             route,
             new OperationControl(this.policy, new AdapterBasicPermission(this.name, action)),
-            this.users
+            this.users,
+            this.cache
         );
     }
 }
@@ -23,6 +23,14 @@ public interface Resource {
      */
     Response get(Headers headers);
 
+    /**
+     * Serve HEAD method.
+     *
+     * @param headers Request headers.
+     * @return Response to request.
+     */
+    Response head(Headers headers);
+
     /**
      * Serve PUT method.
      *
@@ -44,6 +44,11 @@ public final class RoutingResource implements Resource {
         return this.resource().get(headers);
     }
 
+    @Override
+    public Response head(final Headers headers) {
+        return this.resource().head(headers);
+    }
+
     @Override
     public Response put(
         final Headers headers,
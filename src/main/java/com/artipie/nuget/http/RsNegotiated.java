@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http;
+
+import com.artipie.http.Connection;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithHeaders;
+import com.artipie.http.rs.RsWithStatus;
+import java.util.Locale;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Successful response with metadata document body encoded according to
+ * request `Accept-Encoding` header. Gzip encoding is taken from {@link GzipCache},
+ * identity encoding is used if client does not accept gzip.
+ *
+ * @since 1.6
+ */
+public final class RsNegotiated implements Response {
+
+    /**
+     * Gzip encoding name.
+     */
+    private static final String GZIP = "gzip";
+
+    /**
+     * Request headers.
+     */
+    private final Headers request;
+
+    /**
+     * Plain document bytes.
+     */
+    private final byte[] body;
+
+    /**
+     * Encoded documents cache.
+     */
+    private final GzipCache cache;
+
+    /**
+     * Ctor.
+     *
+     * @param request Request headers.
+     * @param body Plain document bytes.
+     * @param cache Encoded documents cache.
+     */
+    public RsNegotiated(final Headers request, final byte[] body, final GzipCache cache) {
+        this.request = request;
+        this.body = body;
+        this.cache = cache;
+    }
+
+    @Override
+    public CompletionStage<Void> send(final Connection con) {
+        final Response response;
+        if (this.acceptsGzip()) {
+            response = new RsWithHeaders(
+                new RsWithBodyNoHeaders(
+                    new RsWithStatus(RsStatus.OK), this.cache.gzip(this.body)
+                ),
+                new Headers.From(
+                    new Headers.From("Content-Encoding", RsNegotiated.GZIP),
+                    "Vary", "Accept-Encoding"
+                )
+            );
+        } else {
+            response = new RsWithHeaders(
+                new RsWithBodyNoHeaders(new RsWithStatus(RsStatus.OK), this.body),
+                new Headers.From("Vary", "Accept-Encoding")
+            );
+        }
+        return response.send(con);
+    }
+
+    /**
+     * Checks whether request accepts gzip encoding.
+     *
+     * @return True if gzip is acceptable.
+     */
+    private boolean acceptsGzip() {
+        boolean accepts = false;
+        for (final String header : new RqHeaders(this.request, "Accept-Encoding")) {
+            for (final String item : header.split(",")) {
+                final String[] parts = item.trim().toLowerCase(Locale.US).split(";");
+                if (RsNegotiated.GZIP.equals(parts[0].trim())) {
+                    accepts = parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+                }
+            }
+        }
+        return accepts;
+    }
+}
@@ -46,6 +46,8 @@ final class SliceFromResource implements Slice {
         final RqMethod method = new RequestLineFrom(line).method();
         if (method.equals(RqMethod.GET)) {
             response = this.origin.get(new Headers.From(headers));
+        } else if (method.equals(RqMethod.HEAD)) {
+            response = this.origin.head(new Headers.From(headers));
         } else if (method.equals(RqMethod.PUT)) {
             response = this.origin.put(new Headers.From(headers), body);
         } else {
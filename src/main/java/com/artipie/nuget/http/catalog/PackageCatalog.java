@@ -0,0 +1,446 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.catalog;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.headers.ContentLength;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithHeaders;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.nuget.Catalog;
+import com.artipie.nuget.PackageIdentity;
+import com.artipie.nuget.Repository;
+import com.artipie.nuget.http.Absent;
+import com.artipie.nuget.http.Resource;
+import com.artipie.nuget.http.Route;
+import com.artipie.nuget.http.RsWithBodyNoHeaders;
+import com.artipie.nuget.metadata.CatalogEntry;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+import javax.json.JsonWriter;
+import org.reactivestreams.Publisher;
+
+/**
+ * Catalog route: append-only log of package events for mirroring.
+ * See <a href="https://learn.microsoft.com/en-us/nuget/api/catalog-resource">Catalog</a>.
+ * Documents are rendered from {@link Catalog} records stored in repository.
+ *
+ * @since 1.6
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+public final class PackageCatalog implements Route {
+
+    /**
+     * Catalog page path pattern.
+     */
+    private static final Pattern PAGE = Pattern.compile("^/catalog/page(?<num>\\d+)\\.json$");
+
+    /**
+     * Catalog leaf path pattern.
+     */
+    private static final Pattern LEAF = Pattern.compile(
+        "^/catalog/data/(?<num>\\d+)/(?<id>[^/]+)/(?<version>[^/]+)\\.json$"
+    );
+
+    /**
+     * Commit id field.
+     */
+    private static final String COMMIT = "commitId";
+
+    /**
+     * Commit timestamp field.
+     */
+    private static final String STAMP = "commitTimeStamp";
+
+    /**
+     * Base URL of repository.
+     */
+    private final URL base;
+
+    /**
+     * Repository to read catalog from.
+     */
+    private final Repository repository;
+
+    /**
+     * Ctor.
+     *
+     * @param base Base URL of repository.
+     * @param repository Repository to read catalog from.
+     */
+    public PackageCatalog(final URL base, final Repository repository) {
+        this.base = base;
+        this.repository = repository;
+    }
+
+    @Override
+    public String path() {
+        return "/catalog";
+    }
+
+    @Override
+    public Resource resource(final String path) {
+        final Matcher page = PackageCatalog.PAGE.matcher(path);
+        final Matcher leaf = PackageCatalog.LEAF.matcher(path);
+        final Resource resource;
+        if (path.equals(this.path()) || path.equals("/catalog/index.json")) {
+            resource = new Document(this::root);
+        } else if (page.matches()) {
+            final int num = Integer.parseInt(page.group("num"));
+            resource = new Document(() -> this.page(num));
+        } else if (leaf.matches()) {
+            final int num = Integer.parseInt(leaf.group("num"));
+            resource = new Document(
+                () -> this.leaf(num, leaf.group("id"), leaf.group("version"))
+            );
+        } else {
+            resource = new Absent();
+        }
+        return resource;
+    }
+
+    /**
+     * Catalog root document.
+     *
+     * @return Root JSON, empty catalog if nothing was published yet.
+     */
+    private CompletionStage<Optional<JsonObject>> root() {
+        return this.read(Catalog.INDEX).thenApply(
+            stored -> {
+                final JsonObject index = stored.orElse(JsonValue.EMPTY_JSON_OBJECT);
+                final JsonArray pages = index.getJsonArray("pages");
+                final JsonArrayBuilder items = Json.createArrayBuilder();
+                if (pages != null) {
+                    for (int num = 0; num < pages.size(); num = num + 1) {
+                        final JsonObject page = pages.getJsonObject(num);
+                        items.add(
+                            PackageCatalog.commit(Json.createObjectBuilder(), page, "")
+                                .add("@id", this.url(String.format("/page%d.json", num)))
+                                .add("@type", "CatalogPage")
+                                .add("count", page.getInt("count"))
+                        );
+                    }
+                }
+                return Optional.of(
+                    PackageCatalog.commit(Json.createObjectBuilder(), index, "")
+                        .add("@id", this.url("/index.json"))
+                        .add(
+                            "@type",
+                            Json.createArrayBuilder().add("CatalogRoot").add("AppendOnlyCatalog")
+                        )
+                        .add("count", pages == null ? 0 : pages.size())
+                        .add("items", items)
+                        .build()
+                );
+            }
+        );
+    }
+
+    /**
+     * Catalog page document.
+     *
+     * @param num Page number.
+     * @return Page JSON, empty if page does not exist.
+     */
+    private CompletionStage<Optional<JsonObject>> page(final int num) {
+        return this.stored(num).thenApply(
+            stored -> stored.map(
+                page -> {
+                    final JsonArray events = page.getJsonArray("items");
+                    final JsonArrayBuilder items = Json.createArrayBuilder();
+                    for (final JsonValue value : events) {
+                        final JsonObject event = value.asJsonObject();
+                        items.add(
+                            PackageCatalog.commit(Json.createObjectBuilder(), event, "")
+                                .add("@id", this.leafUrl(num, event))
+                                .add("@type", event.getString("type"))
+                                .add("nuget:id", event.getString("id"))
+                                .add("nuget:version", event.getString("version"))
+                        );
+                    }
+                    final JsonObjectBuilder res = Json.createObjectBuilder()
+                        .add("@id", this.url(String.format("/page%d.json", num)))
+                        .add("@type", "CatalogPage")
+                        .add("count", events.size())
+                        .add("parent", this.url("/index.json"))
+                        .add("items", items);
+                    if (!events.isEmpty()) {
+                        PackageCatalog.commit(
+                            res, events.getJsonObject(events.size() - 1), ""
+                        );
+                    }
+                    return res.build();
+                }
+            )
+        );
+    }
+
+    /**
+     * Catalog leaf document.
+     *
+     * @param num Page number.
+     * @param id Package id.
+     * @param version Package version.
+     * @return Leaf JSON, empty if there is no such event in the page.
+     */
+    private CompletionStage<Optional<JsonObject>> leaf(final int num, final String id,
+        final String version) {
+        return this.stored(num).thenCompose(
+            stored -> stored.flatMap(
+                page -> page.getJsonArray("items").stream()
+                    .map(JsonValue::asJsonObject)
+                    .filter(
+                        event -> new PackageId(event.getString("id")).normalized()
+                            .equals(new PackageId(id).normalized())
+                            && event.getString("version").equals(version)
+                    )
+                    .reduce((first, second) -> second)
+            ).map(event -> this.leaf(num, event)).orElse(
+                CompletableFuture.completedFuture(Optional.empty())
+            )
+        );
+    }
+
+    /**
+     * Catalog leaf document of event.
+     *
+     * @param num Page number.
+     * @param event Catalog event.
+     * @return Leaf JSON.
+     */
+    private CompletionStage<Optional<JsonObject>> leaf(final int num, final JsonObject event) {
+        final String type = event.getString("type");
+        final CompletionStage<JsonObjectBuilder> details;
+        if (Catalog.DETAILS.equals(type)) {
+            details = this.repository.nuspec(
+                new PackageIdentity(
+                    new PackageId(event.getString("id")),
+                    new Version(event.getString("version"))
+                )
+            ).thenApply(
+                nuspec -> {
+                    final JsonObjectBuilder builder = Json.createObjectBuilder();
+                    new CatalogEntry.FromNuspec(nuspec).asJson().forEach(builder::add);
+                    return builder;
+                }
+            );
+        } else {
+            details = CompletableFuture.completedFuture(
+                Json.createObjectBuilder()
+                    .add("id", event.getString("id"))
+                    .add("version", event.getString("version"))
+            );
+        }
+        return details.thenApply(
+            builder -> Optional.of(
+                PackageCatalog.commit(builder, event, "catalog:")
+                    .add("@id", this.leafUrl(num, event))
+                    .add(
+                        "@type",
+                        Json.createArrayBuilder()
+                            .add(type.substring(type.indexOf(':') + 1))
+                            .add("catalog:Permalink")
+                    )
+                    .build()
+            )
+        );
+    }
+
+    /**
+     * Read stored catalog page. Events of the last page are kept in catalog root,
+     * full pages are stored separately.
+     *
+     * @param num Page number.
+     * @return Page JSON, empty if page does not exist.
+     */
+    private CompletionStage<Optional<JsonObject>> stored(final int num) {
+        return this.read(Catalog.INDEX).thenCompose(
+            root -> {
+                final Optional<JsonObject> last = root.filter(
+                    index -> index.containsKey("items")
+                        && index.getJsonArray("pages").size() - 1 == num
+                );
+                final CompletionStage<Optional<JsonObject>> res;
+                if (last.isPresent()) {
+                    res = CompletableFuture.completedFuture(
+                        Optional.of(
+                            Json.createObjectBuilder()
+                                .add("items", last.get().getJsonArray("items"))
+                                .build()
+                        )
+                    );
+                } else {
+                    res = this.read(Catalog.page(num));
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Read stored catalog document.
+     *
+     * @param key Document key.
+     * @return JSON, empty if document does not exist.
+     */
+    private CompletionStage<Optional<JsonObject>> read(final Key key) {
+        return this.repository.content(key).thenCompose(
+            content -> content.map(
+                data -> new PublisherAs(data).string(StandardCharsets.UTF_8).thenApply(
+                    str -> Optional.of(Json.createReader(new StringReader(str)).readObject())
+                )
+            ).orElse(CompletableFuture.completedFuture(Optional.empty()))
+        );
+    }
+
+    /**
+     * URL of catalog leaf of event.
+     *
+     * @param num Page number.
+     * @param event Catalog event.
+     * @return URL string.
+     */
+    private String leafUrl(final int num, final JsonObject event) {
+        return this.url(
+            String.format(
+                "/data/%d/%s/%s.json",
+                num,
+                new PackageId(event.getString("id")).normalized(),
+                event.getString("version")
+            )
+        );
+    }
+
+    /**
+     * Absolute URL of catalog document.
+     *
+     * @param relative Path relative to catalog.
+     * @return URL string.
+     */
+    private String url(final String relative) {
+        try {
+            return new URL(
+                this.base,
+                String.format("%s%s%s", this.base.getPath(), this.path(), relative)
+            ).toString();
+        } catch (final MalformedURLException ex) {
+            throw new IllegalStateException(
+                String.format("Failed to build URL from base: '%s'", this.base),
+                ex
+            );
+        }
+    }
+
+    /**
+     * Copy commit id and timestamp.
+     *
+     * @param builder Where to copy.
+     * @param source Where to copy from.
+     * @param prefix Fields names prefix.
+     * @return Builder.
+     */
+    private static JsonObjectBuilder commit(final JsonObjectBuilder builder,
+        final JsonObject source, final String prefix) {
+        for (final String field : new String[] {PackageCatalog.COMMIT, PackageCatalog.STAMP}) {
+            if (source.containsKey(field)) {
+                builder.add(String.format("%s%s", prefix, field), source.getString(field));
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * Catalog JSON document resource.
+     *
+     * @since 1.6
+     */
+    private static final class Document implements Resource {
+
+        /**
+         * Document source.
+         */
+        private final Supplier<CompletionStage<Optional<JsonObject>>> json;
+
+        /**
+         * Ctor.
+         *
+         * @param json Document source.
+         */
+        Document(final Supplier<CompletionStage<Optional<JsonObject>>> json) {
+            this.json = json;
+        }
+
+        @Override
+        public Response get(final Headers headers) {
+            return new AsyncResponse(
+                this.bytes().thenApply(
+                    bytes -> bytes.<Response>map(
+                        body -> new RsWithStatus(new RsWithBodyNoHeaders(body), RsStatus.OK)
+                    ).orElse(new RsWithStatus(RsStatus.NOT_FOUND))
+                )
+            );
+        }
+
+        @Override
+        public Response head(final Headers headers) {
+            return new AsyncResponse(
+                this.bytes().thenApply(
+                    bytes -> bytes.<Response>map(
+                        body -> new RsWithHeaders(
+                            new RsWithStatus(RsStatus.OK), new ContentLength(body.length)
+                        )
+                    ).orElse(new RsWithStatus(RsStatus.NOT_FOUND))
+                )
+            );
+        }
+
+        @Override
+        public Response put(final Headers headers, final Publisher<ByteBuffer> body) {
+            return new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED);
+        }
+
+        /**
+         * Document bytes.
+         *
+         * @return Bytes, empty if document does not exist.
+         */
+        private CompletionStage<Optional<byte[]>> bytes() {
+            return this.json.get().thenApply(
+                doc -> doc.map(
+                    obj -> {
+                        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                        try (JsonWriter writer = Json.createWriter(out)) {
+                            writer.writeObject(obj);
+                        }
+                        return out.toByteArray();
+                    }
+                )
+            );
+        }
+    }
+}
@@ -4,22 +4,32 @@
  */
 package com.artipie.nuget.http.content;
 
+import com.artipie.asto.Content;
 import com.artipie.asto.Key;
+import com.artipie.asto.ext.PublisherAs;
 import com.artipie.http.Headers;
 import com.artipie.http.Response;
 import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.headers.ContentLength;
 import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithHeaders;
 import com.artipie.http.rs.RsWithStatus;
 import com.artipie.nuget.PackageIdentity;
 import com.artipie.nuget.Repository;
+import com.artipie.nuget.downloads.Downloads;
+import com.artipie.nuget.http.GzipCache;
 import com.artipie.nuget.http.Resource;
 import com.artipie.nuget.http.Route;
+import com.artipie.nuget.http.RsNegotiated;
 import com.artipie.nuget.http.RsWithBodyNoHeaders;
 import com.artipie.nuget.http.metadata.ContentLocation;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import org.reactivestreams.Publisher;
 
 /**
@@ -30,6 +40,26 @@ import org.reactivestreams.Publisher;
  */
 public final class PackageContent implements Route, ContentLocation {
 
+    /**
+     * Name of package versions list document.
+     */
+    private static final String INDEX = "index.json";
+
+    /**
+     * Package file extension.
+     */
+    private static final String NUPKG = ".nupkg";
+
+    /**
+     * Prefix of repository internal data location names.
+     */
+    private static final String INTERNAL = ".";
+
+    /**
+     * Max number of key parts of package content: package id, version and file name.
+     */
+    private static final int DEPTH = 3;
+
     /**
      * Base URL of repository.
      */
@@ -40,6 +70,16 @@ public final class PackageContent implements Route, ContentLocation {
      */
     private final Repository repository;
 
+    /**
+     * Encoded documents cache.
+     */
+    private final GzipCache gzip;
+
+    /**
+     * Package downloads counters.
+     */
+    private final Downloads downloads;
+
     /**
      * Ctor.
      *
@@ -47,8 +87,35 @@ public final class PackageContent implements Route, ContentLocation {
      * @param repository Repository to read content from.
      */
     public PackageContent(final URL base, final Repository repository) {
+        this(base, repository, new GzipCache());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param base Base URL of repository.
+     * @param repository Repository to read content from.
+     * @param gzip Encoded documents cache.
+     */
+    public PackageContent(final URL base, final Repository repository, final GzipCache gzip) {
+        this(base, repository, gzip, new Downloads());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param base Base URL of repository.
+     * @param repository Repository to read content from.
+     * @param gzip Encoded documents cache.
+     * @param downloads Package downloads counters.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public PackageContent(final URL base, final Repository repository, final GzipCache gzip,
+        final Downloads downloads) {
         this.base = base;
         this.repository = repository;
+        this.gzip = gzip;
+        this.downloads = downloads;
     }
 
     @Override
@@ -111,9 +178,28 @@ public final class PackageContent implements Route, ContentLocation {
         public Response get(final Headers headers) {
             return this.key().<Response>map(
                 key -> new AsyncResponse(
-                    this.repository.content(key).thenApply(
-                        existing -> existing.<Response>map(
-                            data -> new RsWithBodyNoHeaders(new RsWithStatus(RsStatus.OK), data)
+                    this.repository.content(key).thenCompose(
+                        existing -> existing.map(
+                            data -> this.response(key, data, headers)
+                        ).orElse(
+                            CompletableFuture.completedFuture(
+                                new RsWithStatus(RsStatus.NOT_FOUND)
+                            )
+                        )
+                    )
+                )
+            ).orElse(new RsWithStatus(RsStatus.NOT_FOUND));
+        }
+
+        @Override
+        public Response head(final Headers headers) {
+            return this.key().<Response>map(
+                key -> new AsyncResponse(
+                    this.repository.size(key).thenApply(
+                        size -> size.<Response>map(
+                            val -> new RsWithHeaders(
+                                new RsWithStatus(RsStatus.OK), new ContentLength(val)
+                            )
                         ).orElse(new RsWithStatus(RsStatus.NOT_FOUND))
                     )
                 )
@@ -127,8 +213,42 @@ public final class PackageContent implements Route, ContentLocation {
             return new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED);
         }
 
+        /**
+         * Builds response with content. Versions list documents are served
+         * with content encoding negotiation, packages are streamed as is
+         * and counted as downloads.
+         *
+         * @param key Content key.
+         * @param data Content.
+         * @param headers Request headers.
+         * @return Response with content.
+         */
+        private CompletionStage<Response> response(
+            final Key key,
+            final Content data,
+            final Headers headers
+        ) {
+            final CompletionStage<Response> res;
+            if (key.string().endsWith(PackageContent.INDEX)) {
+                res = new PublisherAs(data).bytes().thenApply(
+                    bytes -> new RsNegotiated(headers, bytes, PackageContent.this.gzip)
+                );
+            } else {
+                final List<String> parts = key.parts();
+                if (parts.size() == 3 && parts.get(2).endsWith(PackageContent.NUPKG)) {
+                    PackageContent.this.downloads.count(parts.get(0), parts.get(1));
+                }
+                res = CompletableFuture.completedFuture(
+                    new RsWithBodyNoHeaders(new RsWithStatus(RsStatus.OK), data)
+                );
+            }
+            return res;
+        }
+
         /**
          * Tries to build key to storage value from path.
+         * Keys of repository internal data, which names start with dot, are not served,
+         * as well as keys deeper than package files, such as parts of large package files.
          *
          * @return Key to storage value, if there is one.
          */
@@ -136,7 +256,12 @@ public final class PackageContent implements Route, ContentLocation {
             final String prefix = String.format("%s/", path());
             final Optional<Key> parsed;
             if (this.path.startsWith(prefix)) {
-                parsed = Optional.of(new Key.From(this.path.substring(prefix.length())));
+                parsed = Optional.<Key>of(new Key.From(this.path.substring(prefix.length())))
+                    .filter(
+                        key -> !key.parts().isEmpty()
+                            && key.parts().size() <= PackageContent.DEPTH
+                            && !key.parts().get(0).startsWith(PackageContent.INTERNAL)
+                    );
             } else {
                 parsed = Optional.empty();
             }
@@ -0,0 +1,251 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.dependencies;
+
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.headers.ContentLength;
+import com.artipie.http.rq.RqParams;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithHeaders;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.nuget.Repository;
+import com.artipie.nuget.dependencies.Closure;
+import com.artipie.nuget.dependencies.DependencyGraph;
+import com.artipie.nuget.dependencies.PackageNode;
+import com.artipie.nuget.http.Absent;
+import com.artipie.nuget.http.Resource;
+import com.artipie.nuget.http.Route;
+import com.artipie.nuget.http.RsWithBodyNoHeaders;
+import com.artipie.nuget.http.metadata.ContentLocation;
+import com.artipie.nuget.metadata.DependencyGroup;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonWriter;
+import org.reactivestreams.Publisher;
+
+/**
+ * Dependency closure route: resolves transitive dependencies of root packages
+ * in one request instead of walking registrations package by package.
+ * Root packages are passed as {@code package} query parameters in form of
+ * {@code id} or {@code id@range}, optional {@code framework} parameter selects
+ * dependency groups of target framework.
+ * Closure is resolved from in-memory {@link DependencyGraph}, only hashes of
+ * resolved packages are read from repository.
+ *
+ * @since 1.6
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+public final class PackageDependencies implements Route {
+
+    /**
+     * Separator of package id and version range.
+     */
+    private static final char SEPARATOR = '@';
+
+    /**
+     * Dependency graph.
+     */
+    private final DependencyGraph graph;
+
+    /**
+     * Repository to read package hashes from.
+     */
+    private final Repository repository;
+
+    /**
+     * Package content location.
+     */
+    private final ContentLocation content;
+
+    /**
+     * Request query parameters.
+     */
+    private final RqParams params;
+
+    /**
+     * Ctor.
+     *
+     * @param graph Dependency graph.
+     * @param repository Repository to read package hashes from.
+     * @param content Package content location.
+     * @param params Request query parameters.
+     */
+    public PackageDependencies(final DependencyGraph graph, final Repository repository,
+        final ContentLocation content, final RqParams params) {
+        this.graph = graph;
+        this.repository = repository;
+        this.content = content;
+        this.params = params;
+    }
+
+    @Override
+    public String path() {
+        return "/dependencies";
+    }
+
+    @Override
+    public Resource resource(final String path) {
+        final Resource resource;
+        if (path.equals(this.path())) {
+            resource = new ClosureResource();
+        } else {
+            resource = new Absent();
+        }
+        return resource;
+    }
+
+    /**
+     * Root packages from query parameters.
+     *
+     * @return Root package ids with version ranges.
+     */
+    private List<DependencyGroup.Dependency> roots() {
+        return this.params.values("package").stream()
+            .map(String::trim)
+            .filter(val -> !val.isEmpty())
+            .map(
+                val -> {
+                    final int idx = val.indexOf(PackageDependencies.SEPARATOR);
+                    final DependencyGroup.Dependency dep;
+                    if (idx < 0) {
+                        dep = new DependencyGroup.Dependency(val, "");
+                    } else {
+                        dep = new DependencyGroup.Dependency(
+                            val.substring(0, idx), val.substring(idx + 1)
+                        );
+                    }
+                    return dep;
+                }
+            ).collect(Collectors.toList());
+    }
+
+    /**
+     * Closure JSON.
+     *
+     * @param roots Root packages.
+     * @return Closure JSON bytes.
+     */
+    private CompletionStage<byte[]> json(final List<DependencyGroup.Dependency> roots) {
+        return this.graph.ready().thenCompose(
+            ready -> {
+                final Closure closure = this.graph.closure(
+                    roots, this.params.value("framework").orElse("").trim()
+                );
+                final List<CompletableFuture<JsonObject>> packages = closure.packages().stream()
+                    .map(node -> this.json(node).toCompletableFuture())
+                    .collect(Collectors.toList());
+                return CompletableFuture.allOf(packages.toArray(new CompletableFuture[0]))
+                    .thenApply(
+                        nothing -> {
+                            final JsonArrayBuilder resolved = Json.createArrayBuilder();
+                            packages.forEach(pkg -> resolved.add(pkg.join()));
+                            final JsonArrayBuilder unresolved = Json.createArrayBuilder();
+                            closure.unresolved().forEach(
+                                dep -> unresolved.add(
+                                    Json.createObjectBuilder()
+                                        .add("id", dep.id())
+                                        .add("range", dep.version())
+                                )
+                            );
+                            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                            try (JsonWriter writer = Json.createWriter(out)) {
+                                writer.writeObject(
+                                    Json.createObjectBuilder()
+                                        .add("packages", resolved)
+                                        .add("unresolved", unresolved)
+                                        .build()
+                                );
+                            }
+                            return out.toByteArray();
+                        }
+                    );
+            }
+        );
+    }
+
+    /**
+     * Resolved package JSON.
+     *
+     * @param node Resolved package.
+     * @return Package JSON with content URL and hash if hash is stored.
+     */
+    private CompletionStage<JsonObject> json(final PackageNode node) {
+        return this.repository.content(node.identity().hashKey()).thenCompose(
+            hash -> hash.map(
+                data -> new PublisherAs(data).asciiString().thenApply(Optional::of)
+            ).orElse(CompletableFuture.completedFuture(Optional.empty()))
+        ).thenApply(
+            hash -> {
+                final JsonObjectBuilder json = Json.createObjectBuilder()
+                    .add("id", node.id())
+                    .add("version", node.version().normalized())
+                    .add("packageContent", this.content.url(node.identity()).toString());
+                hash.ifPresent(
+                    val -> json.add("packageHash", val).add("packageHashAlgorithm", "SHA512")
+                );
+                return json.build();
+            }
+        );
+    }
+
+    /**
+     * Dependency closure resource.
+     *
+     * @since 1.6
+     */
+    private final class ClosureResource implements Resource {
+
+        @Override
+        public Response get(final Headers headers) {
+            final List<DependencyGroup.Dependency> roots = PackageDependencies.this.roots();
+            final Response response;
+            if (roots.isEmpty()) {
+                response = new RsWithStatus(RsStatus.BAD_REQUEST);
+            } else {
+                response = new AsyncResponse(
+                    PackageDependencies.this.json(roots).thenApply(
+                        body -> new RsWithStatus(new RsWithBodyNoHeaders(body), RsStatus.OK)
+                    )
+                );
+            }
+            return response;
+        }
+
+        @Override
+        public Response head(final Headers headers) {
+            final List<DependencyGroup.Dependency> roots = PackageDependencies.this.roots();
+            final Response response;
+            if (roots.isEmpty()) {
+                response = new RsWithStatus(RsStatus.BAD_REQUEST);
+            } else {
+                response = new AsyncResponse(
+                    PackageDependencies.this.json(roots).thenApply(
+                        body -> new RsWithHeaders(
+                            new RsWithStatus(RsStatus.OK), new ContentLength(body.length)
+                        )
+                    )
+                );
+            }
+            return response;
+        }
+
+        @Override
+        public Response put(final Headers headers, final Publisher<ByteBuffer> body) {
+            return new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED);
+        }
+    }
+}
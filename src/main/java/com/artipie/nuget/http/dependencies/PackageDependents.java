@@ -0,0 +1,219 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.dependencies;
+
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.headers.ContentLength;
+import com.artipie.http.rq.RqParams;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithHeaders;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.nuget.Dependents;
+import com.artipie.nuget.Repository;
+import com.artipie.nuget.http.Absent;
+import com.artipie.nuget.http.Resource;
+import com.artipie.nuget.http.Route;
+import com.artipie.nuget.http.RsWithBodyNoHeaders;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import com.artipie.nuget.metadata.VersionRange;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonWriter;
+import org.reactivestreams.Publisher;
+
+/**
+ * Dependents route: package versions depending on a package.
+ * Package is passed as {@code id} query parameter, optional {@code version} parameter
+ * keeps only dependents whose required range includes that version,
+ * dependents with malformed ranges are always kept.
+ * Result is read from {@link Dependents} index, nuspecs are not scanned.
+ *
+ * @since 1.6
+ */
+public final class PackageDependents implements Route {
+
+    /**
+     * Repository to read index from.
+     */
+    private final Repository repository;
+
+    /**
+     * Request query parameters.
+     */
+    private final RqParams params;
+
+    /**
+     * Ctor.
+     *
+     * @param repository Repository to read index from.
+     * @param params Request query parameters.
+     */
+    public PackageDependents(final Repository repository, final RqParams params) {
+        this.repository = repository;
+        this.params = params;
+    }
+
+    @Override
+    public String path() {
+        return "/dependents";
+    }
+
+    @Override
+    public Resource resource(final String path) {
+        final Resource resource;
+        if (path.equals(this.path())) {
+            resource = new DependentsResource();
+        } else {
+            resource = new Absent();
+        }
+        return resource;
+    }
+
+    /**
+     * Dependents JSON.
+     *
+     * @param id Package id.
+     * @return JSON bytes.
+     */
+    private CompletionStage<byte[]> json(final String id) {
+        final Optional<Version> version = this.params.value("version")
+            .filter(val -> !val.isEmpty()).map(Version::new);
+        return this.repository.content(Dependents.key(new PackageId(id))).thenCompose(
+            content -> content.map(
+                data -> new PublisherAs(data).string(StandardCharsets.UTF_8).thenApply(
+                    str -> Dependents.parse(Json.createReader(new StringReader(str)).readObject())
+                )
+            ).orElse(
+                CompletableFuture.completedFuture(Collections.emptyList())
+            )
+        ).thenApply(
+            all -> {
+                final List<Dependents.Dependent> found = all.stream()
+                    .filter(
+                        dep -> !version.isPresent() || PackageDependents.affects(dep, version.get())
+                    )
+                    .collect(Collectors.toList());
+                final JsonArrayBuilder data = Json.createArrayBuilder();
+                found.forEach(
+                    dep -> data.add(
+                        Json.createObjectBuilder()
+                            .add("id", dep.id())
+                            .add("version", dep.version())
+                            .add("range", dep.range())
+                    )
+                );
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                try (JsonWriter writer = Json.createWriter(out)) {
+                    writer.writeObject(
+                        Json.createObjectBuilder()
+                            .add("totalHits", found.size())
+                            .add("data", data)
+                            .build()
+                    );
+                }
+                return out.toByteArray();
+            }
+        );
+    }
+
+    /**
+     * Is version query parameter absent or well-formed.
+     *
+     * @return True if parameter is valid.
+     */
+    private boolean valid() {
+        boolean res = true;
+        final Optional<String> version = this.params.value("version")
+            .filter(val -> !val.isEmpty());
+        if (version.isPresent()) {
+            try {
+                new Version(version.get()).normalized();
+            } catch (final IllegalStateException ex) {
+                res = false;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Does dependent require version of dependency.
+     *
+     * @param dependent Dependent.
+     * @param version Version of dependency.
+     * @return True if version is in required range or range is malformed.
+     */
+    private static boolean affects(final Dependents.Dependent dependent, final Version version) {
+        boolean res;
+        try {
+            res = new VersionRange(dependent.range()).satisfies(version);
+        } catch (final IllegalArgumentException ex) {
+            res = true;
+        }
+        return res;
+    }
+
+    /**
+     * Dependents resource.
+     *
+     * @since 1.6
+     */
+    private final class DependentsResource implements Resource {
+
+        @Override
+        public Response get(final Headers headers) {
+            final Optional<String> id = PackageDependents.this.params.value("id")
+                .filter(val -> !val.isEmpty());
+            final Response response;
+            if (id.isPresent() && PackageDependents.this.valid()) {
+                response = new AsyncResponse(
+                    PackageDependents.this.json(id.get()).thenApply(
+                        body -> new RsWithStatus(new RsWithBodyNoHeaders(body), RsStatus.OK)
+                    )
+                );
+            } else {
+                response = new RsWithStatus(RsStatus.BAD_REQUEST);
+            }
+            return response;
+        }
+
+        @Override
+        public Response head(final Headers headers) {
+            final Optional<String> id = PackageDependents.this.params.value("id")
+                .filter(val -> !val.isEmpty());
+            final Response response;
+            if (id.isPresent() && PackageDependents.this.valid()) {
+                response = new AsyncResponse(
+                    PackageDependents.this.json(id.get()).thenApply(
+                        body -> new RsWithHeaders(
+                            new RsWithStatus(RsStatus.OK), new ContentLength(body.length)
+                        )
+                    )
+                );
+            } else {
+                response = new RsWithStatus(RsStatus.BAD_REQUEST);
+            }
+            return response;
+        }
+
+        @Override
+        public Response put(final Headers headers, final Publisher<ByteBuffer> body) {
+            return new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+/**
+ * NuGet dependency closure resource.
+ *
+ * @since 1.6
+ */
+package com.artipie.nuget.http.dependencies;
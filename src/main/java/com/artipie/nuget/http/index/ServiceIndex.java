@@ -6,7 +6,9 @@ package com.artipie.nuget.http.index;
 
 import com.artipie.http.Headers;
 import com.artipie.http.Response;
+import com.artipie.http.headers.ContentLength;
 import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithHeaders;
 import com.artipie.http.rs.RsWithStatus;
 import com.artipie.nuget.http.Absent;
 import com.artipie.nuget.http.Resource;
@@ -68,6 +70,33 @@ public final class ServiceIndex implements Route {
 
         @Override
         public Response get(final Headers headers) {
+            return new RsWithStatus(
+                new RsWithBodyNoHeaders(this.bytes()),
+                RsStatus.OK
+            );
+        }
+
+        @Override
+        public Response head(final Headers headers) {
+            return new RsWithHeaders(
+                new RsWithStatus(RsStatus.OK),
+                new ContentLength(this.bytes().length)
+            );
+        }
+
+        @Override
+        public Response put(
+            final Headers headers,
+            final Publisher<ByteBuffer> body) {
+            return new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED);
+        }
+
+        /**
+         * Services index JSON bytes.
+         *
+         * @return Bytes of JSON.
+         */
+        private byte[] bytes() {
             final JsonArrayBuilder resources = Json.createArrayBuilder();
             for (final Service service : ServiceIndex.this.services) {
                 resources.add(
@@ -84,20 +113,10 @@ public final class ServiceIndex implements Route {
                 JsonWriter writer = Json.createWriter(out)) {
                 writer.writeObject(json);
                 out.flush();
-                return new RsWithStatus(
-                    new RsWithBodyNoHeaders(out.toByteArray()),
-                    RsStatus.OK
-                );
+                return out.toByteArray();
             } catch (final IOException ex) {
                 throw new IllegalStateException("Failed to serialize JSON to bytes", ex);
             }
         }
-
-        @Override
-        public Response put(
-            final Headers headers,
-            final Publisher<ByteBuffer> body) {
-            return new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED);
-        }
     }
 }
@@ -0,0 +1,106 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.metadata;
+
+import com.artipie.nuget.metadata.NuspecField;
+import com.artipie.nuget.metadata.Version;
+
+/**
+ * Registration hive, set of registration documents with the same versions filtering
+ * and encoding.
+ * See <a href="https://learn.microsoft.com/en-us/nuget/api/registration-base-url-resource#versioning">Registration hives</a>.
+ *
+ * @since 1.6
+ */
+public enum Hive {
+
+    /**
+     * All versions, encoding is negotiated with client.
+     */
+    VERSIONED("/registrations", "RegistrationsBaseUrl/Versioned", true, false),
+
+    /**
+     * SemVer 1.0.0 versions only, gzip encoded.
+     */
+    GZ("/registrations-gz", "RegistrationsBaseUrl/3.4.0", false, true),
+
+    /**
+     * All versions including SemVer 2.0.0, gzip encoded.
+     */
+    GZ_SEMVER2("/registrations-gz-semver2", "RegistrationsBaseUrl/3.6.0", true, true);
+
+    /**
+     * Base path of the hive.
+     */
+    private final String base;
+
+    /**
+     * Service type.
+     */
+    private final String stype;
+
+    /**
+     * Include SemVer 2.0.0 versions.
+     */
+    private final boolean semver;
+
+    /**
+     * Gzip documents.
+     */
+    private final boolean gzip;
+
+    /**
+     * Ctor.
+     *
+     * @param base Base path of the hive.
+     * @param stype Service type.
+     * @param semver Include SemVer 2.0.0 versions.
+     * @param gzip Gzip documents.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    Hive(final String base, final String stype, final boolean semver, final boolean gzip) {
+        this.base = base;
+        this.stype = stype;
+        this.semver = semver;
+        this.gzip = gzip;
+    }
+
+    /**
+     * Base path of the hive.
+     *
+     * @return Path.
+     */
+    public String path() {
+        return this.base;
+    }
+
+    /**
+     * Service type of the hive in service index.
+     *
+     * @return Service type.
+     */
+    public String type() {
+        return this.stype;
+    }
+
+    /**
+     * Are documents of the hive always gzip encoded?
+     *
+     * @return True if gzip encoded.
+     */
+    public boolean gzipped() {
+        return this.gzip;
+    }
+
+    /**
+     * Does the hive include package version?
+     *
+     * @param version Package version.
+     * @return True if version is included.
+     */
+    public boolean includes(final NuspecField version) {
+        return this.semver || !new Version(version.raw()).isSemVerTwo();
+    }
+}
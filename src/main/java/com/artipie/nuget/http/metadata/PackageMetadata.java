@@ -6,6 +6,7 @@ package com.artipie.nuget.http.metadata;
 
 import com.artipie.nuget.Repository;
 import com.artipie.nuget.http.Absent;
+import com.artipie.nuget.http.GzipCache;
 import com.artipie.nuget.http.Resource;
 import com.artipie.nuget.http.Route;
 import com.artipie.nuget.metadata.PackageId;
@@ -21,15 +22,10 @@ import java.util.regex.Pattern;
 public final class PackageMetadata implements Route {
 
     /**
-     * Base path for the route.
-     */
-    private static final String BASE = "/registrations";
-
-    /**
-     * RegEx pattern for registration path.
+     * RegEx pattern for registration path relative to hive base.
      */
     private static final Pattern REGISTRATION = Pattern.compile(
-        String.format("%s/(?<id>[^/]+)/index.json$", PackageMetadata.BASE)
+        "^/(?<id>[^/]+)/index.json$"
     );
 
     /**
@@ -42,6 +38,21 @@ public final class PackageMetadata implements Route {
      */
     private final ContentLocation content;
 
+    /**
+     * Encoded documents cache.
+     */
+    private final GzipCache gzip;
+
+    /**
+     * Registration hive.
+     */
+    private final Hive hive;
+
+    /**
+     * Materialized documents.
+     */
+    private final RegistrationDocuments docs;
+
     /**
      * Ctor.
      *
@@ -49,24 +60,52 @@ public final class PackageMetadata implements Route {
      * @param content Package content storage.
      */
     public PackageMetadata(final Repository repository, final ContentLocation content) {
+        this(
+            repository, content, new GzipCache(), Hive.VERSIONED, new RegistrationDocuments()
+        );
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param repository Repository to read data from.
+     * @param content Package content storage.
+     * @param gzip Encoded documents cache.
+     * @param hive Registration hive.
+     * @param docs Materialized documents.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    public PackageMetadata(
+        final Repository repository,
+        final ContentLocation content,
+        final GzipCache gzip,
+        final Hive hive,
+        final RegistrationDocuments docs
+    ) {
         this.repository = repository;
         this.content = content;
+        this.gzip = gzip;
+        this.hive = hive;
+        this.docs = docs;
     }
 
     @Override
     public String path() {
-        return PackageMetadata.BASE;
+        return this.hive.path();
     }
 
     @Override
     public Resource resource(final String path) {
-        final Matcher matcher = REGISTRATION.matcher(path);
+        final Matcher matcher = REGISTRATION.matcher(path.substring(this.path().length()));
         final Resource resource;
         if (matcher.find()) {
             resource = new Registration(
                 this.repository,
                 this.content,
-                new PackageId(matcher.group("id"))
+                new PackageId(matcher.group("id")),
+                this.gzip,
+                this.hive,
+                this.docs
             );
         } else {
             resource = new Absent();
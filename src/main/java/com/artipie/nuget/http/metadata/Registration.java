@@ -8,20 +8,26 @@ import com.artipie.http.Headers;
 import com.artipie.http.Response;
 import com.artipie.http.async.AsyncResponse;
 import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithHeaders;
 import com.artipie.http.rs.RsWithStatus;
 import com.artipie.nuget.PackageKeys;
 import com.artipie.nuget.Repository;
 import com.artipie.nuget.Versions;
+import com.artipie.nuget.http.GzipCache;
 import com.artipie.nuget.http.Resource;
+import com.artipie.nuget.http.RsNegotiated;
 import com.artipie.nuget.http.RsWithBodyNoHeaders;
 import com.artipie.nuget.metadata.NuspecField;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
 import javax.json.Json;
 import javax.json.JsonArrayBuilder;
 import javax.json.JsonObject;
@@ -52,48 +58,77 @@ class Registration implements Resource {
      */
     private final NuspecField id;
 
+    /**
+     * Encoded documents cache.
+     */
+    private final GzipCache gzip;
+
+    /**
+     * Registration hive.
+     */
+    private final Hive hive;
+
+    /**
+     * Materialized documents.
+     */
+    private final RegistrationDocuments docs;
+
     /**
      * Ctor.
      *
      * @param repository Repository to read data from.
      * @param content Package content location.
      * @param id Package identifier.
+     * @param gzip Encoded documents cache.
+     * @param hive Registration hive.
+     * @param docs Materialized documents.
+     * @checkstyle ParameterNumberCheck (10 lines)
      */
     Registration(
         final Repository repository,
         final ContentLocation content,
-        final NuspecField id) {
+        final NuspecField id,
+        final GzipCache gzip,
+        final Hive hive,
+        final RegistrationDocuments docs) {
         this.repository = repository;
         this.content = content;
         this.id = id;
+        this.gzip = gzip;
+        this.hive = hive;
+        this.docs = docs;
     }
 
     @Override
     public Response get(final Headers headers) {
         return new AsyncResponse(
-            this.pages().thenCompose(
-                pages -> new CompletionStages<>(pages.stream().map(RegistrationPage::json)).all()
-            ).thenApply(
-                pages -> {
-                    final JsonArrayBuilder items = Json.createArrayBuilder();
-                    for (final JsonObject page : pages) {
-                        items.add(page);
-                    }
-                    final JsonObject json = Json.createObjectBuilder()
-                        .add("count", pages.size())
-                        .add("items", items)
-                        .build();
-                    try (ByteArrayOutputStream out = new ByteArrayOutputStream();
-                        JsonWriter writer = Json.createWriter(out)) {
-                        writer.writeObject(json);
-                        out.flush();
-                        return new RsWithStatus(
-                            new RsWithBodyNoHeaders(out.toByteArray()),
-                            RsStatus.OK
-                        );
-                    } catch (final IOException ex) {
-                        throw new UncheckedIOException(ex);
+            this.versions().thenCompose(
+                versions -> this.docs.get(this.hive, this.id, versions)
+                    .<CompletionStage<byte[]>>map(CompletableFuture::completedFuture)
+                    .orElseGet(() -> this.materialize(versions))
+            ).thenApply(bytes -> this.response(headers, bytes))
+        );
+    }
+
+    /**
+     * Checks package registration existence by versions registry metadata,
+     * registration document is not generated.
+     *
+     * @param headers Request headers.
+     * @return Response with OK status if package has versions, NOT_FOUND otherwise.
+     */
+    @Override
+    public Response head(final Headers headers) {
+        return new AsyncResponse(
+            this.repository.size(new PackageKeys(this.id).versionsKey()).thenApply(
+                size -> {
+                    final RsStatus status;
+                    if (size.isPresent()) {
+                        status = RsStatus.OK;
+                    } else {
+                        status = RsStatus.NOT_FOUND;
                     }
+                    return new RsWithStatus(status);
                 }
             )
         );
@@ -107,24 +142,122 @@ class Registration implements Resource {
     }
 
     /**
-     * Enumerate version pages.
+     * Builds registration document for current package versions and stores it
+     * in materialized documents.
      *
-     * @return List of pages.
+     * @return Completion of materialization.
+     */
+    CompletionStage<Void> materialize() {
+        return this.versions().thenCompose(this::materialize).thenApply(bytes -> null);
+    }
+
+    /**
+     * Builds registration document for versions and stores it in materialized documents.
+     * Documents of gzipped hives are stored compressed.
+     *
+     * @param versions Package versions in the hive.
+     * @return Document bytes.
+     */
+    private CompletionStage<byte[]> materialize(final List<NuspecField> versions) {
+        return new CompletionStages<>(
+            Registration.pages(this.repository, this.content, this.id, versions)
+                .stream().map(RegistrationPage::json)
+        ).all().thenApply(
+            pages -> {
+                final byte[] plain = Registration.json(pages);
+                final byte[] bytes;
+                if (this.hive.gzipped()) {
+                    bytes = this.gzip.gzip(plain);
+                } else {
+                    bytes = plain;
+                }
+                this.docs.put(this.hive, this.id, versions, bytes);
+                return bytes;
+            }
+        );
+    }
+
+    /**
+     * Builds response with document.
+     *
+     * @param headers Request headers.
+     * @param bytes Document bytes, compressed for gzipped hives.
+     * @return Response.
      */
-    private CompletionStage<List<RegistrationPage>> pages() {
+    private Response response(final Headers headers, final byte[] bytes) {
+        final Response response;
+        if (this.hive.gzipped()) {
+            response = new RsWithHeaders(
+                new RsWithBodyNoHeaders(new RsWithStatus(RsStatus.OK), bytes),
+                new Headers.From("Content-Encoding", "gzip")
+            );
+        } else {
+            response = new RsNegotiated(headers, bytes, this.gzip);
+        }
+        return response;
+    }
+
+    /**
+     * Package versions included into the hive.
+     *
+     * @return Versions from lowest to highest.
+     */
+    private CompletionStage<List<NuspecField>> versions() {
         return this.repository.versions(new PackageKeys(this.id)).thenApply(Versions::all)
             .thenApply(
-                versions -> {
-                    final List<RegistrationPage> pages;
-                    if (versions.isEmpty()) {
-                        pages = Collections.emptyList();
-                    } else {
-                        pages = Collections.singletonList(
-                            new RegistrationPage(this.repository, this.content, this.id, versions)
-                        );
-                    }
-                    return pages;
-                }
+                all -> all.stream().filter(this.hive::includes).collect(Collectors.toList())
+            );
+    }
+
+    /**
+     * Enumerate version pages.
+     *
+     * @param repository Repository to read data from.
+     * @param content Package content location.
+     * @param id Package identifier.
+     * @param versions Package versions.
+     * @return List of pages.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    private static List<RegistrationPage> pages(
+        final Repository repository,
+        final ContentLocation content,
+        final NuspecField id,
+        final List<NuspecField> versions
+    ) {
+        final List<RegistrationPage> pages;
+        if (versions.isEmpty()) {
+            pages = Collections.emptyList();
+        } else {
+            pages = Collections.singletonList(
+                new RegistrationPage(repository, content, id, versions)
             );
+        }
+        return pages;
+    }
+
+    /**
+     * Registration document JSON bytes.
+     *
+     * @param pages Pages JSON.
+     * @return Bytes.
+     */
+    private static byte[] json(final Collection<JsonObject> pages) {
+        final JsonArrayBuilder items = Json.createArrayBuilder();
+        for (final JsonObject page : pages) {
+            items.add(page);
+        }
+        final JsonObject json = Json.createObjectBuilder()
+            .add("count", pages.size())
+            .add("items", items)
+            .build();
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream();
+            JsonWriter writer = Json.createWriter(out)) {
+            writer.writeObject(json);
+            out.flush();
+            return out.toByteArray();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
     }
 }
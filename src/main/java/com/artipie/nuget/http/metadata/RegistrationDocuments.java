@@ -0,0 +1,135 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.metadata;
+
+import com.artipie.nuget.metadata.NuspecField;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Materialized registration documents. Each document is stored together with
+ * the list of versions it was built from, so document is served only while
+ * package versions registry is not changed. Cache is bounded by total documents size.
+ *
+ * @since 1.6
+ */
+public final class RegistrationDocuments {
+
+    /**
+     * Default max total size of documents in bytes.
+     */
+    private static final long WEIGHT = 64L * 1024 * 1024;
+
+    /**
+     * Documents by hive and package id.
+     */
+    private final Cache<String, Document> docs;
+
+    /**
+     * Ctor with default max size of 64 MB.
+     */
+    public RegistrationDocuments() {
+        this(RegistrationDocuments.WEIGHT);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param weight Max total size of documents in bytes.
+     */
+    public RegistrationDocuments(final long weight) {
+        this.docs = CacheBuilder.newBuilder()
+            .maximumWeight(weight)
+            .<String, Document>weigher((key, val) -> val.bytes.length)
+            .build();
+    }
+
+    /**
+     * Get document.
+     *
+     * @param hive Registration hive.
+     * @param id Package id.
+     * @param versions Current package versions in the hive.
+     * @return Document bytes if materialized for these versions.
+     */
+    Optional<byte[]> get(final Hive hive, final NuspecField id, final List<NuspecField> versions) {
+        return Optional.ofNullable(this.docs.getIfPresent(RegistrationDocuments.key(hive, id)))
+            .filter(doc -> doc.state.equals(RegistrationDocuments.state(versions)))
+            .map(doc -> doc.bytes);
+    }
+
+    /**
+     * Store document.
+     *
+     * @param hive Registration hive.
+     * @param id Package id.
+     * @param versions Package versions document was built from.
+     * @param bytes Document bytes.
+     */
+    void put(
+        final Hive hive,
+        final NuspecField id,
+        final List<NuspecField> versions,
+        final byte[] bytes
+    ) {
+        this.docs.put(
+            RegistrationDocuments.key(hive, id),
+            new Document(RegistrationDocuments.state(versions), bytes)
+        );
+    }
+
+    /**
+     * Document key.
+     *
+     * @param hive Registration hive.
+     * @param id Package id.
+     * @return Key.
+     */
+    private static String key(final Hive hive, final NuspecField id) {
+        return String.format("%s/%s", hive.path(), id.normalized());
+    }
+
+    /**
+     * Versions state.
+     *
+     * @param versions Package versions.
+     * @return String representing versions.
+     */
+    private static String state(final List<NuspecField> versions) {
+        return versions.stream().map(NuspecField::normalized).collect(Collectors.joining(","));
+    }
+
+    /**
+     * Materialized document.
+     *
+     * @since 1.6
+     */
+    private static final class Document {
+
+        /**
+         * Versions document was built from.
+         */
+        private final String state;
+
+        /**
+         * Document bytes.
+         */
+        private final byte[] bytes;
+
+        /**
+         * Ctor.
+         *
+         * @param state Versions document was built from.
+         * @param bytes Document bytes.
+         */
+        Document(final String state, final byte[] bytes) {
+            this.state = state;
+            this.bytes = bytes;
+        }
+    }
+}
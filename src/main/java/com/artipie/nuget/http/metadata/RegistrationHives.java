@@ -0,0 +1,73 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.metadata;
+
+import com.artipie.nuget.PublishListener;
+import com.artipie.nuget.Repository;
+import com.artipie.nuget.http.GzipCache;
+import com.artipie.nuget.metadata.Nuspec;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
+
+/**
+ * Precomputes registration documents of all {@link Hive}s when package is published.
+ *
+ * @since 1.6
+ */
+public final class RegistrationHives implements PublishListener {
+
+    /**
+     * Repository to read data from.
+     */
+    private final Repository repository;
+
+    /**
+     * Package content location.
+     */
+    private final ContentLocation content;
+
+    /**
+     * Encoded documents cache.
+     */
+    private final GzipCache gzip;
+
+    /**
+     * Materialized documents.
+     */
+    private final RegistrationDocuments docs;
+
+    /**
+     * Ctor.
+     *
+     * @param repository Repository to read data from.
+     * @param content Package content location.
+     * @param gzip Encoded documents cache.
+     * @param docs Materialized documents.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    public RegistrationHives(
+        final Repository repository,
+        final ContentLocation content,
+        final GzipCache gzip,
+        final RegistrationDocuments docs
+    ) {
+        this.repository = repository;
+        this.content = content;
+        this.gzip = gzip;
+        this.docs = docs;
+    }
+
+    @Override
+    public CompletionStage<Void> published(final Nuspec nuspec) {
+        return CompletableFuture.allOf(
+            Stream.of(Hive.values()).map(
+                hive -> new Registration(
+                    this.repository, this.content, nuspec.id(), this.gzip, hive, this.docs
+                ).materialize().toCompletableFuture()
+            ).toArray(CompletableFuture[]::new)
+        );
+    }
+}
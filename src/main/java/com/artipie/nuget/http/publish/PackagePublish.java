@@ -5,21 +5,34 @@
 
 package com.artipie.nuget.http.publish;
 
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
 import com.artipie.http.Headers;
 import com.artipie.http.Response;
 import com.artipie.http.async.AsyncResponse;
 import com.artipie.http.headers.Login;
+import com.artipie.http.rq.RqHeaders;
 import com.artipie.http.rs.RsStatus;
 import com.artipie.http.rs.RsWithStatus;
+import com.artipie.nuget.HashIndex;
+import com.artipie.nuget.IdenticalPackageException;
 import com.artipie.nuget.InvalidPackageException;
 import com.artipie.nuget.PackageVersionAlreadyExistsException;
+import com.artipie.nuget.ReadOnlyRepositoryException;
 import com.artipie.nuget.Repository;
+import com.artipie.nuget.Repository.PackageInfo;
 import com.artipie.nuget.http.Resource;
 import com.artipie.nuget.http.Route;
+import com.artipie.nuget.uploads.IncompleteUploadException;
 import com.artipie.scheduling.ArtifactEvent;
 import com.artipie.scheduling.EventQueue;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
 import org.reactivestreams.Publisher;
 
 /**
@@ -82,6 +95,16 @@ public final class PackagePublish implements Route {
      */
     public static final class NewPackage implements Resource {
 
+        /**
+         * Conditional request header.
+         */
+        private static final String IF_NONE_MATCH = "If-None-Match";
+
+        /**
+         * Raw package content type.
+         */
+        private static final String OCTET_STREAM = "application/octet-stream";
+
         /**
          * Repository for adding package.
          */
@@ -116,35 +139,130 @@ public final class PackagePublish implements Route {
             return new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED);
         }
 
+        @Override
+        public Response head(final Headers headers) {
+            return new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED);
+        }
+
         @Override
         public Response put(
             final Headers headers,
             final Publisher<ByteBuffer> body
         ) {
             return new AsyncResponse(
-                CompletableFuture.supplyAsync(
-                    () -> new Multipart(headers, body).first()
-                ).thenCompose(this.repository::add).handle(
-                    (info, throwable) -> {
-                        final RsStatus res;
-                        if (throwable == null) {
-                            this.events.put(
-                                new ArtifactEvent(
-                                    PackagePublish.REPO_TYPE, this.name,
-                                    new Login(headers).getValue(), info.packageName(),
-                                    info.packageVersion(), info.zipSize()
-                                )
+                this.published(headers).thenCompose(
+                    published -> {
+                        final CompletionStage<Response> res;
+                        if (published) {
+                            res = CompletableFuture.completedFuture(
+                                new RsWithStatus(RsStatus.PRECONDITION_FAILED)
                             );
-                            res = RsStatus.CREATED;
                         } else {
-                            res = toStatus(throwable.getCause());
+                            res = this.add(headers, body);
                         }
                         return res;
                     }
-                ).thenApply(RsWithStatus::new)
+                )
             );
         }
 
+        /**
+         * Check if package with entity tag from `If-None-Match` header is published,
+         * entity tag is base64 SHA-512 hash of package as in `.nupkg.sha512` file.
+         *
+         * @param headers Request headers.
+         * @return True if any of entity tags matches published package.
+         */
+        private CompletionStage<Boolean> published(final Headers headers) {
+            final List<Key> keys = new RqHeaders(headers, NewPackage.IF_NONE_MATCH).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(HashIndex::key)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(Collectors.toList());
+            CompletionStage<Boolean> res = CompletableFuture.completedFuture(false);
+            for (final Key key : keys) {
+                res = res.thenCompose(
+                    found -> {
+                        final CompletionStage<Boolean> next;
+                        if (found) {
+                            next = CompletableFuture.completedFuture(true);
+                        } else {
+                            next = this.repository.size(key).thenApply(Optional::isPresent);
+                        }
+                        return next;
+                    }
+                );
+            }
+            return res;
+        }
+
+        /**
+         * Add package to repository.
+         * Package is sent as first part of `multipart/form-data` body by NuGet clients,
+         * body with `application/octet-stream` type is the package itself
+         * and is passed to repository as is.
+         *
+         * @param headers Request headers.
+         * @param body Request body.
+         * @return Response.
+         */
+        private CompletionStage<Response> add(final Headers headers,
+            final Publisher<ByteBuffer> body) {
+            final CompletionStage<Content> content;
+            if (NewPackage.raw(headers)) {
+                content = CompletableFuture.completedFuture(new Content.From(body));
+            } else {
+                content = CompletableFuture.supplyAsync(
+                    () -> new Multipart(headers, body).first()
+                );
+            }
+            return this.respond(headers, content.thenCompose(this.repository::add));
+        }
+
+        /**
+         * Build response to package push, artifact event is added if package is published.
+         *
+         * @param headers Request headers.
+         * @param added Completion of adding package to repository.
+         * @return Response.
+         */
+        CompletionStage<Response> respond(final Headers headers,
+            final CompletionStage<PackageInfo> added) {
+            return added.handle(
+                (info, throwable) -> {
+                    final RsStatus res;
+                    if (throwable == null) {
+                        this.events.put(
+                            new ArtifactEvent(
+                                PackagePublish.REPO_TYPE, this.name,
+                                new Login(headers).getValue(), info.packageName(),
+                                info.packageVersion(), info.zipSize()
+                            )
+                        );
+                        res = RsStatus.CREATED;
+                    } else {
+                        res = toStatus(throwable.getCause());
+                    }
+                    return res;
+                }
+            ).thenApply(RsWithStatus::new);
+        }
+
+        /**
+         * Is request body raw package binary.
+         *
+         * @param headers Request headers.
+         * @return True if content type is `application/octet-stream`.
+         */
+        private static boolean raw(final Headers headers) {
+            return new RqHeaders(headers, "Content-Type").stream()
+                .findFirst()
+                .map(type -> type.split(";")[0].trim())
+                .filter(NewPackage.OCTET_STREAM::equalsIgnoreCase)
+                .isPresent();
+        }
+
         /**
          * Converts throwable to HTTP response status.
          *
@@ -153,10 +271,15 @@ public final class PackagePublish implements Route {
          */
         private static RsStatus toStatus(final Throwable throwable) {
             final RsStatus status;
-            if (throwable instanceof InvalidPackageException) {
+            if (throwable instanceof InvalidPackageException
+                || throwable instanceof IncompleteUploadException) {
                 status = RsStatus.BAD_REQUEST;
+            } else if (throwable instanceof IdenticalPackageException) {
+                status = RsStatus.OK;
             } else if (throwable instanceof PackageVersionAlreadyExistsException) {
                 status = RsStatus.CONFLICT;
+            } else if (throwable instanceof ReadOnlyRepositoryException) {
+                status = RsStatus.METHOD_NOT_ALLOWED;
             } else {
                 status = RsStatus.INTERNAL_ERROR;
             }
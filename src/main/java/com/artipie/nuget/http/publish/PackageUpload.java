@@ -0,0 +1,386 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.publish;
+
+import com.artipie.asto.Content;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.headers.Header;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithHeaders;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.nuget.IdenticalPackageException;
+import com.artipie.nuget.InvalidPackageException;
+import com.artipie.nuget.PackageVersionAlreadyExistsException;
+import com.artipie.nuget.ReadOnlyRepositoryException;
+import com.artipie.nuget.Repository;
+import com.artipie.nuget.Repository.PackageInfo;
+import com.artipie.nuget.http.Absent;
+import com.artipie.nuget.http.Resource;
+import com.artipie.nuget.http.Route;
+import com.artipie.nuget.http.RsWithBodyNoHeaders;
+import com.artipie.nuget.uploads.Uploads;
+import com.artipie.scheduling.ArtifactEvent;
+import com.artipie.scheduling.EventQueue;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonWriter;
+import org.reactivestreams.Publisher;
+
+/**
+ * Resumable chunked package upload service, used to push very large packages.
+ * Upload is started by `PUT /package/uploads`, response `Location` header points
+ * to the upload. Parts numbered from 1 are pushed by `PUT /package/uploads/{id}/{number}`
+ * in any order, numbers of stored parts are listed by `GET /package/uploads/{id}`
+ * to resume interrupted upload. `PUT /package/uploads/{id}` commits the upload:
+ * package assembled from parts is published and upload is removed.
+ *
+ * @since 1.6
+ */
+public final class PackageUpload implements Route {
+
+    /**
+     * Max part number.
+     */
+    private static final int MAX_PARTS = 10_000;
+
+    /**
+     * Repository for adding package.
+     */
+    private final Repository repository;
+
+    /**
+     * Artifact events.
+     */
+    private final EventQueue<ArtifactEvent> events;
+
+    /**
+     * Repository name.
+     */
+    private final String name;
+
+    /**
+     * Uploads.
+     */
+    private final Uploads uploads;
+
+    /**
+     * Ctor.
+     *
+     * @param repository Repository for adding package.
+     * @param events Repository events queue
+     * @param name Repository name
+     * @param uploads Uploads
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public PackageUpload(final Repository repository, final EventQueue<ArtifactEvent> events,
+        final String name, final Uploads uploads) {
+        this.repository = repository;
+        this.events = events;
+        this.name = name;
+        this.uploads = uploads;
+    }
+
+    @Override
+    public String path() {
+        return "/package/uploads";
+    }
+
+    @Override
+    public Resource resource(final String path) {
+        final List<String> parts = Arrays.stream(path.substring(this.path().length()).split("/"))
+            .filter(part -> !part.isEmpty())
+            .collect(Collectors.toList());
+        final Resource resource;
+        if (parts.isEmpty()) {
+            resource = new Start();
+        } else if (!PackageUpload.valid(parts.get(0))) {
+            resource = new Absent();
+        } else if (parts.size() == 1) {
+            resource = new Upload(parts.get(0));
+        } else if (parts.size() == 2 && PackageUpload.number(parts.get(1)) > 0) {
+            resource = new Part(parts.get(0), PackageUpload.number(parts.get(1)));
+        } else {
+            resource = new Absent();
+        }
+        return resource;
+    }
+
+    /**
+     * Is upload identifier well-formed.
+     *
+     * @param id Upload identifier.
+     * @return True if identifier is UUID.
+     */
+    private static boolean valid(final String id) {
+        boolean res;
+        try {
+            res = UUID.fromString(id).toString().equals(id);
+        } catch (final IllegalArgumentException ex) {
+            res = false;
+        }
+        return res;
+    }
+
+    /**
+     * Parse part number.
+     *
+     * @param number Part number.
+     * @return Part number, zero if it is malformed or out of range.
+     */
+    private static int number(final String number) {
+        int res;
+        try {
+            res = Integer.parseInt(number);
+        } catch (final NumberFormatException ex) {
+            res = 0;
+        }
+        if (res < 1 || res > PackageUpload.MAX_PARTS) {
+            res = 0;
+        }
+        return res;
+    }
+
+    /**
+     * Stored parts JSON.
+     *
+     * @param numbers Part numbers.
+     * @return JSON bytes.
+     */
+    private static byte[] json(final List<Integer> numbers) {
+        final JsonArrayBuilder parts = Json.createArrayBuilder();
+        numbers.forEach(parts::add);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonWriter writer = Json.createWriter(out)) {
+            writer.writeObject(Json.createObjectBuilder().add("parts", parts).build());
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Is package definitely rejected by repository, so commit of the same upload
+     * would be rejected again.
+     *
+     * @param err Error of adding package.
+     * @return True if package is invalid, its version already exists
+     *  or repository does not accept packages.
+     */
+    private static boolean definitive(final Throwable err) {
+        Throwable cause = err;
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof InvalidPackageException
+            || cause instanceof IdenticalPackageException
+            || cause instanceof PackageVersionAlreadyExistsException
+            || cause instanceof ReadOnlyRepositoryException;
+    }
+
+    /**
+     * Upload start resource.
+     *
+     * @since 1.6
+     */
+    private final class Start implements Resource {
+
+        @Override
+        public Response get(final Headers headers) {
+            return new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED);
+        }
+
+        @Override
+        public Response head(final Headers headers) {
+            return new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED);
+        }
+
+        @Override
+        public Response put(final Headers headers, final Publisher<ByteBuffer> body) {
+            return new AsyncResponse(
+                PackageUpload.this.uploads.start().thenApply(
+                    id -> new RsWithHeaders(
+                        new RsWithStatus(RsStatus.CREATED),
+                        new Header("Location", String.format("uploads/%s", id))
+                    )
+                )
+            );
+        }
+    }
+
+    /**
+     * Upload resource, lists stored parts and commits upload.
+     *
+     * @since 1.6
+     */
+    private final class Upload implements Resource {
+
+        /**
+         * Upload identifier.
+         */
+        private final String id;
+
+        /**
+         * Ctor.
+         *
+         * @param id Upload identifier.
+         */
+        Upload(final String id) {
+            this.id = id;
+        }
+
+        @Override
+        public Response get(final Headers headers) {
+            return new AsyncResponse(
+                PackageUpload.this.uploads.parts(this.id).thenApply(
+                    parts -> parts.<Response>map(
+                        numbers -> new RsWithStatus(
+                            new RsWithBodyNoHeaders(PackageUpload.json(numbers)), RsStatus.OK
+                        )
+                    ).orElse(new RsWithStatus(RsStatus.NOT_FOUND))
+                )
+            );
+        }
+
+        @Override
+        public Response head(final Headers headers) {
+            return new AsyncResponse(
+                PackageUpload.this.uploads.exists(this.id).thenApply(
+                    exists -> {
+                        final RsStatus status;
+                        if (exists) {
+                            status = RsStatus.OK;
+                        } else {
+                            status = RsStatus.NOT_FOUND;
+                        }
+                        return new RsWithStatus(status);
+                    }
+                )
+            );
+        }
+
+        @Override
+        public Response put(final Headers headers, final Publisher<ByteBuffer> body) {
+            return new AsyncResponse(
+                PackageUpload.this.uploads.exists(this.id).thenCompose(
+                    exists -> {
+                        final CompletionStage<Response> res;
+                        if (exists) {
+                            res = new PackagePublish.NewPackage(
+                                PackageUpload.this.repository,
+                                PackageUpload.this.events,
+                                PackageUpload.this.name
+                            ).respond(headers, this.add());
+                        } else {
+                            res = CompletableFuture.completedFuture(
+                                new RsWithStatus(RsStatus.NOT_FOUND)
+                            );
+                        }
+                        return res;
+                    }
+                )
+            );
+        }
+
+        /**
+         * Add package assembled from upload parts to repository.
+         * Upload is removed once package is added or definitely rejected by repository,
+         * on other failures it is kept so commit can be retried.
+         *
+         * @return Completion of adding package.
+         */
+        private CompletionStage<PackageInfo> add() {
+            return PackageUpload.this.uploads.content(this.id).thenCompose(
+                content -> PackageUpload.this.repository.add(content).handle(
+                    (info, err) -> {
+                        final CompletionStage<Void> removed;
+                        if (err == null || PackageUpload.definitive(err)) {
+                            removed = PackageUpload.this.uploads.remove(this.id);
+                        } else {
+                            removed = CompletableFuture.completedFuture(null);
+                        }
+                        return removed.thenApply(
+                            nothing -> {
+                                if (err instanceof CompletionException) {
+                                    throw (CompletionException) err;
+                                }
+                                if (err != null) {
+                                    throw new CompletionException(err);
+                                }
+                                return info;
+                            }
+                        );
+                    }
+                ).thenCompose(Function.identity())
+            );
+        }
+    }
+
+    /**
+     * Upload part resource.
+     *
+     * @since 1.6
+     */
+    private final class Part implements Resource {
+
+        /**
+         * Upload identifier.
+         */
+        private final String id;
+
+        /**
+         * Part number.
+         */
+        private final int number;
+
+        /**
+         * Ctor.
+         *
+         * @param id Upload identifier.
+         * @param number Part number.
+         */
+        Part(final String id, final int number) {
+            this.id = id;
+            this.number = number;
+        }
+
+        @Override
+        public Response get(final Headers headers) {
+            return new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED);
+        }
+
+        @Override
+        public Response head(final Headers headers) {
+            return new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED);
+        }
+
+        @Override
+        public Response put(final Headers headers, final Publisher<ByteBuffer> body) {
+            return new AsyncResponse(
+                PackageUpload.this.uploads.part(this.id, this.number, new Content.From(body))
+                    .thenApply(
+                        stored -> {
+                            final RsStatus status;
+                            if (stored) {
+                                status = RsStatus.CREATED;
+                            } else {
+                                status = RsStatus.NOT_FOUND;
+                            }
+                            return new RsWithStatus(status);
+                        }
+                    )
+            );
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.search;
+
+import com.artipie.http.rq.RqParams;
+import com.artipie.nuget.http.Absent;
+import com.artipie.nuget.http.Resource;
+import com.artipie.nuget.http.Route;
+import com.artipie.nuget.search.SearchIndex;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonWriter;
+
+/**
+ * Autocomplete service route: package ids by prefix or versions of package.
+ * See <a href="https://learn.microsoft.com/en-us/nuget/api/search-autocomplete-service-resource">Autocomplete</a>.
+ * Results are served from search index memory, storage is not accessed.
+ *
+ * @since 1.6
+ */
+public final class PackageAutocomplete implements Route {
+
+    /**
+     * Search index.
+     */
+    private final SearchIndex index;
+
+    /**
+     * Request query parameters.
+     */
+    private final SearchParams params;
+
+    /**
+     * Ctor.
+     *
+     * @param index Search index.
+     * @param params Request query parameters.
+     */
+    public PackageAutocomplete(final SearchIndex index, final RqParams params) {
+        this.index = index;
+        this.params = new SearchParams(params);
+    }
+
+    @Override
+    public String path() {
+        return "/autocomplete";
+    }
+
+    @Override
+    public Resource resource(final String path) {
+        final Resource resource;
+        if (path.equals(this.path())) {
+            resource = new SearchResource(this.index.ready(), this::json);
+        } else {
+            resource = new Absent();
+        }
+        return resource;
+    }
+
+    /**
+     * Autocomplete results JSON bytes: page of package ids
+     * or all versions of package if id is specified.
+     *
+     * @return Bytes of JSON.
+     */
+    private byte[] json() {
+        final JsonObjectBuilder json = Json.createObjectBuilder();
+        final JsonArrayBuilder data = Json.createArrayBuilder();
+        final Optional<String> id = this.params.id();
+        if (id.isPresent()) {
+            this.index.versions(id.get(), this.params.prerelease()).forEach(data::add);
+        } else {
+            final List<String> ids = this.index.ids(
+                this.params.query(), this.params.prerelease()
+            );
+            ids.stream().skip(this.params.skip()).limit(this.params.take()).forEach(data::add);
+            json.add("totalHits", ids.size());
+        }
+        final JsonObject result = json.add("data", data).build();
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream();
+            JsonWriter writer = Json.createWriter(out)) {
+            writer.writeObject(result);
+            out.flush();
+            return out.toByteArray();
+        } catch (final IOException ex) {
+            throw new IllegalStateException("Failed to serialize JSON to bytes", ex);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.search;
+
+import com.artipie.http.rq.RqParams;
+import com.artipie.nuget.downloads.Downloads;
+import com.artipie.nuget.http.Absent;
+import com.artipie.nuget.http.Resource;
+import com.artipie.nuget.http.Route;
+import com.artipie.nuget.http.metadata.Hive;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.SearchResults;
+import com.artipie.nuget.search.SearchIndex;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Search query service route.
+ * See <a href="https://learn.microsoft.com/en-us/nuget/api/search-query-service-resource">Search</a>.
+ *
+ * @since 1.6
+ */
+public final class PackageSearch implements Route {
+
+    /**
+     * Base URL of repository.
+     */
+    private final URL base;
+
+    /**
+     * Search index.
+     */
+    private final SearchIndex index;
+
+    /**
+     * Package downloads counters.
+     */
+    private final Downloads downloads;
+
+    /**
+     * Request query parameters.
+     */
+    private final SearchParams params;
+
+    /**
+     * Ctor.
+     *
+     * @param base Base URL of repository.
+     * @param index Search index.
+     * @param downloads Package downloads counters.
+     * @param params Request query parameters.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public PackageSearch(final URL base, final SearchIndex index, final Downloads downloads,
+        final RqParams params) {
+        this.base = base;
+        this.index = index;
+        this.downloads = downloads;
+        this.params = new SearchParams(params);
+    }
+
+    @Override
+    public String path() {
+        return "/query";
+    }
+
+    @Override
+    public Resource resource(final String path) {
+        final Resource resource;
+        if (path.equals(this.path())) {
+            resource = new SearchResource(
+                this.index.ready().thenCompose(nothing -> this.downloads.ready()), this::json
+            );
+        } else {
+            resource = new Absent();
+        }
+        return resource;
+    }
+
+    /**
+     * Search results JSON bytes.
+     *
+     * @return Bytes of JSON.
+     */
+    private byte[] json() {
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Stream<SearchIndex.Hit> hits = this.index.hits(
+                this.params.query(), this.params.prerelease()
+            )) {
+            new SearchResults(out).generate(
+                hits.iterator(), this.params.skip(), this.params.take(), this::render
+            );
+            return out.toByteArray();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Render search hit.
+     *
+     * @param hit Search hit.
+     * @return Search results package.
+     */
+    private SearchResults.Package render(final SearchIndex.Hit hit) {
+        final String url = this.registration(hit.id());
+        return new SearchResults.Package(
+            hit.id(),
+            hit.types(),
+            hit.versions().stream().map(
+                version -> new SearchResults.Version(
+                    version, this.downloads.downloads(hit.id(), version), url
+                )
+            ).collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Absolute URL of package registration index.
+     *
+     * @param id Package id.
+     * @return URL string.
+     */
+    private String registration(final String id) {
+        final String relative = String.format(
+            "%s%s/%s/index.json",
+            this.base.getPath(),
+            Hive.VERSIONED.path(),
+            new PackageId(id).normalized()
+        );
+        try {
+            return new URL(this.base, relative).toString();
+        } catch (final MalformedURLException ex) {
+            throw new IllegalStateException(
+                String.format("Failed to build URL from base: '%s'", this.base),
+                ex
+            );
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.search;
+
+import com.artipie.http.rq.RqParams;
+import java.util.Optional;
+
+/**
+ * Search and autocomplete query parameters.
+ *
+ * @since 1.6
+ */
+final class SearchParams {
+
+    /**
+     * Default page size.
+     */
+    private static final int TAKE = 20;
+
+    /**
+     * Request query parameters.
+     */
+    private final RqParams params;
+
+    /**
+     * Ctor.
+     *
+     * @param params Request query parameters.
+     */
+    SearchParams(final RqParams params) {
+        this.params = params;
+    }
+
+    /**
+     * Search terms.
+     *
+     * @return Query, empty string if absent.
+     */
+    String query() {
+        return this.params.value("q").orElse("");
+    }
+
+    /**
+     * Package id to list versions of.
+     *
+     * @return Package id if present.
+     */
+    @SuppressWarnings("PMD.ShortMethodName")
+    Optional<String> id() {
+        return this.params.value("id").filter(val -> !val.isEmpty());
+    }
+
+    /**
+     * Number of results to skip.
+     *
+     * @return Skip count.
+     */
+    int skip() {
+        return this.number("skip", 0);
+    }
+
+    /**
+     * Number of results to return.
+     *
+     * @return Page size.
+     */
+    int take() {
+        return this.number("take", SearchParams.TAKE);
+    }
+
+    /**
+     * Whether pre-release packages should be included.
+     *
+     * @return True if pre-release packages are requested.
+     */
+    boolean prerelease() {
+        return this.params.value("prerelease").map(Boolean::parseBoolean).orElse(false);
+    }
+
+    /**
+     * Non-negative integer query parameter.
+     *
+     * @param name Parameter name.
+     * @param def Default value.
+     * @return Parameter value, default if absent or malformed.
+     */
+    private int number(final String name, final int def) {
+        int res;
+        try {
+            res = this.params.value(name).map(Integer::parseInt).orElse(def);
+        } catch (final NumberFormatException ex) {
+            res = def;
+        }
+        return Math.max(res, 0);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.search;
+
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.headers.ContentLength;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithHeaders;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.nuget.http.Resource;
+import com.artipie.nuget.http.RsWithBodyNoHeaders;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+import org.reactivestreams.Publisher;
+
+/**
+ * Read-only resource with JSON built once underlying data is loaded.
+ *
+ * @since 1.6
+ */
+final class SearchResource implements Resource {
+
+    /**
+     * Completion of data loading.
+     */
+    private final CompletionStage<Void> ready;
+
+    /**
+     * JSON bytes.
+     */
+    private final Supplier<byte[]> json;
+
+    /**
+     * Ctor.
+     *
+     * @param ready Completion of data loading.
+     * @param json JSON bytes.
+     */
+    SearchResource(final CompletionStage<Void> ready, final Supplier<byte[]> json) {
+        this.ready = ready;
+        this.json = json;
+    }
+
+    @Override
+    public Response get(final Headers headers) {
+        return new AsyncResponse(
+            this.ready.thenApply(
+                nothing -> new RsWithStatus(
+                    new RsWithBodyNoHeaders(this.json.get()),
+                    RsStatus.OK
+                )
+            )
+        );
+    }
+
+    @Override
+    public Response head(final Headers headers) {
+        return new AsyncResponse(
+            this.ready.thenApply(
+                nothing -> new RsWithHeaders(
+                    new RsWithStatus(RsStatus.OK),
+                    new ContentLength(this.json.get().length)
+                )
+            )
+        );
+    }
+
+    @Override
+    public Response put(final Headers headers, final Publisher<ByteBuffer> body) {
+        return new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED);
+    }
+}
@@ -6,7 +6,6 @@ package com.artipie.nuget.metadata;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -16,8 +15,6 @@ import javax.json.Json;
 import javax.json.JsonArrayBuilder;
 import javax.json.JsonObject;
 import javax.json.JsonObjectBuilder;
-import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.apache.commons.lang3.tuple.Pair;
 
 /**
  * CatalogEntry item from registration page.
@@ -137,11 +134,11 @@ public interface CatalogEntry {
                     }
                     final JsonArrayBuilder deps = Json.createArrayBuilder();
                     val.forEach(
-                        pair -> {
+                        dependency -> {
                             final JsonObjectBuilder dep = Json.createObjectBuilder();
-                            dep.add("id", pair.getKey());
-                            if (!pair.getValue().isEmpty()) {
-                                dep.add("range", String.format("[%s, )", pair.getValue()));
+                            dep.add("id", dependency.id());
+                            if (!dependency.version().isEmpty()) {
+                                dep.add("range", FromNuspec.range(dependency.version()));
                             }
                             deps.add(dep);
                         }
@@ -154,40 +151,31 @@ public interface CatalogEntry {
 
         /**
          * Dependencies grouped by target framework. Dependencies, which do not have the
-         * target framework, are placed with empty string key. {@link Nuspec#dependencies()}
-         * returns deps in the following format:
-         * <code>dependency_id:dependency_version:group_targetFramework</code>
-         * The last part `group_targetFramework` can be empty.
+         * target framework, are placed with empty string key.
          * @return Dependencies grouped by target framework
-         * @checkstyle MagicNumberCheck (20 lines)
          */
-        private Map<String, List<Pair<String, String>>> dependenciesByTargetFramework() {
-            final Map<String, List<Pair<String, String>>> res = new HashMap<>();
-            this.nuspec.dependencies().forEach(
-                item -> {
-                    final String[] arr = item.split(":");
-                    final List<Pair<String, String>> dep;
-                    if (arr[0].isEmpty()) {
-                        dep = Collections.emptyList();
-                    } else {
-                        dep = new ArrayList<>(12);
-                        dep.add(new ImmutablePair<>(arr[0], arr[1]));
-                    }
-                    final String framework;
-                    if (arr.length == 3) {
-                        framework = arr[2];
-                    } else {
-                        framework = "";
-                    }
-                    res.merge(
-                        framework, dep,
-                        (existing, adding) -> {
-                            existing.addAll(adding);
-                            return existing;
-                        }
-                    );
-                }
-            );
+        private Map<String, List<DependencyGroup.Dependency>> dependenciesByTargetFramework() {
+            final Map<String, List<DependencyGroup.Dependency>> res = new HashMap<>();
+            for (final DependencyGroup group : this.nuspec.dependencyGroups()) {
+                res.computeIfAbsent(group.targetFramework(), key -> new ArrayList<>(1))
+                    .addAll(group.dependencies());
+            }
+            return res;
+        }
+
+        /**
+         * Normalized dependency version range, plain version is the minimum version.
+         * Malformed range is written as is.
+         * @param raw Version range as written in nuspec
+         * @return Range
+         */
+        private static String range(final String raw) {
+            String res;
+            try {
+                res = new VersionRange(raw).normalized();
+            } catch (final IllegalArgumentException ex) {
+                res = raw;
+            }
             return res;
         }
     }
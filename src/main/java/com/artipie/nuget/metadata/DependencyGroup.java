@@ -0,0 +1,96 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.metadata;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Package dependencies group for target framework.
+ * See <a href="https://docs.microsoft.com/en-us/nuget/reference/nuspec#dependency-groups">docs</a>.
+ * @since 1.6
+ */
+public final class DependencyGroup {
+
+    /**
+     * Target framework, empty string if not specified.
+     */
+    private final String framework;
+
+    /**
+     * Dependencies of the group.
+     */
+    private final List<Dependency> deps;
+
+    /**
+     * Ctor.
+     * @param framework Target framework, empty string if not specified
+     * @param deps Dependencies of the group
+     */
+    public DependencyGroup(final String framework, final List<Dependency> deps) {
+        this.framework = framework;
+        this.deps = Collections.unmodifiableList(deps);
+    }
+
+    /**
+     * Target framework.
+     * @return Target framework, empty string if not specified
+     */
+    public String targetFramework() {
+        return this.framework;
+    }
+
+    /**
+     * Dependencies of the group.
+     * @return Dependencies, empty list for a group without dependencies
+     */
+    public List<Dependency> dependencies() {
+        return this.deps;
+    }
+
+    /**
+     * Package dependency.
+     * @since 1.6
+     */
+    public static final class Dependency {
+
+        /**
+         * Dependency package id.
+         */
+        private final String id;
+
+        /**
+         * Dependency version range as written in nuspec, empty string if not specified.
+         */
+        private final String version;
+
+        /**
+         * Ctor.
+         * @param id Dependency package id
+         * @param version Version range, empty string if not specified
+         */
+        public Dependency(final String id, final String version) {
+            this.id = id;
+            this.version = version;
+        }
+
+        /**
+         * Dependency package id.
+         * @return Package id
+         */
+        @SuppressWarnings("PMD.ShortMethodName")
+        public String id() {
+            return this.id;
+        }
+
+        /**
+         * Version range as written in nuspec.
+         * @return Version range, empty string if not specified
+         */
+        public String version() {
+            return this.version;
+        }
+    }
+}
@@ -12,9 +12,6 @@ import java.util.Map;
 import javax.json.Json;
 import javax.json.JsonArray;
 import javax.json.JsonArrayBuilder;
-import javax.json.JsonObjectBuilder;
-import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.apache.commons.lang3.tuple.Pair;
 
 /**
  * Nuget package dependencies groups.
@@ -61,40 +58,19 @@ public interface DependencyGroups {
 
         @Override
         public JsonArray build() {
-            final Map<String, List<Pair<String, String>>> items =
+            final Map<String, List<DependencyGroup.Dependency>> items =
                 new HashMap<>(this.versions.size());
             for (final String item : this.versions) {
-                final String framework = FromVersions.getFramework(item);
-                items.compute(
-                    framework, (key, val) -> {
-                        List<Pair<String, String>> res = val;
-                        if (res == null) {
-                            res = new ArrayList<>(this.versions.size());
-                        }
-                        res.add(
-                            new ImmutablePair<>(
-                                FromVersions.getId(item), FromVersions.getVersion(item)
-                            )
-                        );
-                        return res;
-                    }
-                );
+                final String[] parts = FromVersions.parse(item);
+                items.computeIfAbsent(parts[2], key -> new ArrayList<>(this.versions.size()))
+                    .add(new DependencyGroup.Dependency(parts[0], parts[1]));
             }
-            final JsonArrayBuilder array = Json.createArrayBuilder();
-            for (final Map.Entry<String, List<Pair<String, String>>> entry : items.entrySet()) {
-                final JsonObjectBuilder builder = Json.createObjectBuilder();
-                final JsonArrayBuilder arr = Json.createArrayBuilder();
-                entry.getValue().forEach(
-                    pair -> arr.add(
-                        Json.createObjectBuilder().add("id", pair.getKey())
-                            .add("range", pair.getValue()).build()
-                    )
-                );
-                builder.add("dependencies", arr);
-                builder.add("targetFramework", entry.getKey());
-                array.add(builder);
+            final List<DependencyGroup> groups = new ArrayList<>(items.size());
+            for (final Map.Entry<String, List<DependencyGroup.Dependency>> entry
+                : items.entrySet()) {
+                groups.add(new DependencyGroup(entry.getKey(), entry.getValue()));
             }
-            return array.build();
+            return new FromGroups(groups).build();
         }
 
         @Override
@@ -103,46 +79,26 @@ public interface DependencyGroups {
         }
 
         /**
-         * Calculate version from item string.
+         * Parse dependency item string.
          * @param item Full item
-         * @return Version
+         * @return Array of id, version and framework
          */
-        private static String getVersion(final String item) {
+        private static String[] parse(final String item) {
             final String[] arr = item.split(":");
+            final boolean full = arr.length == FromVersions.MAX_SIZE
+                || arr.length == 2 && item.endsWith(":");
+            final String id;
             final String version;
-            if (arr.length == FromVersions.MAX_SIZE || arr.length == 2 && item.endsWith(":")) {
+            if (full) {
+                id = arr[0];
                 version = arr[1];
             } else if (item.charAt(0) == ':') {
+                id = "";
                 version = arr[0];
-            } else {
-                version = "";
-            }
-            return version;
-        }
-
-        /**
-         * Calculate id from item string.
-         * @param item Full item
-         * @return Id
-         */
-        private static String getId(final String item) {
-            final String[] arr = item.split(":");
-            final String id;
-            if (arr.length == FromVersions.MAX_SIZE || arr.length == 2 && item.endsWith(":")) {
-                id = arr[0];
             } else {
                 id = "";
+                version = "";
             }
-            return id;
-        }
-
-        /**
-         * Calculate framework from item string.
-         * @param item Full item
-         * @return Framework
-         */
-        private static String getFramework(final String item) {
-            final String[] arr = item.split(":");
             final String framework;
             if (arr.length == FromVersions.MAX_SIZE) {
                 framework = arr[2];
@@ -151,7 +107,53 @@ public interface DependencyGroups {
             } else {
                 framework = arr[1];
             }
-            return framework;
+            return new String[] {id, version, framework};
+        }
+    }
+
+    /**
+     * Builds DependencyGroups json from typed dependency groups,
+     * for example, from {@link Nuspec#dependencyGroups()}.
+     * @since 1.6
+     */
+    final class FromGroups implements DependencyGroups {
+
+        /**
+         * Dependency groups.
+         */
+        private final Collection<DependencyGroup> groups;
+
+        /**
+         * Ctor.
+         * @param groups Dependency groups
+         */
+        public FromGroups(final Collection<DependencyGroup> groups) {
+            this.groups = groups;
+        }
+
+        @Override
+        public JsonArray build() {
+            final JsonArrayBuilder array = Json.createArrayBuilder();
+            for (final DependencyGroup group : this.groups) {
+                final JsonArrayBuilder arr = Json.createArrayBuilder();
+                for (final DependencyGroup.Dependency dep : group.dependencies()) {
+                    arr.add(
+                        Json.createObjectBuilder().add("id", dep.id())
+                            .add("range", dep.version()).build()
+                    );
+                }
+                array.add(
+                    Json.createObjectBuilder()
+                        .add("dependencies", arr)
+                        .add("targetFramework", group.targetFramework())
+                );
+            }
+            return array.build();
+        }
+
+        @Override
+        public String toString() {
+            return this.build().toString();
         }
     }
 
@@ -81,6 +81,14 @@ public interface Nuspec {
      */
     Collection<String> dependencies();
 
+    /**
+     * Dependency groups in the order of nuspec document.
+     * For more details please check
+     * <a href="https://docs.microsoft.com/en-us/nuget/reference/nuspec#dependency-groups">docs</a>.
+     * @return Dependency groups
+     */
+    List<DependencyGroup> dependencyGroups();
+
     /**
      * List of the package types formatted as
      * <code>type_name:version</code>
@@ -195,36 +203,47 @@ public interface Nuspec {
 
         @Override
         public Collection<String> dependencies() {
-            final List<XML> deps = this.content.nodes(
-                "/*[name()='package']/*[name()='metadata']/*[name()='dependencies']"
-            );
             final Collection<String> res = new ArrayList<>(10);
-            if (!deps.isEmpty()) {
-                //@checkstyle LineLengthCheck (1 line)
-                final List<XML> groups = this.content.nodes("/*[name()='package']/*[name()='metadata']/*[name()='dependencies']/*[name()='group']");
-                for (final XML group : groups) {
-                    final String tfv = Optional.ofNullable(
-                        group.node().getAttributes().getNamedItem("targetFramework")
-                    ).map(Node::getNodeValue).orElse("");
-                    final NodeList list = group.node().getChildNodes();
-                    boolean empty = true;
-                    for (int cnt = 0; cnt < list.getLength(); cnt = cnt + 1) {
-                        final Node item = list.item(cnt);
-                        if ("dependency".equals(item.getLocalName())) {
-                            empty = false;
-                            final String id = Optional.ofNullable(
-                                item.getAttributes().getNamedItem("id")
-                            ).map(Node::getNodeValue).orElse("");
-                            final String version = Optional.ofNullable(
-                                item.getAttributes().getNamedItem(Xml.VRSN)
-                            ).map(Node::getNodeValue).orElse("");
-                            res.add(String.format("%s:%s:%s", id, version, tfv));
-                        }
-                    }
-                    if (empty) {
-                        res.add(String.format("::%s", tfv));
+            for (final DependencyGroup group : this.dependencyGroups()) {
+                if (group.dependencies().isEmpty()) {
+                    res.add(String.format("::%s", group.targetFramework()));
+                }
+                for (final DependencyGroup.Dependency dep : group.dependencies()) {
+                    res.add(
+                        String.format(
+                            "%s:%s:%s", dep.id(), dep.version(), group.targetFramework()
+                        )
+                    );
+                }
+            }
+            return res;
+        }
+
+        @Override
+        public List<DependencyGroup> dependencyGroups() {
+            //@checkstyle LineLengthCheck (1 line)
+            final List<XML> groups = this.content.nodes("/*[name()='package']/*[name()='metadata']/*[name()='dependencies']/*[name()='group']");
+            final List<DependencyGroup> res = new ArrayList<>(groups.size());
+            for (final XML group : groups) {
+                final String tfv = Optional.ofNullable(
+                    group.node().getAttributes().getNamedItem("targetFramework")
+                ).map(Node::getNodeValue).orElse("");
+                final NodeList list = group.node().getChildNodes();
+                final List<DependencyGroup.Dependency> deps = new ArrayList<>(list.getLength());
+                for (int cnt = 0; cnt < list.getLength(); cnt = cnt + 1) {
+                    final Node item = list.item(cnt);
+                    if ("dependency".equals(item.getLocalName())) {
+                        deps.add(
+                            new DependencyGroup.Dependency(
+                                Optional.ofNullable(item.getAttributes().getNamedItem("id"))
+                                    .map(Node::getNodeValue).orElse(""),
+                                Optional.ofNullable(item.getAttributes().getNamedItem(Xml.VRSN))
+                                    .map(Node::getNodeValue).orElse("")
+                            )
+                        );
                     }
                 }
+                res.add(new DependencyGroup(tfv, deps));
             }
             return res;
         }
@@ -9,6 +9,8 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.function.Function;
 
 /**
  * NugetRepository search function results.
@@ -36,27 +38,39 @@ public final class SearchResults {
      * @param packages Packages to write results from
      * @throws IOException On IO error
      */
-    void generate(final Collection<Package> packages) throws IOException {
+    public void generate(final Collection<Package> packages) throws IOException {
+        this.generate(packages.iterator(), 0, Long.MAX_VALUE, Function.identity());
+    }
+
+    /**
+     * Generates search resulting json for a page of hits. Hits are consumed one by one,
+     * only hits of the page are rendered to packages, the rest are just counted
+     * for the total. Therefore, total hits count is written after the data.
+     * @param hits Search hits
+     * @param skip Number of hits to skip
+     * @param take Page size
+     * @param render Renders hit to package
+     * @param <T> Hit type
+     * @throws IOException On IO error
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public <T> void generate(final Iterator<T> hits, final long skip, final long take,
+        final Function<? super T, Package> render) throws IOException {
         final JsonGenerator gen = new JsonFactory().createGenerator(this.out);
         gen.writeStartObject();
-        gen.writeNumberField("totalHits", packages.size());
         gen.writeFieldName("data");
         gen.writeStartArray();
-        for (final Package item : packages) {
-            gen.writeStartObject();
-            gen.writeStringField("id", item.id);
-            gen.writeStringField("version", item.version());
-            gen.writeFieldName("packageTypes");
-            gen.writeArray(item.types.toArray(new String[]{}), 0, item.types.size());
-            gen.writeFieldName("versions");
-            gen.writeStartArray();
-            for (final Version vers : item.versions) {
-                vers.write(gen);
+        long total = 0;
+        while (hits.hasNext()) {
+            final T hit = hits.next();
+            if (total >= skip && total - skip < take) {
+                render.apply(hit).write(gen);
             }
-            gen.writeEndArray();
-            gen.writeEndObject();
+            total = total + 1;
         }
         gen.writeEndArray();
+        gen.writeNumberField("totalHits", total);
+        gen.writeEndObject();
         gen.close();
     }
 
@@ -83,6 +97,11 @@ public final class SearchResults {
          */
         private final Collection<Version> versions;
 
+        /**
+         * The latest normalized version.
+         */
+        private final String latest;
+
         /**
          * Ctor.
          * @param id Package id
@@ -94,6 +113,11 @@ public final class SearchResults {
             this.id = id;
             this.types = types;
             this.versions = versions;
+            this.latest = versions.stream()
+                .map(vers -> new com.artipie.nuget.metadata.Version(vers.value))
+                .max(com.artipie.nuget.metadata.Version::compareTo)
+                .map(com.artipie.nuget.metadata.Version::normalized)
+                .orElse("");
         }
 
         /**
@@ -101,9 +125,30 @@ public final class SearchResults {
          * @return Version
          */
         String version() {
-            return this.versions.stream()
-                .map(vers -> new com.artipie.nuget.metadata.Version(vers.value))
-                .max(com.artipie.nuget.metadata.Version::compareTo).get().normalized();
+            return this.latest;
+        }
+
+        /**
+         * Writes itself to {@link JsonGenerator}.
+         * @param gen Where to write
+         * @throws IOException On IO error
+         */
+        private void write(final JsonGenerator gen) throws IOException {
+            gen.writeStartObject();
+            gen.writeStringField("id", this.id);
+            gen.writeStringField("version", this.latest);
+            gen.writeNumberField(
+                "totalDownloads", this.versions.stream().mapToLong(vers -> vers.downloads).sum()
+            );
+            gen.writeFieldName("packageTypes");
+            gen.writeArray(this.types.toArray(new String[]{}), 0, this.types.size());
+            gen.writeFieldName("versions");
+            gen.writeStartArray();
+            for (final Version vers : this.versions) {
+                vers.write(gen);
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
         }
     }
 
@@ -134,7 +179,7 @@ public final class SearchResults {
          * @param downloads The number of downloads for this specific package version
          * @param id The absolute URL to the associated registration leaf
          */
-        Version(final String value, final long downloads, final String id) {
+        public Version(final String value, final long downloads, final String id) {
             this.value = value;
             this.downloads = downloads;
             this.id = id;
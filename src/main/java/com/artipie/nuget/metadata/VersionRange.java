@@ -0,0 +1,246 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.metadata;
+
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+
+/**
+ * Version range of package dependency, for example {@code 1.0}, {@code [1.0, 2.0)}
+ * or {@code (, 2.0]}. Empty range accepts any version.
+ * See <a href="https://learn.microsoft.com/en-us/nuget/concepts/package-versioning#version-ranges">Version ranges</a>.
+ * Range is parsed once on construction, membership check takes two comparisons at most.
+ *
+ * @since 1.6
+ */
+public final class VersionRange implements NuspecField {
+
+    /**
+     * Raw value of range.
+     */
+    private final String val;
+
+    /**
+     * Lower bound, empty if range is not bounded from below.
+     */
+    private final Optional<Version> lower;
+
+    /**
+     * Is lower bound included.
+     */
+    private final boolean mininc;
+
+    /**
+     * Upper bound, empty if range is not bounded from above.
+     */
+    private final Optional<Version> upper;
+
+    /**
+     * Is upper bound included.
+     */
+    private final boolean maxinc;
+
+    /**
+     * Ctor.
+     *
+     * @param raw Raw value of range.
+     * @throws IllegalArgumentException If range is malformed.
+     * @checkstyle CyclomaticComplexityCheck (50 lines)
+     */
+    @SuppressWarnings("PMD.ConstructorOnlyInitializesOrCallOtherConstructors")
+    public VersionRange(final String raw) {
+        this.val = raw;
+        final String trimmed = raw.trim();
+        if (trimmed.isEmpty()) {
+            this.lower = Optional.empty();
+            this.mininc = false;
+            this.upper = Optional.empty();
+            this.maxinc = false;
+        } else if (trimmed.charAt(0) == '[' || trimmed.charAt(0) == '(') {
+            final char last = trimmed.charAt(trimmed.length() - 1);
+            if (trimmed.length() < 2 || last != ']' && last != ')') {
+                throw VersionRange.malformed(raw);
+            }
+            final String inner = trimmed.substring(1, trimmed.length() - 1);
+            final String[] bounds = inner.split(",", -1);
+            this.mininc = trimmed.charAt(0) == '[';
+            this.maxinc = last == ']';
+            if (bounds.length == 1) {
+                if (!this.mininc || !this.maxinc || inner.trim().isEmpty()) {
+                    throw VersionRange.malformed(raw);
+                }
+                this.lower = VersionRange.bound(raw, inner);
+                this.upper = this.lower;
+            } else if (bounds.length == 2) {
+                this.lower = VersionRange.bound(raw, bounds[0]);
+                this.upper = VersionRange.bound(raw, bounds[1]);
+            } else {
+                throw VersionRange.malformed(raw);
+            }
+        } else {
+            this.lower = VersionRange.bound(raw, trimmed);
+            this.mininc = true;
+            this.upper = Optional.empty();
+            this.maxinc = false;
+        }
+    }
+
+    @Override
+    public String raw() {
+        return this.val;
+    }
+
+    /**
+     * Normalized range, plain minimum version is written as {@code [1.0.0, )}.
+     *
+     * @return Normalized range.
+     */
+    @Override
+    public String normalized() {
+        final String res;
+        if (this.lower.isPresent() && this.lower.equals(this.upper)) {
+            res = String.format("[%s]", this.lower.get().normalized());
+        } else {
+            res = String.format(
+                "%s%s, %s%s",
+                this.mininc ? '[' : '(',
+                this.lower.map(Version::normalized).orElse(""),
+                this.upper.map(Version::normalized).orElse(""),
+                this.maxinc ? ']' : ')'
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Does version belong to the range.
+     *
+     * @param version Version.
+     * @return True if version satisfies the range.
+     */
+    public boolean satisfies(final Version version) {
+        return this.aboveLower(version) && this.belowUpper(version);
+    }
+
+    /**
+     * Lowest version of sorted list satisfying the range, found by binary search.
+     *
+     * @param sorted Versions sorted in ascending order.
+     * @return Best matching version, empty if there is no matching version.
+     */
+    public Optional<Version> bestMatch(final List<? extends Version> sorted) {
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (this.aboveLower(sorted.get(mid))) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        final Optional<Version> res;
+        if (low < sorted.size() && this.belowUpper(sorted.get(low))) {
+            res = Optional.of(sorted.get(low));
+        } else {
+            res = Optional.empty();
+        }
+        return res;
+    }
+
+    /**
+     * Lowest version of sorted set satisfying the range.
+     *
+     * @param sorted Versions.
+     * @return Best matching version, empty if there is no matching version.
+     */
+    public Optional<Version> bestMatch(final NavigableSet<Version> sorted) {
+        final Version candidate;
+        if (sorted.isEmpty()) {
+            candidate = null;
+        } else if (!this.lower.isPresent()) {
+            candidate = sorted.first();
+        } else if (this.mininc) {
+            candidate = sorted.ceiling(this.lower.get());
+        } else {
+            candidate = sorted.higher(this.lower.get());
+        }
+        return Optional.ofNullable(candidate).filter(this::belowUpper);
+    }
+
+    @Override
+    public String toString() {
+        return this.val;
+    }
+
+    /**
+     * Is version not lower than lower bound.
+     *
+     * @param version Version.
+     * @return True if version satisfies lower bound.
+     */
+    private boolean aboveLower(final Version version) {
+        return this.lower.map(
+            min -> {
+                final int cmp = version.compareTo(min);
+                return cmp > 0 || this.mininc && cmp == 0;
+            }
+        ).orElse(true);
+    }
+
+    /**
+     * Is version not greater than upper bound.
+     *
+     * @param version Version.
+     * @return True if version satisfies upper bound.
+     */
+    private boolean belowUpper(final Version version) {
+        return this.upper.map(
+            max -> {
+                final int cmp = version.compareTo(max);
+                return cmp < 0 || this.maxinc && cmp == 0;
+            }
+        ).orElse(true);
+    }
+
+    /**
+     * Parse range bound.
+     *
+     * @param raw Raw value of range.
+     * @param bound Bound text.
+     * @return Bound version, empty if bound is not specified.
+     */
+    private static Optional<Version> bound(final String raw, final String bound) {
+        final String trimmed = bound.trim();
+        final Optional<Version> res;
+        if (trimmed.isEmpty()) {
+            res = Optional.empty();
+        } else {
+            final Version version = new Version(trimmed);
+            try {
+                version.normalized();
+            } catch (final IllegalStateException ex) {
+                throw new IllegalArgumentException(
+                    String.format("Unexpected version range format: %s", raw), ex
+                );
+            }
+            res = Optional.of(version);
+        }
+        return res;
+    }
+
+    /**
+     * Malformed range error.
+     *
+     * @param raw Raw value of range.
+     * @return Exception.
+     */
+    private static IllegalArgumentException malformed(final String raw) {
+        return new IllegalArgumentException(
+            String.format("Unexpected version range format: %s", raw)
+        );
+    }
+}
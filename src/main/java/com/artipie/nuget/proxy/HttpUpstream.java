@@ -0,0 +1,153 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.proxy;
+
+import com.artipie.asto.ArtipieIOException;
+import com.artipie.asto.Content;
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Upstream feed accessed over HTTP.
+ * Requests are blocking, so they are executed by dedicated daemon threads.
+ * Response body is not buffered, it is read from connection while it is consumed.
+ *
+ * @since 1.6
+ */
+public final class HttpUpstream implements Upstream {
+
+    /**
+     * Default connect and read timeout.
+     */
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Copy buffer size.
+     */
+    private static final int BUFFER = 8192;
+
+    /**
+     * Connect and read timeout.
+     */
+    private final Duration timeout;
+
+    /**
+     * Requests executor.
+     */
+    private final ExecutorService exec;
+
+    /**
+     * Ctor with default timeout.
+     */
+    public HttpUpstream() {
+        this(HttpUpstream.TIMEOUT);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param timeout Connect and read timeout.
+     */
+    public HttpUpstream(final Duration timeout) {
+        this.timeout = timeout;
+        this.exec = Executors.newCachedThreadPool(
+            runnable -> {
+                final Thread thread = new Thread(runnable, "nuget-upstream");
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+    }
+
+    @Override
+    public CompletionStage<Optional<Content>> get(final URI uri) {
+        return CompletableFuture.supplyAsync(() -> this.fetch(uri), this.exec);
+    }
+
+    /**
+     * Fetch resource. Connection is kept open while response body is read.
+     *
+     * @param uri Resource URI.
+     * @return Resource content, empty if resource is not found.
+     */
+    private Optional<Content> fetch(final URI uri) {
+        try {
+            final HttpURLConnection conn = (HttpURLConnection) uri.toURL().openConnection();
+            boolean streamed = false;
+            try {
+                conn.setConnectTimeout((int) this.timeout.toMillis());
+                conn.setReadTimeout((int) this.timeout.toMillis());
+                conn.setInstanceFollowRedirects(true);
+                final int code = conn.getResponseCode();
+                final Optional<Content> res;
+                if (code == HttpURLConnection.HTTP_NOT_FOUND
+                    || code == HttpURLConnection.HTTP_GONE) {
+                    res = Optional.empty();
+                } else if (code >= HttpURLConnection.HTTP_OK
+                    && code < HttpURLConnection.HTTP_MULT_CHOICE) {
+                    final long length = conn.getContentLengthLong();
+                    final Optional<Long> size;
+                    if (length >= 0) {
+                        size = Optional.of(length);
+                    } else {
+                        size = Optional.empty();
+                    }
+                    res = Optional.of(new Content.From(size, this.body(conn)));
+                    streamed = true;
+                } else {
+                    throw new ArtipieIOException(
+                        String.format("Upstream responded with %d for %s", code, uri)
+                    );
+                }
+                return res;
+            } finally {
+                if (!streamed) {
+                    conn.disconnect();
+                }
+            }
+        } catch (final IOException ex) {
+            throw new ArtipieIOException(ex);
+        }
+    }
+
+    /**
+     * Response body read in chunks as it is consumed, connection is released
+     * once the body is read or reading fails.
+     *
+     * @param conn Connection.
+     * @return Body publisher.
+     */
+    private Flowable<ByteBuffer> body(final HttpURLConnection conn) {
+        return Flowable.<ByteBuffer, InputStream>using(
+            conn::getInputStream,
+            input -> Flowable.generate(
+                emitter -> {
+                    final byte[] buf = new byte[HttpUpstream.BUFFER];
+                    final int read = input.read(buf);
+                    if (read < 0) {
+                        emitter.onComplete();
+                    } else {
+                        emitter.onNext(ByteBuffer.wrap(buf, 0, read));
+                    }
+                }
+            ),
+            input -> {
+                input.close();
+                conn.disconnect();
+            }
+        ).subscribeOn(Schedulers.from(this.exec));
+    }
+}
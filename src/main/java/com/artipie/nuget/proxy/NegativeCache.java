@@ -0,0 +1,90 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.proxy;
+
+import com.artipie.asto.Key;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Cache of resources upstream reported as absent.
+ * Cache is bounded by size and expires entries after time to live,
+ * so package published to upstream becomes visible after TTL at most.
+ * Keys are case-insensitive as upstream paths are.
+ * Lookups are recorded, hit rate is available from {@link #stats()}.
+ *
+ * @since 1.6
+ */
+public final class NegativeCache {
+
+    /**
+     * Default max number of entries.
+     */
+    private static final long SIZE = 10_000L;
+
+    /**
+     * Absent resources keys.
+     */
+    private final Cache<String, Boolean> absent;
+
+    /**
+     * Ctor with default settings: up to ten thousand entries kept for five minutes.
+     */
+    public NegativeCache() {
+        this(Duration.ofMinutes(5), NegativeCache.SIZE);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param ttl Time to live of entry.
+     * @param size Max number of entries.
+     */
+    public NegativeCache(final Duration ttl, final long size) {
+        this.absent = CacheBuilder.newBuilder()
+            .maximumSize(size).expireAfterWrite(ttl).recordStats().build();
+    }
+
+    /**
+     * Statistics of lookups.
+     *
+     * @return Cache statistics.
+     */
+    public CacheStats stats() {
+        return this.absent.stats();
+    }
+
+    /**
+     * Was resource reported absent by upstream recently.
+     *
+     * @param key Resource key.
+     * @return True if resource is known to be absent.
+     */
+    boolean contains(final Key key) {
+        return this.absent.getIfPresent(NegativeCache.name(key)) != null;
+    }
+
+    /**
+     * Remember resource is absent in upstream.
+     *
+     * @param key Resource key.
+     */
+    void add(final Key key) {
+        this.absent.put(NegativeCache.name(key), Boolean.TRUE);
+    }
+
+    /**
+     * Cache entry name of resource key.
+     *
+     * @param key Resource key.
+     * @return Lower case key string.
+     */
+    private static String name(final Key key) {
+        return key.string().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,488 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.proxy;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.nuget.AstoRepository;
+import com.artipie.nuget.Hash;
+import com.artipie.nuget.PackageIdentity;
+import com.artipie.nuget.PackageKeys;
+import com.artipie.nuget.ReadOnlyRepositoryException;
+import com.artipie.nuget.Repository;
+import com.artipie.nuget.Versions;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.NuspecField;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import com.jcabi.log.Logger;
+import java.io.StringReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonValue;
+
+/**
+ * Read-only NuGet repository proxying upstream feed.
+ * Upstream package base address is discovered from its service index.
+ * Package versions registry, nuspec and nupkg are fetched from upstream on first access
+ * and cached in storage: packages content never changes, so it is fetched once,
+ * versions registry is served from cache and revalidated in background once it is
+ * older than TTL (stale-while-revalidate). Registrations are built from cached data.
+ * Resources upstream does not have are remembered in {@link NegativeCache}.
+ * To serve the proxy, use {@link com.artipie.nuget.http.NuGet} with this repository.
+ *
+ * @since 1.6
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class ProxyRepository implements Repository {
+
+    /**
+     * Service type of package base address.
+     */
+    private static final String BASE = "PackageBaseAddress/3.0.0";
+
+    /**
+     * Package file extension.
+     */
+    private static final String NUPKG = ".nupkg";
+
+    /**
+     * Package hash file extension.
+     */
+    private static final String SHA512 = ".sha512";
+
+    /**
+     * Location of packages being downloaded from upstream.
+     */
+    private static final Key TEMP = new Key.From(".proxy");
+
+    /**
+     * Upstream feed.
+     */
+    private final Upstream upstream;
+
+    /**
+     * Upstream service index.
+     */
+    private final URI index;
+
+    /**
+     * Cache storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Repository over cache storage.
+     */
+    private final Repository cache;
+
+    /**
+     * Metadata time to live.
+     */
+    private final Duration ttl;
+
+    /**
+     * Time of last fetch of metadata by key.
+     */
+    private final ConcurrentMap<String, Instant> fetched;
+
+    /**
+     * Fetches in progress by key.
+     */
+    private final ConcurrentMap<String, CompletableFuture<Void>> inflight;
+
+    /**
+     * Resources upstream reported as absent.
+     */
+    private final NegativeCache misses;
+
+    /**
+     * Upstream package base address.
+     */
+    private final AtomicReference<CompletableFuture<URI>> address;
+
+    /**
+     * Ctor with default negative cache.
+     *
+     * @param upstream Upstream feed.
+     * @param index Upstream service index.
+     * @param storage Cache storage.
+     * @param ttl Metadata time to live.
+     */
+    public ProxyRepository(final Upstream upstream, final URI index, final Storage storage,
+        final Duration ttl) {
+        this(upstream, index, storage, ttl, new NegativeCache());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param upstream Upstream feed.
+     * @param index Upstream service index.
+     * @param storage Cache storage.
+     * @param ttl Metadata time to live.
+     * @param misses Resources upstream reported as absent.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public ProxyRepository(final Upstream upstream, final URI index, final Storage storage,
+        final Duration ttl, final NegativeCache misses) {
+        this.upstream = upstream;
+        this.index = index;
+        this.storage = storage;
+        this.cache = new AstoRepository(storage);
+        this.ttl = ttl;
+        this.fetched = new ConcurrentHashMap<>();
+        this.inflight = new ConcurrentHashMap<>();
+        this.misses = misses;
+        this.address = new AtomicReference<>();
+    }
+
+    @Override
+    public CompletionStage<Optional<Content>> content(final Key key) {
+        return this.cached(key).thenCompose(nothing -> this.cache.content(key));
+    }
+
+    @Override
+    public CompletionStage<Optional<Long>> size(final Key key) {
+        return this.cached(key).thenCompose(nothing -> this.cache.size(key));
+    }
+
+    @Override
+    public CompletionStage<PackageInfo> add(final Content content) {
+        final CompletableFuture<PackageInfo> res = new CompletableFuture<>();
+        res.completeExceptionally(
+            new ReadOnlyRepositoryException("Proxy repository is read-only")
+        );
+        return res;
+    }
+
+    @Override
+    public CompletionStage<Versions> versions(final PackageKeys id) {
+        return this.metadata(id.versionsKey()).thenCompose(nothing -> this.cache.versions(id));
+    }
+
+    @Override
+    public CompletionStage<Nuspec> nuspec(final PackageIdentity identity) {
+        return this.immutable(identity.nuspecKey())
+            .thenCompose(nothing -> this.cache.nuspec(identity));
+    }
+
+    @Override
+    public CompletionStage<Collection<NuspecField>> packages() {
+        return this.cache.packages();
+    }
+
+    @Override
+    public Optional<Storage> storage() {
+        return this.cache.storage();
+    }
+
+    /**
+     * Make sure resource is cached if upstream has it.
+     * Package files are cached once, versions registry is revalidated.
+     *
+     * @param key Resource key.
+     * @return Completion of caching.
+     */
+    private CompletionStage<Void> cached(final Key key) {
+        final List<String> parts = new Key.From(key).parts();
+        final String name = parts.get(parts.size() - 1);
+        final CompletionStage<Void> res;
+        if (parts.size() == 2 && "index.json".equals(name)) {
+            res = this.metadata(key);
+        } else if (parts.size() == 3
+            && name.endsWith(ProxyRepository.NUPKG + ProxyRepository.SHA512)) {
+            final String str = key.string();
+            res = this.immutable(
+                new Key.From(str.substring(0, str.length() - ProxyRepository.SHA512.length()))
+            );
+        } else if (parts.size() == 3
+            && (name.endsWith(ProxyRepository.NUPKG) || name.endsWith(".nuspec"))) {
+            res = this.immutable(key);
+        } else {
+            res = CompletableFuture.completedFuture(null);
+        }
+        return res;
+    }
+
+    /**
+     * Cache metadata: fetch it if it is not cached yet, otherwise serve cached one
+     * and refresh it in background if it is stale.
+     *
+     * @param key Metadata key.
+     * @return Completion of caching.
+     */
+    private CompletionStage<Void> metadata(final Key key) {
+        return this.storage.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<Void> res;
+                if (exists) {
+                    final Instant last = this.fetched.get(key.string());
+                    if (last == null || !last.plus(this.ttl).isAfter(Instant.now())) {
+                        this.once(key, () -> this.refresh(key)).exceptionally(
+                            err -> {
+                                Logger.warn(
+                                    ProxyRepository.class,
+                                    "Failed to revalidate %s: %[exception]s", key.string(), err
+                                );
+                                return null;
+                            }
+                        );
+                    }
+                    res = CompletableFuture.completedFuture(null);
+                } else {
+                    res = this.once(key, () -> this.refresh(key));
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Fetch metadata from upstream and save it to cache.
+     *
+     * @param key Metadata key.
+     * @return Completion of fetch.
+     */
+    private CompletionStage<Void> refresh(final Key key) {
+        final Instant started = Instant.now();
+        return this.fetch(key).thenCompose(
+            content -> content.map(data -> this.storage.save(key, data))
+                .orElse(CompletableFuture.completedFuture(null))
+        ).thenRun(() -> this.fetched.put(key.string(), started));
+    }
+
+    /**
+     * Cache immutable package file if it is not cached yet.
+     * Package is streamed to storage under temporary key, its hash is calculated
+     * from stored content and saved before the package is moved in place,
+     * so cached package always has a hash.
+     *
+     * @param key Package file key.
+     * @return Completion of caching.
+     */
+    private CompletionStage<Void> immutable(final Key key) {
+        return this.storage.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<Void> res;
+                if (exists) {
+                    res = CompletableFuture.completedFuture(null);
+                } else {
+                    res = this.once(
+                        key,
+                        () -> this.fetch(key).thenCompose(
+                            content -> content.map(data -> this.save(key, data))
+                                .orElse(CompletableFuture.completedFuture(null))
+                        )
+                    );
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Save package file to cache.
+     *
+     * @param key Package file key.
+     * @param content Package file content.
+     * @return Completion of save.
+     */
+    private CompletionStage<Void> save(final Key key, final Content content) {
+        final CompletionStage<Void> res;
+        if (key.string().endsWith(ProxyRepository.NUPKG)) {
+            final List<String> parts = new Key.From(key).parts();
+            final Key temp = new Key.From(ProxyRepository.TEMP, UUID.randomUUID().toString());
+            res = this.storage.save(temp, content).thenCompose(
+                nothing -> this.storage.value(temp)
+            ).thenCompose(
+                stored -> new Hash(stored).save(
+                    this.storage,
+                    new PackageIdentity(new PackageId(parts.get(0)), new Version(parts.get(1)))
+                )
+            ).thenCompose(
+                nothing -> this.storage.move(temp, key)
+            ).handle(
+                (nothing, err) -> {
+                    final CompletionStage<Void> done;
+                    if (err == null) {
+                        done = CompletableFuture.completedFuture(null);
+                    } else {
+                        done = this.discard(temp, err);
+                    }
+                    return done;
+                }
+            ).thenCompose(Function.identity());
+        } else {
+            res = this.storage.save(key, content);
+        }
+        return res;
+    }
+
+    /**
+     * Remove package left after failed download and fail with the download error.
+     *
+     * @param temp Temporary package key.
+     * @param err Download error.
+     * @return Failed completion.
+     */
+    private CompletionStage<Void> discard(final Key temp, final Throwable err) {
+        return this.storage.exists(temp).thenCompose(
+            exists -> {
+                final CompletionStage<Void> res;
+                if (exists) {
+                    res = this.storage.delete(temp);
+                } else {
+                    res = CompletableFuture.completedFuture(null);
+                }
+                return res;
+            }
+        ).thenRun(
+            () -> {
+                if (err instanceof CompletionException) {
+                    throw (CompletionException) err;
+                }
+                throw new CompletionException(err);
+            }
+        );
+    }
+
+    /**
+     * Run action unless the same action for the key is in progress,
+     * in that case join the running one.
+     *
+     * @param key Resource key.
+     * @param action Action.
+     * @return Completion of action.
+     */
+    private CompletableFuture<Void> once(final Key key,
+        final Supplier<CompletionStage<Void>> action) {
+        final CompletableFuture<Void> fresh = new CompletableFuture<>();
+        final CompletableFuture<Void> running = this.inflight.putIfAbsent(key.string(), fresh);
+        final CompletableFuture<Void> res;
+        if (running == null) {
+            action.get().whenComplete(
+                (nothing, err) -> {
+                    this.inflight.remove(key.string(), fresh);
+                    if (err == null) {
+                        fresh.complete(null);
+                    } else {
+                        fresh.completeExceptionally(err);
+                    }
+                }
+            );
+            res = fresh;
+        } else {
+            res = running;
+        }
+        return res;
+    }
+
+    /**
+     * Fetch resource from upstream package base address.
+     * Resource keys are the same as upstream paths except of the case.
+     * Resources recently reported as absent are not requested again.
+     *
+     * @param key Resource key.
+     * @return Resource content, empty if upstream does not have it.
+     */
+    private CompletionStage<Optional<Content>> fetch(final Key key) {
+        final CompletionStage<Optional<Content>> res;
+        if (this.misses.contains(key)) {
+            res = CompletableFuture.completedFuture(Optional.empty());
+        } else {
+            res = this.base().thenCompose(
+                base -> this.upstream.get(base.resolve(key.string().toLowerCase(Locale.ROOT)))
+            ).thenApply(
+                content -> {
+                    if (!content.isPresent()) {
+                        this.misses.add(key);
+                    }
+                    return content;
+                }
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Upstream package base address discovered from service index.
+     * Discovery is done once and retried on next call if it failed.
+     *
+     * @return Package base address with trailing slash.
+     */
+    private CompletionStage<URI> base() {
+        CompletableFuture<URI> current = this.address.get();
+        if (current == null || current.isCompletedExceptionally()) {
+            final CompletableFuture<URI> fresh = new CompletableFuture<>();
+            if (this.address.compareAndSet(current, fresh)) {
+                this.upstream.get(this.index).thenCompose(
+                    content -> new PublisherAs(
+                        content.orElseThrow(
+                            () -> new IllegalStateException(
+                                String.format("Upstream service index not found: %s", this.index)
+                            )
+                        )
+                    ).string(StandardCharsets.UTF_8)
+                ).thenApply(this::base).whenComplete(
+                    (uri, err) -> {
+                        if (err == null) {
+                            fresh.complete(uri);
+                        } else {
+                            fresh.completeExceptionally(err);
+                        }
+                    }
+                );
+            }
+            current = this.address.get();
+        }
+        return current;
+    }
+
+    /**
+     * Find package base address in service index.
+     *
+     * @param json Service index JSON.
+     * @return Package base address with trailing slash.
+     */
+    private URI base(final String json) {
+        final JsonObject doc;
+        try (JsonReader reader = Json.createReader(new StringReader(json))) {
+            doc = reader.readObject();
+        }
+        return doc.getJsonArray("resources").stream()
+            .map(JsonValue::asJsonObject)
+            .filter(res -> ProxyRepository.BASE.equals(res.getString("@type", "")))
+            .map(res -> res.getString("@id"))
+            .map(uri -> this.index.resolve(uri.endsWith("/") ? uri : String.format("%s/", uri)))
+            .findFirst()
+            .orElseThrow(
+                () -> new IllegalStateException(
+                    String.format("%s is not found in %s", ProxyRepository.BASE, this.index)
+                )
+            );
+    }
+}
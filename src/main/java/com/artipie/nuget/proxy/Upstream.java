@@ -0,0 +1,26 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.proxy;
+
+import com.artipie.asto.Content;
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Upstream NuGet feed.
+ *
+ * @since 1.6
+ */
+public interface Upstream {
+
+    /**
+     * Fetch resource from upstream.
+     *
+     * @param uri Absolute resource URI.
+     * @return Resource content, empty if upstream does not have the resource.
+     */
+    CompletionStage<Optional<Content>> get(URI uri);
+}
@@ -0,0 +1,117 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix tree of normalized package ids.
+ * Keys are enumerated in lexicographical order.
+ *
+ * @since 1.6
+ */
+final class IdTrie {
+
+    /**
+     * Root node.
+     */
+    private final Node root;
+
+    /**
+     * Lock.
+     */
+    private final ReadWriteLock lock;
+
+    /**
+     * Ctor.
+     */
+    IdTrie() {
+        this.root = new Node();
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+    /**
+     * Add key.
+     *
+     * @param key Normalized package id.
+     */
+    void add(final String key) {
+        this.lock.writeLock().lock();
+        try {
+            Node node = this.root;
+            for (int idx = 0; idx < key.length(); idx = idx + 1) {
+                node = node.children.computeIfAbsent(key.charAt(idx), chr -> new Node());
+            }
+            node.terminal = true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Keys starting with prefix.
+     *
+     * @param prefix Prefix.
+     * @return Keys in lexicographical order.
+     */
+    List<String> keys(final String prefix) {
+        this.lock.readLock().lock();
+        try {
+            Node node = this.root;
+            for (int idx = 0; idx < prefix.length() && node != null; idx = idx + 1) {
+                node = node.children.get(prefix.charAt(idx));
+            }
+            final List<String> res = new ArrayList<>(0);
+            if (node != null) {
+                IdTrie.collect(node, new StringBuilder(prefix), res);
+            }
+            return res;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Collect keys of the subtree.
+     *
+     * @param node Subtree root.
+     * @param path Path to subtree root.
+     * @param res Where to collect keys.
+     */
+    private static void collect(final Node node, final StringBuilder path,
+        final List<String> res) {
+        if (node.terminal) {
+            res.add(path.toString());
+        }
+        for (final Map.Entry<Character, Node> child : node.children.entrySet()) {
+            path.append(child.getKey().charValue());
+            IdTrie.collect(child.getValue(), path, res);
+            path.setLength(path.length() - 1);
+        }
+    }
+
+    /**
+     * Trie node.
+     *
+     * @since 1.6
+     */
+    private static final class Node {
+
+        /**
+         * Children by next character.
+         */
+        private final Map<Character, Node> children = new TreeMap<>();
+
+        /**
+         * Whether node ends a key.
+         */
+        private boolean terminal;
+    }
+}
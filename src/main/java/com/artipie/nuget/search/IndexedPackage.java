@@ -0,0 +1,271 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.search;
+
+import com.artipie.ArtipieException;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.OptFieldName;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Indexed package: versions and searchable metadata of the latest version.
+ * IndexedPackage is immutable, adding a version creates a new entry.
+ *
+ * @since 1.6
+ */
+final class IndexedPackage {
+
+    /**
+     * Default package type.
+     */
+    private static final String DEPENDENCY = "Dependency";
+
+    /**
+     * Package id as in the latest version.
+     */
+    private final String id;
+
+    /**
+     * Package types of the latest version.
+     */
+    private final Collection<String> types;
+
+    /**
+     * Tokens of the latest version metadata.
+     */
+    private final Set<String> tkns;
+
+    /**
+     * Package versions.
+     */
+    private final TreeSet<Version> versions;
+
+    /**
+     * Ctor.
+     *
+     * @param nuspec Package description.
+     */
+    IndexedPackage(final Nuspec nuspec) {
+        this(nuspec, new TreeSet<>(Collections.singleton(IndexedPackage.version(nuspec))));
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param nuspec Description of the latest version.
+     * @param versions Package versions.
+     */
+    private IndexedPackage(final Nuspec nuspec, final TreeSet<Version> versions) {
+        this.id = nuspec.id().raw();
+        this.types = IndexedPackage.types(nuspec);
+        this.tkns = IndexedPackage.tokens(nuspec);
+        this.versions = versions;
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param id Package id as in the latest version.
+     * @param types Package types of the latest version.
+     * @param tokens Tokens of the latest version metadata.
+     * @param versions Package versions.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    IndexedPackage(final String id, final Collection<String> types,
+        final Set<String> tokens, final TreeSet<Version> versions) {
+        this.id = id;
+        this.types = Collections.unmodifiableCollection(types);
+        this.tkns = Collections.unmodifiableSet(tokens);
+        this.versions = versions;
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin IndexedPackage to take metadata from.
+     * @param versions Package versions.
+     */
+    private IndexedPackage(final IndexedPackage origin, final TreeSet<Version> versions) {
+        this.id = origin.id;
+        this.types = origin.types;
+        this.tkns = origin.tkns;
+        this.versions = versions;
+    }
+
+    /**
+     * Package id as in the latest version.
+     *
+     * @return Package id.
+     */
+    @SuppressWarnings("PMD.ShortMethodName")
+    String id() {
+        return this.id;
+    }
+
+    /**
+     * Normalized package id.
+     *
+     * @return Lower case package id.
+     */
+    String key() {
+        return new PackageId(this.id).normalized();
+    }
+
+    /**
+     * Package types of the latest version.
+     *
+     * @return Types names.
+     */
+    Collection<String> types() {
+        return this.types;
+    }
+
+    /**
+     * Package versions.
+     *
+     * @return Versions from lowest to highest.
+     */
+    Collection<Version> versions() {
+        return Collections.unmodifiableSet(this.versions);
+    }
+
+    /**
+     * Searchable tokens of the latest version metadata.
+     *
+     * @return Tokens.
+     */
+    Set<String> tokens() {
+        return this.tkns;
+    }
+
+    /**
+     * Add version to entry. Metadata is taken from the added version
+     * if it is the highest one.
+     *
+     * @param nuspec Package version description.
+     * @return Updated entry.
+     */
+    IndexedPackage with(final Nuspec nuspec) {
+        final Version version = IndexedPackage.version(nuspec);
+        final TreeSet<Version> copy = new TreeSet<>(this.versions);
+        copy.add(version);
+        final IndexedPackage res;
+        if (version.compareTo(this.versions.last()) >= 0) {
+            res = new IndexedPackage(nuspec, copy);
+        } else {
+            res = new IndexedPackage(this, copy);
+        }
+        return res;
+    }
+
+    /**
+     * Merge with another record of the same package. Metadata is taken from
+     * the record with the highest version.
+     *
+     * @param other Another record of the package.
+     * @return Merged entry.
+     */
+    IndexedPackage with(final IndexedPackage other) {
+        final TreeSet<Version> copy = new TreeSet<>(this.versions);
+        copy.addAll(other.versions);
+        final IndexedPackage res;
+        if (other.versions.last().compareTo(this.versions.last()) > 0) {
+            res = new IndexedPackage(other, copy);
+        } else {
+            res = new IndexedPackage(this, copy);
+        }
+        return res;
+    }
+
+    /**
+     * Search hit from entry.
+     *
+     * @param prerelease Include pre-release versions.
+     * @return Hit, empty if there are no suitable versions.
+     */
+    Optional<SearchIndex.Hit> hit(final boolean prerelease) {
+        final List<String> list = this.versions.stream()
+            .filter(version -> prerelease || !version.isPrerelease())
+            .map(Version::normalized)
+            .collect(Collectors.toList());
+        final Optional<SearchIndex.Hit> res;
+        if (list.isEmpty()) {
+            res = Optional.empty();
+        } else {
+            res = Optional.of(new SearchIndex.Hit(this.id, this.types, list));
+        }
+        return res;
+    }
+
+    /**
+     * Package version.
+     *
+     * @param nuspec Package description.
+     * @return Version.
+     */
+    private static Version version(final Nuspec nuspec) {
+        return new Version(nuspec.version().raw());
+    }
+
+    /**
+     * Package types names.
+     *
+     * @param nuspec Package description.
+     * @return Types names.
+     */
+    private static Collection<String> types(final Nuspec nuspec) {
+        final Collection<String> res = nuspec.packageTypes().stream()
+            .map(type -> type.split(":")[0])
+            .filter(name -> !name.isEmpty())
+            .collect(Collectors.toCollection(ArrayList::new));
+        if (res.isEmpty()) {
+            res.add(IndexedPackage.DEPENDENCY);
+        }
+        return Collections.unmodifiableCollection(res);
+    }
+
+    /**
+     * Searchable tokens: full id, tokens of id, title, tags and description.
+     *
+     * @param nuspec Package description.
+     * @return Tokens.
+     */
+    private static Set<String> tokens(final Nuspec nuspec) {
+        final Set<String> res = new HashSet<>();
+        res.add(nuspec.id().normalized());
+        res.addAll(SearchIndex.tokens(nuspec.id().raw()));
+        nuspec.fieldByName(OptFieldName.TITLE).map(SearchIndex::tokens).ifPresent(res::addAll);
+        nuspec.fieldByName(OptFieldName.TAGS).map(SearchIndex::tokens).ifPresent(res::addAll);
+        IndexedPackage.description(nuspec).map(SearchIndex::tokens).ifPresent(res::addAll);
+        return Collections.unmodifiableSet(res);
+    }
+
+    /**
+     * Package description, description is required by nuspec schema
+     * but is not validated on upload.
+     *
+     * @param nuspec Package description.
+     * @return Description text if present.
+     */
+    private static Optional<String> description(final Nuspec nuspec) {
+        Optional<String> res;
+        try {
+            res = Optional.of(nuspec.description());
+        } catch (final ArtipieException ignored) {
+            res = Optional.empty();
+        }
+        return res;
+    }
+}
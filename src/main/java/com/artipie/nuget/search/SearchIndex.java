@@ -0,0 +1,468 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.search;
+
+import com.artipie.asto.Storage;
+import com.artipie.nuget.PackageIdentity;
+import com.artipie.nuget.PackageKeys;
+import com.artipie.nuget.PublishListener;
+import com.artipie.nuget.Repository;
+import com.artipie.nuget.Versions;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.NuspecField;
+import com.artipie.nuget.metadata.PackageId;
+import com.jcabi.log.Logger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index of packages for search.
+ * Index maps tokens of package id, title, tags and description of the latest package version
+ * to package ids. Index is populated on first use and updated incrementally on publish.
+ * Updates are serialized, lookups are lock-free.
+ * When storage for segments is provided, index is persisted as immutable segments
+ * and populated from them, stored nuspecs are scanned only if there are no segments yet.
+ *
+ * @since 1.6
+ */
+public final class SearchIndex implements PublishListener {
+
+    /**
+     * Repository to populate index from.
+     */
+    private final Repository repository;
+
+    /**
+     * Persisted segments.
+     */
+    private final Optional<Segments> segments;
+
+    /**
+     * Indexed packages by normalized id.
+     */
+    private final ConcurrentMap<String, IndexedPackage> entries;
+
+    /**
+     * Postings: token to normalized package ids.
+     */
+    private final ConcurrentNavigableMap<String, Set<String>> postings;
+
+    /**
+     * Prefix tree of normalized package ids.
+     */
+    private final IdTrie trie;
+
+    /**
+     * Index population from repository.
+     */
+    private final AtomicReference<CompletableFuture<Void>> loading;
+
+    /**
+     * Ctor.
+     *
+     * @param repository Repository to populate index from.
+     */
+    public SearchIndex(final Repository repository) {
+        this(repository, Optional.empty());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param repository Repository to populate index from.
+     * @param storage Storage to persist index segments.
+     */
+    public SearchIndex(final Repository repository, final Storage storage) {
+        this(repository, Optional.of(new Segments(storage)));
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param repository Repository to populate index from.
+     * @param segments Persisted segments.
+     */
+    private SearchIndex(final Repository repository, final Optional<Segments> segments) {
+        this.repository = repository;
+        this.segments = segments;
+        this.entries = new ConcurrentHashMap<>();
+        this.postings = new ConcurrentSkipListMap<>();
+        this.trie = new IdTrie();
+        this.loading = new AtomicReference<>();
+    }
+
+    @Override
+    public CompletionStage<Void> published(final Nuspec nuspec) {
+        return this.ready().thenCompose(
+            ready -> {
+                final IndexedPackage updated = this.update(nuspec);
+                return this.segments.map(
+                    segs -> segs.append(Collections.singleton(updated)).thenRun(
+                        () -> {
+                            if (segs.crowded()) {
+                                segs.merge();
+                            }
+                        }
+                    )
+                ).orElse(CompletableFuture.completedFuture(null));
+            }
+        );
+    }
+
+    /**
+     * Index is populated from segments or repository. Population is started on first call
+     * and restarted on next call if it failed.
+     *
+     * @return Completion of index population.
+     */
+    public CompletionStage<Void> ready() {
+        CompletableFuture<Void> current = this.loading.get();
+        if (current == null || current.isCompletedExceptionally()) {
+            final CompletableFuture<Void> fresh = new CompletableFuture<>();
+            if (this.loading.compareAndSet(current, fresh)) {
+                this.load().whenComplete(
+                    (nothing, err) -> {
+                        if (err == null) {
+                            fresh.complete(null);
+                        } else {
+                            fresh.completeExceptionally(err);
+                        }
+                    }
+                );
+            }
+            current = this.loading.get();
+        }
+        return current;
+    }
+
+    /**
+     * Add package version to index.
+     *
+     * @param nuspec Package description.
+     */
+    public void add(final Nuspec nuspec) {
+        this.update(nuspec);
+    }
+
+    /**
+     * Add package version to index.
+     *
+     * @param nuspec Package description.
+     * @return Updated indexed package.
+     */
+    private IndexedPackage update(final Nuspec nuspec) {
+        final String key = nuspec.id().normalized();
+        synchronized (this.postings) {
+            final IndexedPackage existing = this.entries.get(key);
+            final IndexedPackage updated;
+            if (existing == null) {
+                updated = new IndexedPackage(nuspec);
+            } else {
+                updated = existing.with(nuspec);
+            }
+            this.put(key, updated);
+            return updated;
+        }
+    }
+
+    /**
+     * Put package into index replacing the existing one.
+     *
+     * @param key Normalized package id.
+     * @param pkg Indexed package.
+     */
+    private void put(final String key, final IndexedPackage pkg) {
+        synchronized (this.postings) {
+            final IndexedPackage existing = this.entries.get(key);
+            if (existing != null) {
+                for (final String token : existing.tokens()) {
+                    final Set<String> ids = this.postings.get(token);
+                    if (ids != null && !pkg.tokens().contains(token)) {
+                        ids.remove(key);
+                        if (ids.isEmpty()) {
+                            this.postings.remove(token);
+                        }
+                    }
+                }
+            }
+            for (final String token : pkg.tokens()) {
+                this.postings.computeIfAbsent(token, tkn -> ConcurrentHashMap.newKeySet())
+                    .add(key);
+            }
+            this.entries.put(key, pkg);
+            this.trie.add(key);
+        }
+    }
+
+    /**
+     * Search packages. Every query term should match beginning of some token of the package,
+     * empty query matches all packages. Package with id equal to query goes first,
+     * other packages are sorted by id.
+     *
+     * @param query Search query.
+     * @param prerelease Include pre-release versions.
+     * @return Found packages.
+     */
+    public List<Hit> search(final String query, final boolean prerelease) {
+        return this.hits(query, prerelease).collect(Collectors.toList());
+    }
+
+    /**
+     * Search packages lazily. Only matching ids are sorted up front,
+     * hits are built as the stream is consumed.
+     *
+     * @param query Search query.
+     * @param prerelease Include pre-release versions.
+     * @return Stream of found packages in the same order as {@link #search(String, boolean)}.
+     */
+    public Stream<Hit> hits(final String query, final boolean prerelease) {
+        final List<String> terms = SearchIndex.tokens(query);
+        final Collection<String> ids;
+        if (terms.isEmpty()) {
+            ids = this.entries.keySet();
+        } else {
+            ids = this.matching(terms);
+        }
+        final String exact = new PackageId(query.trim()).normalized();
+        return ids.stream()
+            .sorted(
+                Comparator.comparing((String key) -> !exact.equals(key))
+                    .thenComparing(Comparator.naturalOrder())
+            )
+            .map(this.entries::get)
+            .filter(Objects::nonNull)
+            .map(entry -> entry.hit(prerelease))
+            .filter(Optional::isPresent)
+            .map(Optional::get);
+    }
+
+    /**
+     * Package ids starting with prefix, case-insensitive.
+     *
+     * @param prefix Id prefix.
+     * @param prerelease Include packages having pre-release versions only.
+     * @return Package ids sorted in lexicographical order.
+     */
+    public List<String> ids(final String prefix, final boolean prerelease) {
+        return this.trie.keys(new PackageId(prefix).normalized()).stream()
+            .map(this.entries::get)
+            .filter(Objects::nonNull)
+            .map(pkg -> pkg.hit(prerelease))
+            .filter(Optional::isPresent)
+            .map(hit -> hit.get().id())
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Versions of package.
+     *
+     * @param id Package id, case-insensitive.
+     * @param prerelease Include pre-release versions.
+     * @return Normalized versions from lowest to highest, empty if package is unknown.
+     */
+    public List<String> versions(final String id, final boolean prerelease) {
+        return Optional.ofNullable(this.entries.get(new PackageId(id).normalized()))
+            .flatMap(pkg -> pkg.hit(prerelease))
+            .map(Hit::versions)
+            .orElse(Collections.emptyList());
+    }
+
+    /**
+     * Find package ids matching all terms.
+     *
+     * @param terms Query terms.
+     * @return Normalized package ids.
+     */
+    private Set<String> matching(final List<String> terms) {
+        Set<String> found = null;
+        for (final String term : terms) {
+            final Set<String> matched = new HashSet<>();
+            this.postings.subMap(term, true, term + Character.MAX_VALUE, true)
+                .values().forEach(matched::addAll);
+            if (found == null) {
+                found = matched;
+            } else {
+                found.retainAll(matched);
+            }
+            if (found.isEmpty()) {
+                break;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Populate index from segments or, if there are none, from stored packages.
+     *
+     * @return Completion of population.
+     */
+    private CompletionStage<Void> load() {
+        return this.segments.map(
+            segs -> segs.load().thenCompose(
+                loaded -> loaded.<CompletionStage<Void>>map(
+                    packages -> {
+                        packages.forEach(this::merge);
+                        return CompletableFuture.completedFuture(null);
+                    }
+                ).orElseGet(
+                    () -> this.scan().thenCompose(
+                        nothing -> segs.append(new ArrayList<>(this.entries.values()))
+                    )
+                )
+            )
+        ).orElseGet(this::scan);
+    }
+
+    /**
+     * Merge package loaded from segments into index.
+     * Package published while loading takes precedence over the loaded one.
+     *
+     * @param pkg Loaded package.
+     */
+    private void merge(final IndexedPackage pkg) {
+        synchronized (this.postings) {
+            final IndexedPackage existing = this.entries.get(pkg.key());
+            if (existing == null) {
+                this.put(pkg.key(), pkg);
+            } else {
+                this.put(pkg.key(), existing.with(pkg));
+            }
+        }
+    }
+
+    /**
+     * Populate index with all packages stored in repository.
+     *
+     * @return Completion of population.
+     */
+    private CompletionStage<Void> scan() {
+        return this.repository.packages().thenCompose(
+            ids -> CompletableFuture.allOf(
+                ids.stream().map(id -> this.load(id).toCompletableFuture())
+                    .toArray(CompletableFuture[]::new)
+            )
+        );
+    }
+
+    /**
+     * Populate index with all versions of package.
+     *
+     * @param id Package id.
+     * @return Completion of population.
+     */
+    private CompletionStage<Void> load(final NuspecField id) {
+        return this.repository.versions(new PackageKeys(id)).thenApply(Versions::all).thenCompose(
+            versions -> CompletableFuture.allOf(
+                versions.stream().map(
+                    version -> this.repository.nuspec(new PackageIdentity(id, version))
+                        .thenAccept(this::add)
+                        .toCompletableFuture()
+                        .exceptionally(
+                            err -> {
+                                Logger.warn(
+                                    SearchIndex.class,
+                                    "Failed to index %s %s: %[exception]s", id, version, err
+                                );
+                                return null;
+                            }
+                        )
+                ).toArray(CompletableFuture[]::new)
+            )
+        );
+    }
+
+    /**
+     * Split text into lower case tokens by non letter or digit characters.
+     *
+     * @param text Text.
+     * @return Tokens.
+     */
+    static List<String> tokens(final String text) {
+        return Stream.of(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+            .filter(token -> !token.isEmpty())
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Search hit.
+     *
+     * @since 1.6
+     */
+    public static final class Hit {
+
+        /**
+         * Package id as in the latest version.
+         */
+        private final String id;
+
+        /**
+         * Package types.
+         */
+        private final Collection<String> types;
+
+        /**
+         * Package versions from lowest to highest.
+         */
+        private final List<String> versions;
+
+        /**
+         * Ctor.
+         *
+         * @param id Package id as in the latest version.
+         * @param types Package types.
+         * @param versions Package versions from lowest to highest.
+         */
+        Hit(final String id, final Collection<String> types, final List<String> versions) {
+            this.id = id;
+            this.types = types;
+            this.versions = versions;
+        }
+
+        /**
+         * Package id as in the latest version.
+         *
+         * @return Package id.
+         */
+        @SuppressWarnings("PMD.ShortMethodName")
+        public String id() {
+            return this.id;
+        }
+
+        /**
+         * Package types.
+         *
+         * @return Package types names.
+         */
+        public Collection<String> types() {
+            return this.types;
+        }
+
+        /**
+         * Normalized package versions.
+         *
+         * @return Versions from lowest to highest.
+         */
+        public List<String> versions() {
+            return this.versions;
+        }
+    }
+}
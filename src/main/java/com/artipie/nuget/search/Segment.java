@@ -0,0 +1,153 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.search;
+
+import com.artipie.ArtipieException;
+import com.artipie.nuget.metadata.Version;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable search index segment: packages sorted by normalized id,
+ * each with its versions, types and term list.
+ * Binary format is a header (magic number, format version, packages count)
+ * followed by package records of length-prefixed UTF strings.
+ *
+ * @since 1.6
+ */
+final class Segment {
+
+    /**
+     * Segment file magic number.
+     */
+    private static final int MAGIC = 0x4e555358;
+
+    /**
+     * Segment format version.
+     */
+    private static final int FORMAT = 1;
+
+    /**
+     * Packages of the segment.
+     */
+    private final List<IndexedPackage> pkgs;
+
+    /**
+     * Ctor.
+     *
+     * @param packages Packages of the segment.
+     */
+    Segment(final Collection<IndexedPackage> packages) {
+        this.pkgs = packages.stream()
+            .sorted(Comparator.comparing(IndexedPackage::key))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Packages of the segment.
+     *
+     * @return Packages sorted by normalized id.
+     */
+    List<IndexedPackage> packages() {
+        return this.pkgs;
+    }
+
+    /**
+     * Segment binary representation.
+     *
+     * @return Bytes.
+     */
+    byte[] bytes() {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(Segment.MAGIC);
+            out.writeInt(Segment.FORMAT);
+            out.writeInt(this.pkgs.size());
+            for (final IndexedPackage pkg : this.pkgs) {
+                out.writeUTF(pkg.id());
+                Segment.write(
+                    out, pkg.versions().stream().map(Version::raw).collect(Collectors.toList())
+                );
+                Segment.write(out, pkg.types());
+                Segment.write(out, new TreeSet<>(pkg.tokens()));
+            }
+        } catch (final IOException ex) {
+            throw new ArtipieException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Read segment from binary representation.
+     *
+     * @param bytes Segment bytes.
+     * @return Segment.
+     */
+    static Segment from(final byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readInt() != Segment.MAGIC || in.readInt() != Segment.FORMAT) {
+                throw new ArtipieException(
+                    new IllegalArgumentException("Unsupported search index segment format")
+                );
+            }
+            final int count = in.readInt();
+            final List<IndexedPackage> packages = new ArrayList<>(count);
+            for (int idx = 0; idx < count; idx = idx + 1) {
+                final String id = in.readUTF();
+                final TreeSet<Version> versions = Segment.read(in).stream()
+                    .map(Version::new)
+                    .collect(Collectors.toCollection(TreeSet::new));
+                final List<String> types = Segment.read(in);
+                final Set<String> tokens = new HashSet<>(Segment.read(in));
+                packages.add(new IndexedPackage(id, types, tokens, versions));
+            }
+            return new Segment(packages);
+        } catch (final IOException ex) {
+            throw new ArtipieException(ex);
+        }
+    }
+
+    /**
+     * Write strings list.
+     *
+     * @param out Output.
+     * @param values Strings.
+     * @throws IOException On error.
+     */
+    private static void write(final DataOutputStream out, final Collection<String> values)
+        throws IOException {
+        out.writeInt(values.size());
+        for (final String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    /**
+     * Read strings list.
+     *
+     * @param in Input.
+     * @return Strings.
+     * @throws IOException On error.
+     */
+    private static List<String> read(final DataInputStream in) throws IOException {
+        final int size = in.readInt();
+        final List<String> res = new ArrayList<>(size);
+        for (int idx = 0; idx < size; idx = idx + 1) {
+            res.add(in.readUTF());
+        }
+        return res;
+    }
+}
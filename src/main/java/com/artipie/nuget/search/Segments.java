@@ -0,0 +1,257 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.search;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Search index segments persisted in storage.
+ * Every publish appends a small segment with updated packages, segments are
+ * merged into one when their number exceeds the limit. Segments are never
+ * modified, records of the same package are merged on load, so a record appended
+ * out of order does not hide versions from another one.
+ * Segments are ordered by monotonic sequence numbers in their names.
+ *
+ * @since 1.6
+ */
+final class Segments {
+
+    /**
+     * Segments location.
+     */
+    static final Key ROOT = new Key.From(".search", "segments");
+
+    /**
+     * Number of segments which triggers merge.
+     */
+    private static final int LIMIT = 32;
+
+    /**
+     * Last segment sequence number in this process, time in microseconds
+     * advanced by one when segments are written within the same microsecond.
+     */
+    private static final AtomicLong CLOCK = new AtomicLong();
+
+    /**
+     * Identifier of this process.
+     */
+    private static final String NODE = UUID.randomUUID().toString();
+
+    /**
+     * Storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Known number of segments.
+     */
+    private final AtomicInteger count;
+
+    /**
+     * Merge in progress flag.
+     */
+    private final AtomicBoolean merging;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     */
+    Segments(final Storage storage) {
+        this.storage = storage;
+        this.count = new AtomicInteger();
+        this.merging = new AtomicBoolean();
+    }
+
+    /**
+     * Load packages from all segments.
+     *
+     * @return Packages, empty if there are no segments.
+     */
+    CompletionStage<Optional<Collection<IndexedPackage>>> load() {
+        return this.keys().thenCompose(
+            keys -> {
+                this.count.set(keys.size());
+                final CompletionStage<Optional<Collection<IndexedPackage>>> res;
+                if (keys.isEmpty()) {
+                    res = CompletableFuture.completedFuture(Optional.empty());
+                } else {
+                    res = this.packages(keys).thenApply(Optional::of);
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Append new segment.
+     *
+     * @param packages Packages of the segment.
+     * @return Completion of write.
+     */
+    CompletionStage<Void> append(final Collection<IndexedPackage> packages) {
+        return this.write(packages).thenRun(this.count::incrementAndGet);
+    }
+
+    /**
+     * Whether segments should be merged.
+     *
+     * @return True if number of segments exceeds the limit.
+     */
+    boolean crowded() {
+        return this.count.get() > Segments.LIMIT;
+    }
+
+    /**
+     * Replace existing segments with one segment. Segments are listed first, exactly
+     * listed segments are merged and removed, so segments appended by other nodes meanwhile
+     * are kept. Merged segment takes sequence number of the newest merged segment,
+     * so it is still older than segments appended later.
+     *
+     * @return Completion of merge.
+     */
+    CompletionStage<Void> merge() {
+        final CompletionStage<Void> res;
+        if (this.merging.compareAndSet(false, true)) {
+            res = this.keys().thenCompose(
+                old -> {
+                    final CompletionStage<Void> merged;
+                    if (old.size() > 1) {
+                        merged = this.packages(old).thenCompose(
+                            packages -> this.storage.save(
+                                new Key.From(
+                                    Segments.ROOT,
+                                    Segments.name(
+                                        Segments.sequence(old.get(old.size() - 1)), "-merged"
+                                    )
+                                ),
+                                new Content.From(new Segment(packages).bytes())
+                            )
+                        ).thenCompose(
+                            nothing -> CompletableFuture.allOf(
+                                old.stream()
+                                    .map(key -> this.storage.delete(key).toCompletableFuture())
+                                    .toArray(CompletableFuture[]::new)
+                            )
+                        ).thenRun(() -> this.count.addAndGet(1 - old.size()));
+                    } else {
+                        merged = CompletableFuture.completedFuture(null);
+                    }
+                    return merged;
+                }
+            ).whenComplete((nothing, err) -> this.merging.set(false));
+        } else {
+            res = CompletableFuture.completedFuture(null);
+        }
+        return res;
+    }
+
+    /**
+     * Segment keys from oldest to newest.
+     *
+     * @return Keys.
+     */
+    private CompletionStage<List<Key>> keys() {
+        return this.storage.list(Segments.ROOT).thenApply(
+            keys -> keys.stream()
+                .sorted(Comparator.comparing(Key::string))
+                .collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Read segments and merge records of the same package.
+     *
+     * @param keys Segment keys from oldest to newest.
+     * @return Packages.
+     */
+    private CompletionStage<Collection<IndexedPackage>> packages(final List<Key> keys) {
+        final List<CompletableFuture<Segment>> reads = keys.stream()
+            .map(key -> this.read(key).toCompletableFuture())
+            .collect(Collectors.toList());
+        return CompletableFuture.allOf(reads.toArray(new CompletableFuture[0])).thenApply(
+            nothing -> {
+                final Map<String, IndexedPackage> merged = new LinkedHashMap<>();
+                for (final CompletableFuture<Segment> read : reads) {
+                    for (final IndexedPackage pkg : read.join().packages()) {
+                        merged.merge(pkg.key(), pkg, IndexedPackage::with);
+                    }
+                }
+                return merged.values();
+            }
+        );
+    }
+
+    /**
+     * Read segment.
+     *
+     * @param key Segment key.
+     * @return Segment.
+     */
+    private CompletionStage<Segment> read(final Key key) {
+        return this.storage.value(key)
+            .thenCompose(content -> new PublisherAs(content).bytes())
+            .thenApply(Segment::from);
+    }
+
+    /**
+     * Write new segment with next sequence number.
+     *
+     * @param packages Packages of the segment.
+     * @return Completion of write.
+     */
+    private CompletionStage<Void> write(final Collection<IndexedPackage> packages) {
+        final long now = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        return this.storage.save(
+            new Key.From(
+                Segments.ROOT,
+                Segments.name(Segments.CLOCK.updateAndGet(prev -> Math.max(prev + 1, now)), "")
+            ),
+            new Content.From(new Segment(packages).bytes())
+        );
+    }
+
+    /**
+     * Segment name. Name starts with sequence number so segments are sorted from oldest
+     * to newest, process identifier keeps names of segments written by different
+     * nodes distinct.
+     *
+     * @param sequence Sequence number.
+     * @param suffix Name suffix.
+     * @return Segment name.
+     */
+    private static String name(final long sequence, final String suffix) {
+        return String.format("%019d-%s%s.seg", sequence, Segments.NODE, suffix);
+    }
+
+    /**
+     * Sequence number of segment.
+     *
+     * @param key Segment key.
+     * @return Sequence number.
+     */
+    private static long sequence(final Key key) {
+        final List<String> parts = key.parts();
+        final String name = parts.get(parts.size() - 1);
+        return Long.parseLong(name.substring(0, name.indexOf('-')));
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.uploads;
+
+import com.artipie.ArtipieException;
+
+/**
+ * Exception indicates that upload cannot be committed,
+ * because some of its parts are not uploaded yet.
+ *
+ * @since 1.6
+ */
+@SuppressWarnings("serial")
+public final class IncompleteUploadException extends ArtipieException {
+
+    /**
+     * Ctor.
+     *
+     * @param message Exception details message.
+     */
+    public IncompleteUploadException(final String message) {
+        super(message);
+    }
+}
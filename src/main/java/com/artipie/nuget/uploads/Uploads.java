@@ -0,0 +1,315 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.uploads;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.jcabi.log.Logger;
+import hu.akarnokd.rxjava2.interop.SingleInterop;
+import io.reactivex.Flowable;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Resumable chunked uploads of packages.
+ * Upload is started to get its identifier, then parts of package numbered from 1
+ * are uploaded in any order, possibly in parallel or more than once, every part is
+ * stored as it arrives. Upload is committed when all parts are stored: package content
+ * is assembled from parts in order of their numbers. Interrupted upload is resumed
+ * by uploading missing parts only.
+ * Uploads not committed within time to live are abandoned, they are removed
+ * by {@link #expire()}, which is also run by {@link #start()} from time to time.
+ *
+ * @since 1.6
+ */
+public final class Uploads {
+
+    /**
+     * Uploads location.
+     */
+    static final Key ROOT = new Key.From(".uploads");
+
+    /**
+     * Name of upload marker, which exists from upload start until it is removed.
+     */
+    private static final String MARKER = "upload";
+
+    /**
+     * Name of upload parts location.
+     */
+    private static final String PARTS = "parts";
+
+    /**
+     * Default upload time to live.
+     */
+    private static final Duration TTL = Duration.ofHours(24);
+
+    /**
+     * Min interval between removals of abandoned uploads on start.
+     */
+    private static final Duration INTERVAL = Duration.ofHours(1);
+
+    /**
+     * Storage for uploads.
+     */
+    private final Storage storage;
+
+    /**
+     * Upload time to live.
+     */
+    private final Duration ttl;
+
+    /**
+     * Time of last removal of abandoned uploads on start, milliseconds since epoch.
+     */
+    private final AtomicLong expired;
+
+    /**
+     * Ctor for uploads kept in memory.
+     */
+    public Uploads() {
+        this(new InMemoryStorage());
+    }
+
+    /**
+     * Ctor with default upload time to live.
+     *
+     * @param storage Storage for uploads.
+     */
+    public Uploads(final Storage storage) {
+        this(storage, Uploads.TTL);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage for uploads.
+     * @param ttl Upload time to live.
+     */
+    public Uploads(final Storage storage, final Duration ttl) {
+        this.storage = storage;
+        this.ttl = ttl;
+        this.expired = new AtomicLong(System.currentTimeMillis());
+    }
+
+    /**
+     * Start new upload.
+     *
+     * @return Upload identifier.
+     */
+    public CompletionStage<String> start() {
+        final long now = System.currentTimeMillis();
+        final long last = this.expired.get();
+        if (now - last >= Uploads.INTERVAL.toMillis() && this.expired.compareAndSet(last, now)) {
+            this.expire().exceptionally(
+                err -> {
+                    Logger.warn(
+                        Uploads.class, "Failed to remove abandoned uploads: %[exception]s", err
+                    );
+                    return null;
+                }
+            );
+        }
+        final String id = UUID.randomUUID().toString();
+        return this.storage.save(
+            Uploads.marker(id),
+            new Content.From(String.valueOf(now).getBytes(StandardCharsets.US_ASCII))
+        ).thenApply(nothing -> id);
+    }
+
+    /**
+     * Remove abandoned uploads, which were started earlier than time to live ago.
+     *
+     * @return Completion of removal.
+     */
+    public CompletionStage<Void> expire() {
+        final long deadline = System.currentTimeMillis() - this.ttl.toMillis();
+        return this.storage.list(Uploads.ROOT).thenCompose(
+            keys -> CompletableFuture.allOf(
+                keys.stream()
+                    .filter(
+                        key -> key.parts().size() == 3
+                            && Uploads.MARKER.equals(key.parts().get(2))
+                    )
+                    .map(
+                        key -> this.storage.value(key)
+                            .thenCompose(content -> new PublisherAs(content).asciiString())
+                            .thenCompose(
+                                started -> {
+                                    final CompletionStage<Void> res;
+                                    if (Uploads.started(started) <= deadline) {
+                                        res = this.remove(key.parts().get(1));
+                                    } else {
+                                        res = CompletableFuture.completedFuture(null);
+                                    }
+                                    return res;
+                                }
+                            ).toCompletableFuture()
+                    )
+                    .toArray(CompletableFuture[]::new)
+            )
+        );
+    }
+
+    /**
+     * Check if upload is started and not removed.
+     *
+     * @param id Upload identifier.
+     * @return True if upload exists.
+     */
+    public CompletionStage<Boolean> exists(final String id) {
+        return this.storage.exists(Uploads.marker(id));
+    }
+
+    /**
+     * Store upload part, part stored before with the same number is replaced.
+     *
+     * @param id Upload identifier.
+     * @param number Part number starting from 1.
+     * @param content Part content.
+     * @return True if part is stored, false if upload does not exist.
+     */
+    public CompletionStage<Boolean> part(final String id, final int number,
+        final Content content) {
+        return this.exists(id).thenCompose(
+            exists -> {
+                final CompletionStage<Boolean> res;
+                if (exists) {
+                    res = this.storage.save(Uploads.part(id, number), content)
+                        .thenApply(nothing -> true);
+                } else {
+                    res = CompletableFuture.completedFuture(false);
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Numbers of stored upload parts.
+     *
+     * @param id Upload identifier.
+     * @return Sorted part numbers, empty if upload does not exist.
+     */
+    public CompletionStage<Optional<List<Integer>>> parts(final String id) {
+        return this.exists(id).thenCompose(
+            exists -> {
+                final CompletionStage<Optional<List<Integer>>> res;
+                if (exists) {
+                    res = this.storage.list(new Key.From(Uploads.ROOT, id, Uploads.PARTS))
+                        .thenApply(
+                            keys -> Optional.of(
+                                keys.stream()
+                                    .map(key -> key.parts().get(key.parts().size() - 1))
+                                    .map(Integer::valueOf)
+                                    .sorted()
+                                    .collect(Collectors.toList())
+                            )
+                        );
+                } else {
+                    res = CompletableFuture.completedFuture(Optional.empty());
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Package content assembled from upload parts, parts are read one by one
+     * while content is consumed.
+     * Fails with {@link IncompleteUploadException} if upload does not exist,
+     * has no parts or some part is missing.
+     *
+     * @param id Upload identifier.
+     * @return Package content.
+     */
+    public CompletionStage<Content> content(final String id) {
+        return this.parts(id).thenApply(
+            parts -> {
+                final List<Integer> numbers = parts.orElseThrow(
+                    () -> new IncompleteUploadException(
+                        String.format("Upload %s does not exist", id)
+                    )
+                );
+                if (numbers.isEmpty()) {
+                    throw new IncompleteUploadException(
+                        String.format("Upload %s has no parts", id)
+                    );
+                }
+                for (int idx = 0; idx < numbers.size(); idx = idx + 1) {
+                    if (numbers.get(idx) != idx + 1) {
+                        throw new IncompleteUploadException(
+                            String.format("Part %d of upload %s is missing", idx + 1, id)
+                        );
+                    }
+                }
+                return new Content.From(
+                    Flowable.fromIterable(numbers).concatMap(
+                        number -> SingleInterop.fromFuture(
+                            this.storage.value(Uploads.part(id, number))
+                        ).flatMapPublisher(content -> content)
+                    )
+                );
+            }
+        );
+    }
+
+    /**
+     * Remove upload with all its parts.
+     *
+     * @param id Upload identifier.
+     * @return Completion of removal.
+     */
+    public CompletionStage<Void> remove(final String id) {
+        return this.storage.deleteAll(new Key.From(Uploads.ROOT, id));
+    }
+
+    /**
+     * Upload start time from marker.
+     *
+     * @param marker Marker content.
+     * @return Milliseconds since epoch, zero if marker has no valid start time.
+     */
+    private static long started(final String marker) {
+        long res;
+        try {
+            res = Long.parseLong(marker.trim());
+        } catch (final NumberFormatException ex) {
+            res = 0;
+        }
+        return res;
+    }
+
+    /**
+     * Upload marker key.
+     *
+     * @param id Upload identifier.
+     * @return Marker key.
+     */
+    private static Key marker(final String id) {
+        return new Key.From(Uploads.ROOT, id, Uploads.MARKER);
+    }
+
+    /**
+     * Upload part key.
+     *
+     * @param id Upload identifier.
+     * @param number Part number.
+     * @return Part key.
+     */
+    private static Key part(final String id, final int number) {
+        return new Key.From(Uploads.ROOT, id, Uploads.PARTS, String.valueOf(number));
+    }
+}
@@ -10,10 +10,13 @@ import com.artipie.asto.Content;
 import com.artipie.asto.Key;
 import com.artipie.asto.Storage;
 import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.ext.PublisherAs;
 import com.artipie.asto.memory.InMemoryStorage;
 import com.artipie.nuget.metadata.PackageId;
 import com.artipie.nuget.metadata.Version;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -23,7 +26,10 @@ import java.util.concurrent.CompletionException;
 import java.util.concurrent.CountDownLatch;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 import javax.json.Json;
+import javax.json.JsonObject;
 import javax.json.JsonReader;
 import javax.json.JsonString;
 import org.hamcrest.FeatureMatcher;
@@ -112,6 +118,34 @@ class AstoRepositoryTest {
         );
     }
 
+    @Test
+    void shouldAddLargePackageInParts() throws Exception {
+        final Repository repo = new AstoRepository(
+            this.asto, new LargeObjects(this.asto, 64 * 1024, 4)
+        );
+        repo.add(new Content.From(this.nupkg().bytes())).toCompletableFuture().join();
+        final PackageIdentity identity = new PackageIdentity(
+            new PackageId("newtonsoft.json"), new Version("12.0.3")
+        );
+        MatcherAssert.assertThat(
+            "Package is saved as single file",
+            this.storage.exists(identity.nupkgKey()),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Package content differs",
+            repo.content(identity.nupkgKey())
+                .thenCompose(content -> new PublisherAs(content.get()).bytes())
+                .toCompletableFuture().join(),
+            Matchers.equalTo(this.nupkg().bytes())
+        );
+        MatcherAssert.assertThat(
+            "Package size differs",
+            repo.size(identity.nupkgKey()).toCompletableFuture().join().get(),
+            Matchers.equalTo((long) this.nupkg().bytes().length)
+        );
+    }
+
     @Test
     void shouldFailToAddInvalidPackage() {
         final Throwable cause = Assertions.assertThrows(
@@ -127,6 +161,29 @@ class AstoRepositoryTest {
         );
     }
 
+    @Test
+    void shouldRemovePushedFileWhenPackageIsInvalid() {
+        this.repository.add(new Content.From("not a zip".getBytes()))
+            .handle((info, err) -> err)
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.storage.list(Key.ROOT),
+            new IsEmptyCollection<>()
+        );
+    }
+
+    @Test
+    void shouldRemovePackageFilesWhenPackageFailsToBeStored() throws Exception {
+        new AstoRepository(new AstoRepositoryTest.Unmovable(this.asto))
+            .add(new Content.From(AstoRepositoryTest.nupkg("1.0.0")))
+            .handle((info, err) -> err)
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.storage.list(Key.ROOT),
+            new IsEmptyCollection<>()
+        );
+    }
+
     @Test
     void shouldGetPackageVersions() throws Exception {
         final byte[] bytes = "{\"versions\":[\"1.0.0\",\"1.0.1\"]}"
@@ -161,7 +218,7 @@ class AstoRepositoryTest {
         this.repository.add(new Content.From(this.nupkg().bytes())).toCompletableFuture().join();
         final Throwable cause = Assertions.assertThrows(
             CompletionException.class,
-            () -> this.repository.add(new Content.From(this.nupkg().bytes()))
+            () -> this.repository.add(new Content.From(this.nupkg().altered()))
                 .toCompletableFuture().join()
         ).getCause();
         MatcherAssert.assertThat(
@@ -170,6 +227,34 @@ class AstoRepositoryTest {
         );
     }
 
+    @Test
+    void shouldReportIdenticalPackageWhenItIsAddedAgain() throws Exception {
+        this.repository.add(new Content.From(this.nupkg().bytes())).toCompletableFuture().join();
+        final Throwable cause = Assertions.assertThrows(
+            CompletionException.class,
+            () -> this.repository.add(new Content.From(this.nupkg().bytes()))
+                .toCompletableFuture().join()
+        ).getCause();
+        MatcherAssert.assertThat(
+            cause,
+            new IsInstanceOf(IdenticalPackageException.class)
+        );
+    }
+
+    @Test
+    void shouldRepairVersionsWhenIdenticalPackageIsAddedAgain() throws Exception {
+        this.repository.add(new Content.From(this.nupkg().bytes())).toCompletableFuture().join();
+        final PackageKeys keys = new PackageKeys(new PackageId("newtonsoft.json"));
+        this.storage.delete(keys.versionsKey());
+        this.repository.add(new Content.From(this.nupkg().bytes()))
+            .handle((info, err) -> err)
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.versions(keys.versionsKey()),
+            Matchers.contains("12.0.3")
+        );
+    }
+
     @Test
     void shouldReadNuspec() throws Exception {
         final PackageIdentity identity = new PackageIdentity(
@@ -268,7 +353,8 @@ class AstoRepositoryTest {
                                 }
                             )
                         ),
-                        new IsInstanceOf(PackageVersionAlreadyExistsException.class)
+                        new IsInstanceOf(PackageVersionAlreadyExistsException.class),
+                        new IsInstanceOf(IdenticalPackageException.class)
                     )
                 )
             )
@@ -280,6 +366,35 @@ class AstoRepositoryTest {
         );
     }
 
+    @Test
+    void shouldAddManyVersionsConcurrently() throws Exception {
+        final int count = 40;
+        final List<CompletableFuture<PackageInfo>> pushes = new ArrayList<>(count);
+        for (int num = 0; num < count; num += 1) {
+            pushes.add(
+                this.repository.add(
+                    new Content.From(AstoRepositoryTest.nupkg(String.format("1.0.%d", num)))
+                ).toCompletableFuture()
+            );
+        }
+        CompletableFuture.allOf(pushes.toArray(new CompletableFuture[0])).join();
+        MatcherAssert.assertThat(
+            "Not all versions are in versions registry",
+            this.versions(new PackageKeys("Lib").versionsKey()),
+            Matchers.hasSize(count)
+        );
+        MatcherAssert.assertThat(
+            "Not all versions are in catalog",
+            this.json(Catalog.INDEX).getInt("count"),
+            new IsEqual<>(count)
+        );
+        MatcherAssert.assertThat(
+            "Not all versions are in dependents",
+            new Dependents(this.asto).of(new PackageId("Core")).toCompletableFuture().join(),
+            Matchers.hasSize(count)
+        );
+    }
+
     private List<String> versions(final Key key) throws Exception {
         final byte[] bytes = this.storage.value(key);
         try (JsonReader reader = Json.createReader(new ByteArrayInputStream(bytes))) {
@@ -292,7 +407,65 @@ class AstoRepositoryTest {
         }
     }
 
+    private JsonObject json(final Key key) throws Exception {
+        try (JsonReader reader = Json.createReader(
+            new ByteArrayInputStream(this.storage.value(key))
+        )) {
+            return reader.readObject();
+        }
+    }
+
+    /**
+     * Package Lib depending on Core.
+     *
+     * @param version Package version.
+     * @return Package archive bytes.
+     * @throws IOException If fails.
+     */
+    private static byte[] nupkg(final String version) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("Lib.nuspec"));
+            zip.write(
+                String.join(
+                    "",
+                    "<?xml version=\"1.0\"?>",
+                    "<package xmlns=\"http://schemas.microsoft.com/packaging/2013/05/nuspec.xsd\">",
+                    String.format("<metadata><id>Lib</id><version>%s</version>", version),
+                    "<dependencies><group><dependency id=\"Core\" version=\"1.0\"/></group>",
+                    "</dependencies></metadata></package>"
+                ).getBytes(StandardCharsets.UTF_8)
+            );
+            zip.closeEntry();
+        }
+        return out.toByteArray();
+    }
+
     private NewtonJsonResource nupkg() {
         return new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg");
     }
+
+    /**
+     * Storage failing to move values.
+     *
+     * @since 1.6
+     */
+    private static final class Unmovable extends Storage.Wrap {
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin storage.
+         */
+        Unmovable(final Storage origin) {
+            super(origin);
+        }
+
+        @Override
+        public CompletableFuture<Void> move(final Key source, final Key destination) {
+            final CompletableFuture<Void> res = new CompletableFuture<>();
+            res.completeExceptionally(new ArtipieIOException("Move failed"));
+            return res;
+        }
+    }
 }
@@ -0,0 +1,142 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Catalog}.
+ *
+ * @since 1.6
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+class CatalogTest {
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    @BeforeEach
+    void init() {
+        this.storage = new InMemoryStorage();
+    }
+
+    @Test
+    void appendsEventsToPage() {
+        final Catalog catalog = new Catalog(this.storage);
+        catalog.append(Catalog.DETAILS, new PackageId("Foo"), new Version("1.0.00"))
+            .toCompletableFuture().join();
+        catalog.append(Catalog.DELETE, new PackageId("Foo"), new Version("1.0.00"))
+            .toCompletableFuture().join();
+        final List<JsonObject> items = this.json(Catalog.INDEX).getJsonArray("items")
+            .stream().map(JsonValue::asJsonObject).collect(Collectors.toList());
+        MatcherAssert.assertThat(
+            "Should keep events in order",
+            items.stream().map(item -> item.getString("type")).collect(Collectors.toList()),
+            Matchers.contains(Catalog.DETAILS, Catalog.DELETE)
+        );
+        MatcherAssert.assertThat(
+            "Should normalize version",
+            items.get(0).getString("version"),
+            Matchers.equalTo("1.0.0")
+        );
+        MatcherAssert.assertThat(
+            "Commit timestamps should increase",
+            Instant.parse(items.get(1).getString("commitTimeStamp"))
+                .isAfter(Instant.parse(items.get(0).getString("commitTimeStamp"))),
+            Matchers.is(true)
+        );
+        final JsonObject root = this.json(Catalog.INDEX);
+        MatcherAssert.assertThat(
+            "Root should point to the last commit",
+            root.getString("commitId"),
+            Matchers.equalTo(items.get(1).getString("commitId"))
+        );
+        MatcherAssert.assertThat(
+            "Root should count pages events",
+            root.getJsonArray("pages").getJsonObject(0).getInt("count"),
+            Matchers.is(2)
+        );
+    }
+
+    @Test
+    void savesFullPageWhenNextPageStarts() {
+        final Catalog catalog = new Catalog(this.storage);
+        for (int num = 0; num <= Catalog.PAGE; num = num + 1) {
+            catalog.append(
+                Catalog.DETAILS, new PackageId("Foo"), new Version(String.format("1.0.%d", num))
+            ).toCompletableFuture().join();
+        }
+        MatcherAssert.assertThat(
+            "Full page is not saved",
+            this.json(Catalog.page(0)).getJsonArray("items").size(),
+            Matchers.is(Catalog.PAGE)
+        );
+        final JsonObject root = this.json(Catalog.INDEX);
+        MatcherAssert.assertThat(
+            "Root should keep events of the last page only",
+            root.getJsonArray("items").size(),
+            Matchers.is(1)
+        );
+        MatcherAssert.assertThat(
+            "Root should count all events",
+            root.getInt("count"),
+            Matchers.is(Catalog.PAGE + 1)
+        );
+    }
+
+    @Test
+    void appendsConcurrentEvents() {
+        final Catalog catalog = new Catalog(this.storage);
+        CompletableFuture.allOf(
+            IntStream.range(0, 40).mapToObj(
+                num -> CompletableFuture.supplyAsync(() -> num).thenCompose(
+                    val -> catalog.append(
+                        Catalog.DETAILS, new PackageId("Foo"),
+                        new Version(String.format("1.0.%d", val))
+                    )
+                )
+            ).toArray(CompletableFuture[]::new)
+        ).join();
+        MatcherAssert.assertThat(
+            this.json(Catalog.INDEX).getJsonArray("items").size(),
+            Matchers.is(40)
+        );
+    }
+
+    /**
+     * Read JSON from storage.
+     *
+     * @param key Key.
+     * @return JSON object.
+     */
+    private JsonObject json(final Key key) {
+        return Json.createReader(
+            new StringReader(
+                new String(new BlockingStorage(this.storage).value(key), StandardCharsets.UTF_8)
+            )
+        ).readObject();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget;
+
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.PackageId;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Dependents}.
+ *
+ * @since 1.6
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+class DependentsTest {
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    @BeforeEach
+    void init() {
+        this.storage = new InMemoryStorage();
+    }
+
+    @Test
+    void indexesDependentsOfEveryDependency() {
+        final Dependents dependents = new Dependents(this.storage);
+        dependents.add(
+            DependentsTest.nuspec(
+                "App", "1.0.0",
+                "<group targetFramework=\"net6.0\"><dependency id=\"Lib\" version=\"1.0\"/></group>",
+                "<group><dependency id=\"LIB\" version=\"[1.0, 2.0)\"/></group>"
+            )
+        ).toCompletableFuture().join();
+        dependents.add(
+            DependentsTest.nuspec(
+                "Other", "2.0.0", "<group><dependency id=\"Lib\" version=\"2.0\"/></group>"
+            )
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            DependentsTest.strings(
+                dependents.of(new PackageId("lib")).toCompletableFuture().join()
+            ),
+            Matchers.contains("App 1.0.0 1.0", "App 1.0.0 [1.0, 2.0)", "Other 2.0.0 2.0")
+        );
+    }
+
+    @Test
+    void indexesConcurrentDependents() {
+        final Dependents dependents = new Dependents(this.storage);
+        CompletableFuture.allOf(
+            IntStream.range(0, 30).mapToObj(
+                num -> dependents.add(
+                    DependentsTest.nuspec(
+                        "App", String.format("1.0.%d", num),
+                        "<group><dependency id=\"Lib\" version=\"1.0\"/></group>"
+                    )
+                ).toCompletableFuture()
+            ).toArray(CompletableFuture[]::new)
+        ).join();
+        MatcherAssert.assertThat(
+            dependents.of(new PackageId("Lib")).toCompletableFuture().join(),
+            Matchers.hasSize(30)
+        );
+    }
+
+    @Test
+    void returnsEmptyListIfNothingDepends() {
+        MatcherAssert.assertThat(
+            new Dependents(this.storage).of(new PackageId("Lib")).toCompletableFuture().join(),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    void indexesPackageAddedToRepository() throws Exception {
+        new AstoRepository(this.storage).add(
+            new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").content()
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            DependentsTest.strings(
+                new Dependents(this.storage).of(new PackageId("Microsoft.CSharp"))
+                    .toCompletableFuture().join()
+            ),
+            Matchers.contains("Newtonsoft.Json 12.0.3 4.3.0")
+        );
+    }
+
+    @Test
+    void populatesMissingIndexFromStoredPackages() throws Exception {
+        final AstoRepository repository = new AstoRepository(this.storage);
+        repository.add(
+            new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").content()
+        ).toCompletableFuture().join();
+        this.storage.deleteAll(Dependents.ROOT).join();
+        final Dependents dependents = new Dependents(this.storage);
+        dependents.ready(repository).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            DependentsTest.strings(
+                dependents.of(new PackageId("Microsoft.CSharp")).toCompletableFuture().join()
+            ),
+            Matchers.contains("Newtonsoft.Json 12.0.3 4.3.0")
+        );
+    }
+
+    /**
+     * Dependents as strings.
+     *
+     * @param dependents Dependents.
+     * @return Id, version and range of every dependent.
+     */
+    private static List<String> strings(final List<Dependents.Dependent> dependents) {
+        return dependents.stream()
+            .map(dep -> String.format("%s %s %s", dep.id(), dep.version(), dep.range()))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Nuspec with dependency groups.
+     *
+     * @param id Package id.
+     * @param version Package version.
+     * @param groups Dependency groups XML.
+     * @return Nuspec.
+     */
+    private static Nuspec nuspec(final String id, final String version, final String... groups) {
+        return new Nuspec.Xml(
+            String.join(
+                "",
+                "<?xml version=\"1.0\"?>",
+                "<package xmlns=\"http://schemas.microsoft.com/packaging/2013/05/nuspec.xsd\">",
+                String.format("<metadata><id>%s</id><version>%s</version>", id, version),
+                String.format("<dependencies>%s</dependencies>", String.join("", groups)),
+                "</metadata></package>"
+            ).getBytes()
+        );
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import java.security.MessageDigest;
+import java.util.Base64;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link HashIndex}.
+ *
+ * @since 1.6
+ */
+class HashIndexTest {
+
+    @Test
+    void indexesPackageByHash() throws Exception {
+        final Storage storage = new InMemoryStorage();
+        final byte[] nupkg = "package".getBytes();
+        final PackageIdentity identity =
+            new PackageIdentity(new PackageId("Lib"), new Version("1.0.0"));
+        new Hash(new Content.From(nupkg)).save(storage, identity).toCompletableFuture().join();
+        new HashIndex(storage).add(identity).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            storage.exists(
+                HashIndex.key(
+                    String.format(
+                        "W/\"%s\"",
+                        Base64.getEncoder().encodeToString(
+                            MessageDigest.getInstance("SHA-512").digest(nupkg)
+                        )
+                    )
+                ).get()
+            ).join(),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void ignoresEntityTagWhichIsNotHash() {
+        MatcherAssert.assertThat(
+            "Not base64 entity tag is accepted",
+            HashIndex.key("\"not a hash\"").isPresent(),
+            Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            "Short entity tag is accepted",
+            HashIndex.key("\"YWJj\"").isPresent(),
+            Matchers.is(false)
+        );
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link LargeObjects}.
+ *
+ * @since 1.6
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+class LargeObjectsTest {
+
+    /**
+     * Object key.
+     */
+    private static final Key KEY = new Key.From("lib", "1.0.0", "lib.1.0.0.nupkg");
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    /**
+     * Large objects being tested.
+     */
+    private LargeObjects objects;
+
+    @BeforeEach
+    void init() {
+        this.storage = new InMemoryStorage();
+        this.objects = new LargeObjects(this.storage, 4, 2);
+    }
+
+    @Test
+    void savesSmallObjectAsIs() {
+        this.objects.save(LargeObjectsTest.KEY, LargeObjectsTest.content("abcd"))
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.storage.list(Key.ROOT).join(),
+            Matchers.contains(LargeObjectsTest.KEY)
+        );
+    }
+
+    @Test
+    void savesSmallObjectOfUnknownSizeAsIs() {
+        this.objects.save(
+            LargeObjectsTest.KEY,
+            new Content.From(
+                Flowable.just(
+                    ByteBuffer.wrap("ab".getBytes(StandardCharsets.UTF_8)),
+                    ByteBuffer.wrap("c".getBytes(StandardCharsets.UTF_8))
+                )
+            )
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Object is not saved as single value",
+            this.storage.list(Key.ROOT).join(),
+            Matchers.contains(LargeObjectsTest.KEY)
+        );
+        MatcherAssert.assertThat(
+            "Object content differs",
+            this.objects.value(LargeObjectsTest.KEY)
+                .thenCompose(content -> new PublisherAs(content).string(StandardCharsets.UTF_8))
+                .toCompletableFuture().join(),
+            Matchers.equalTo("abc")
+        );
+    }
+
+    @Test
+    void readsObjectSavedInParts() {
+        this.objects.save(
+            LargeObjectsTest.KEY,
+            new Content.From(
+                Flowable.just(
+                    ByteBuffer.wrap("abc".getBytes(StandardCharsets.UTF_8)),
+                    ByteBuffer.wrap("defghij".getBytes(StandardCharsets.UTF_8))
+                )
+            )
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Object is saved as single value",
+            this.storage.exists(LargeObjectsTest.KEY).join(),
+            Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            "Object content differs",
+            this.objects.value(LargeObjectsTest.KEY)
+                .thenCompose(content -> new PublisherAs(content).string(StandardCharsets.UTF_8))
+                .toCompletableFuture().join(),
+            Matchers.equalTo("abcdefghij")
+        );
+        MatcherAssert.assertThat(
+            "Object size differs",
+            this.objects.size(LargeObjectsTest.KEY).toCompletableFuture().join(),
+            Matchers.equalTo(10L)
+        );
+    }
+
+    @Test
+    void movesObjectSavedInParts() {
+        final Key source = new Key.From("upload");
+        this.objects.save(source, LargeObjectsTest.content("abcdefghij"))
+            .toCompletableFuture().join();
+        this.objects.move(source, LargeObjectsTest.KEY).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Source exists",
+            this.objects.exists(source).toCompletableFuture().join(),
+            Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            "Destination content differs",
+            this.objects.value(LargeObjectsTest.KEY)
+                .thenCompose(content -> new PublisherAs(content).string(StandardCharsets.UTF_8))
+                .toCompletableFuture().join(),
+            Matchers.equalTo("abcdefghij")
+        );
+    }
+
+    @Test
+    void deletesAllParts() {
+        this.objects.save(LargeObjectsTest.KEY, LargeObjectsTest.content("abcdefghij"))
+            .toCompletableFuture().join();
+        this.objects.delete(LargeObjectsTest.KEY).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.storage.list(Key.ROOT).join(),
+            Matchers.emptyIterable()
+        );
+    }
+
+    /**
+     * Content from string.
+     *
+     * @param text Text.
+     * @return Content.
+     */
+    private static Content content(final String text) {
+        return new Content.From(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -7,6 +7,13 @@ package com.artipie.nuget;
 
 import com.artipie.asto.Content;
 import com.artipie.asto.test.TestResource;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Newton.Json package resource.
@@ -46,4 +53,31 @@ public final class NewtonJsonResource {
     public byte[] bytes() {
         return new TestResource(String.format("newtonsoft.json/12.0.3/%s", this.name)).asBytes();
     }
+
+    /**
+     * Reads binary data of archive with one more entry,
+     * i.e. package with the same identity but different content.
+     *
+     * @return Binary data.
+     * @throws IOException If fails.
+     */
+    public byte[] altered() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (
+            ZipInputStream input = new ZipInputStream(new ByteArrayInputStream(this.bytes()));
+            ZipOutputStream output = new ZipOutputStream(out)
+        ) {
+            ZipEntry entry = input.getNextEntry();
+            while (entry != null) {
+                output.putNextEntry(new ZipEntry(entry.getName()));
+                ByteStreams.copy(input, output);
+                output.closeEntry();
+                entry = input.getNextEntry();
+            }
+            output.putNextEntry(new ZipEntry("altered.txt"));
+            output.write(new byte[]{1});
+            output.closeEntry();
+        }
+        return out.toByteArray();
+    }
 }
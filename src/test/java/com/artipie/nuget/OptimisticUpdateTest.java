@@ -0,0 +1,104 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link OptimisticUpdate}.
+ *
+ * @since 1.6
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+class OptimisticUpdateTest {
+
+    /**
+     * Key of updated value.
+     */
+    private static final Key KEY = new Key.From("lib", "index.json");
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    @BeforeEach
+    void init() {
+        this.storage = new InMemoryStorage();
+    }
+
+    @Test
+    void createsAbsentValue() {
+        new OptimisticUpdate(this.storage, OptimisticUpdateTest.KEY).apply(
+            bytes -> bytes.map(val -> "updated").orElse("created")
+                .getBytes(StandardCharsets.UTF_8)
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(this.value(), Matchers.equalTo("created"));
+    }
+
+    @Test
+    void doesNotLoseConcurrentUpdates() {
+        CompletableFuture.allOf(
+            IntStream.range(0, 10).mapToObj(
+                num -> CompletableFuture.supplyAsync(() -> num).thenCompose(
+                    val -> new OptimisticUpdate(this.storage, OptimisticUpdateTest.KEY).apply(
+                        bytes -> String.format(
+                            "%s%d", bytes.map(b -> new String(b, StandardCharsets.UTF_8))
+                                .orElse(""),
+                            val
+                        ).getBytes(StandardCharsets.UTF_8)
+                    )
+                )
+            ).toArray(CompletableFuture[]::new)
+        ).join();
+        MatcherAssert.assertThat(this.value().length(), Matchers.equalTo(10));
+    }
+
+    @Test
+    void failsWhenValueKeepsChanging() {
+        this.storage.save(
+            OptimisticUpdateTest.KEY, new Content.From("0".getBytes(StandardCharsets.UTF_8))
+        ).join();
+        final CompletionException err = Assertions.assertThrows(
+            CompletionException.class,
+            () -> new OptimisticUpdate(this.storage, OptimisticUpdateTest.KEY, 3).apply(
+                bytes -> {
+                    this.storage.save(
+                        OptimisticUpdateTest.KEY,
+                        new Content.From(String.valueOf(System.nanoTime()).getBytes())
+                    ).join();
+                    return "mine".getBytes(StandardCharsets.UTF_8);
+                }
+            ).toCompletableFuture().join()
+        );
+        MatcherAssert.assertThat(
+            err.getCause().getMessage(),
+            Matchers.containsString("in 3 attempts")
+        );
+    }
+
+    /**
+     * Read updated value.
+     *
+     * @return Value as string.
+     */
+    private String value() {
+        return new PublisherAs(this.storage.value(OptimisticUpdateTest.KEY).join())
+            .string(StandardCharsets.UTF_8).toCompletableFuture().join();
+    }
+}
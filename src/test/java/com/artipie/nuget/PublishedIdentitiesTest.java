@@ -0,0 +1,133 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link PublishedIdentities}.
+ *
+ * @since 1.6
+ */
+class PublishedIdentitiesTest {
+
+    /**
+     * Storage used in tests.
+     */
+    private CountingStorage storage;
+
+    @BeforeEach
+    void init() {
+        this.storage = new CountingStorage(new InMemoryStorage());
+    }
+
+    @Test
+    void findsPublishedIdentity() {
+        final PackageIdentity identity = PublishedIdentitiesTest.identity("1.0.0");
+        this.storage.save(identity.nupkgKey(), new Content.From(new byte[]{1})).join();
+        MatcherAssert.assertThat(
+            new PublishedIdentities(this.storage).contains(identity)
+                .toCompletableFuture().join(),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void findsIdentityPublishedAfterCheck() {
+        final PublishedIdentities identities = new PublishedIdentities(this.storage);
+        final PackageIdentity identity = PublishedIdentitiesTest.identity("1.0.0");
+        MatcherAssert.assertThat(
+            "Identity is found before it is published",
+            identities.contains(identity).toCompletableFuture().join(),
+            Matchers.is(false)
+        );
+        this.storage.save(identity.nupkgKey(), new Content.From(new byte[]{1})).join();
+        MatcherAssert.assertThat(
+            "Identity published by other node is not found",
+            identities.contains(identity).toCompletableFuture().join(),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void checksIdentityWithoutListing() {
+        new PublishedIdentities(this.storage)
+            .contains(PublishedIdentitiesTest.identity("1.0.0"))
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.storage.lists.get(),
+            Matchers.equalTo(0)
+        );
+    }
+
+    @Test
+    void rejectsSecondClaimUntilReleased() {
+        final PublishedIdentities identities = new PublishedIdentities(this.storage);
+        final PackageIdentity identity = PublishedIdentitiesTest.identity("1.0.0");
+        identities.claim(identity);
+        MatcherAssert.assertThat(
+            "Identity is claimed twice",
+            identities.claim(identity),
+            Matchers.is(false)
+        );
+        identities.release(identity);
+        MatcherAssert.assertThat(
+            "Released identity is not claimed",
+            identities.claim(identity),
+            Matchers.is(true)
+        );
+    }
+
+    /**
+     * Identity of test package.
+     *
+     * @param version Version.
+     * @return Package identity.
+     */
+    private static PackageIdentity identity(final String version) {
+        return new PackageIdentity(new PackageId("Lib"), new Version(version));
+    }
+
+    /**
+     * Storage counting list calls.
+     *
+     * @since 1.6
+     */
+    private static final class CountingStorage extends Storage.Wrap {
+
+        /**
+         * Number of list calls.
+         */
+        private final AtomicInteger lists;
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin storage.
+         */
+        CountingStorage(final Storage origin) {
+            super(origin);
+            this.lists = new AtomicInteger();
+        }
+
+        @Override
+        public CompletableFuture<Collection<Key>> list(final Key key) {
+            this.lists.incrementAndGet();
+            return super.list(key);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.nuget.metadata.Version;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link VersionsCommitter}.
+ *
+ * @since 1.6
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+class VersionsCommitterTest {
+
+    @Test
+    void writesConcurrentVersionsInFewUpdates() {
+        final CountingStorage storage = new CountingStorage(new InMemoryStorage());
+        final VersionsCommitter committer =
+            new VersionsCommitter(storage, Duration.ofMillis(200), 64);
+        final PackageKeys pkey = new PackageKeys("Lib");
+        CompletableFuture.allOf(
+            IntStream.range(0, 40).mapToObj(
+                num -> committer.add(pkey, new Version(String.format("1.0.%d", num)))
+                    .toCompletableFuture()
+            ).toArray(CompletableFuture[]::new)
+        ).join();
+        MatcherAssert.assertThat(
+            "Not all versions are added",
+            new AstoRepository(storage).versions(pkey).toCompletableFuture().join().all(),
+            Matchers.hasSize(40)
+        );
+        MatcherAssert.assertThat(
+            "Versions are not written in batch",
+            storage.updates.get(),
+            Matchers.lessThan(4)
+        );
+    }
+
+    @Test
+    void flushesFullBatchBeforeWindowEnds() {
+        final VersionsCommitter committer =
+            new VersionsCommitter(new InMemoryStorage(), Duration.ofHours(1), 2);
+        final PackageKeys pkey = new PackageKeys("Lib");
+        final CompletableFuture<Void> first =
+            committer.add(pkey, new Version("1.0.0")).toCompletableFuture();
+        committer.add(pkey, new Version("2.0.0")).toCompletableFuture().join();
+        MatcherAssert.assertThat(first.isDone(), Matchers.is(true));
+    }
+
+    /**
+     * Storage counting exclusive operations, i.e. registry updates.
+     *
+     * @since 1.6
+     */
+    private static final class CountingStorage extends Storage.Wrap {
+
+        /**
+         * Number of exclusive operations.
+         */
+        private final AtomicInteger updates;
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin storage.
+         */
+        CountingStorage(final Storage origin) {
+            super(origin);
+            this.updates = new AtomicInteger();
+        }
+
+        @Override
+        public <T> CompletionStage<T> exclusively(final Key key,
+            final Function<Storage, CompletionStage<T>> operation) {
+            this.updates.incrementAndGet();
+            return super.exclusively(key, operation);
+        }
+    }
+}
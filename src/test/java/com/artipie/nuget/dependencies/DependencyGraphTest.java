@@ -0,0 +1,163 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.dependencies;
+
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.nuget.AstoRepository;
+import com.artipie.nuget.metadata.DependencyGroup;
+import com.artipie.nuget.metadata.Nuspec;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link DependencyGraph}.
+ *
+ * @since 1.6
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class DependencyGraphTest {
+
+    /**
+     * Dependency graph.
+     */
+    private DependencyGraph graph;
+
+    @BeforeEach
+    void init() {
+        this.graph = new DependencyGraph(new AstoRepository(new InMemoryStorage()));
+        this.graph.ready().toCompletableFuture().join();
+    }
+
+    @Test
+    void resolvesTransitiveClosureWithLowestApplicableVersions() {
+        this.graph.add(DependencyGraphTest.nuspec("App", "1.0.0", "", "Lib:[1.0.0, )"));
+        this.graph.add(DependencyGraphTest.nuspec("Lib", "1.0.0", "", "Core:1.0.0"));
+        this.graph.add(DependencyGraphTest.nuspec("Lib", "2.0.0", "", "Core:2.0.0"));
+        this.graph.add(DependencyGraphTest.nuspec("Core", "1.0.0", ""));
+        this.graph.add(DependencyGraphTest.nuspec("Core", "2.0.0", ""));
+        MatcherAssert.assertThat(
+            DependencyGraphTest.resolved(this.graph.closure(DependencyGraphTest.root("app"), "")),
+            Matchers.contains("App 1.0.0", "Core 1.0.0", "Lib 1.0.0")
+        );
+    }
+
+    @Test
+    void takesHighestOfRequiredVersionsAndDropsSupersededDependencies() {
+        this.graph.add(
+            DependencyGraphTest.nuspec("App", "1.0.0", "", "Lib:1.0.0", "Other:1.0.0")
+        );
+        this.graph.add(DependencyGraphTest.nuspec("Other", "1.0.0", "", "Lib:(1.0.0, )"));
+        this.graph.add(DependencyGraphTest.nuspec("Lib", "1.0.0", "", "Core:1.0.0"));
+        this.graph.add(DependencyGraphTest.nuspec("Lib", "1.5.0", ""));
+        this.graph.add(DependencyGraphTest.nuspec("Core", "1.0.0", ""));
+        MatcherAssert.assertThat(
+            DependencyGraphTest.resolved(this.graph.closure(DependencyGraphTest.root("App"), "")),
+            Matchers.contains("App 1.0.0", "Lib 1.5.0", "Other 1.0.0")
+        );
+    }
+
+    @Test
+    void reportsUnresolvedDependencies() {
+        this.graph.add(DependencyGraphTest.nuspec("App", "1.0.0", "", "Missing:1.0.0"));
+        MatcherAssert.assertThat(
+            this.graph.closure(DependencyGraphTest.root("App"), "").unresolved().stream()
+                .map(DependencyGroup.Dependency::id)
+                .collect(Collectors.toList()),
+            Matchers.contains("Missing")
+        );
+    }
+
+    @Test
+    void respectsUpperBoundOfRange() {
+        this.graph.add(DependencyGraphTest.nuspec("App", "1.0.0", "", "Lib:[2.0, 3.0)"));
+        this.graph.add(DependencyGraphTest.nuspec("Lib", "1.0.0", ""));
+        this.graph.add(DependencyGraphTest.nuspec("Lib", "3.0.0", ""));
+        MatcherAssert.assertThat(
+            DependencyGraphTest.resolved(this.graph.closure(DependencyGraphTest.root("App"), "")),
+            Matchers.contains("App 1.0.0")
+        );
+    }
+
+    @Test
+    void followsDependenciesOfTargetFramework() {
+        this.graph.add(DependencyGraphTest.nuspec("App", "1.0.0", "net6.0", "Modern:1.0.0"));
+        this.graph.add(DependencyGraphTest.nuspec("Modern", "1.0.0", ""));
+        MatcherAssert.assertThat(
+            "Should follow group of requested framework",
+            DependencyGraphTest.resolved(
+                this.graph.closure(DependencyGraphTest.root("App"), "NET6.0")
+            ),
+            Matchers.contains("App 1.0.0", "Modern 1.0.0")
+        );
+        MatcherAssert.assertThat(
+            "Should skip groups of other frameworks",
+            DependencyGraphTest.resolved(
+                this.graph.closure(DependencyGraphTest.root("App"), "net48")
+            ),
+            Matchers.contains("App 1.0.0")
+        );
+    }
+
+    /**
+     * Root package without version range.
+     *
+     * @param id Package id.
+     * @return Roots.
+     */
+    private static List<DependencyGroup.Dependency> root(final String id) {
+        return Collections.singletonList(new DependencyGroup.Dependency(id, ""));
+    }
+
+    /**
+     * Resolved packages as strings.
+     *
+     * @param closure Closure.
+     * @return Id and version of every resolved package.
+     */
+    private static List<String> resolved(final Closure closure) {
+        return closure.packages().stream()
+            .map(node -> String.format("%s %s", node.id(), node.version().normalized()))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Nuspec with single dependency group.
+     *
+     * @param id Package id.
+     * @param version Package version.
+     * @param framework Target framework of dependency group.
+     * @param deps Dependencies in form of {@code id:range}.
+     * @return Nuspec.
+     */
+    private static Nuspec nuspec(final String id, final String version, final String framework,
+        final String... deps) {
+        return new Nuspec.Xml(
+            String.join(
+                "",
+                "<?xml version=\"1.0\"?>",
+                "<package xmlns=\"http://schemas.microsoft.com/packaging/2013/05/nuspec.xsd\">",
+                String.format("<metadata><id>%s</id><version>%s</version>", id, version),
+                String.format(
+                    "<dependencies><group targetFramework=\"%s\">%s</group></dependencies>",
+                    framework,
+                    Arrays.stream(deps).map(
+                        dep -> String.format(
+                            "<dependency id=\"%s\" version=\"%s\"/>",
+                            dep.substring(0, dep.indexOf(':')),
+                            dep.substring(dep.indexOf(':') + 1)
+                        )
+                    ).collect(Collectors.joining())
+                ),
+                "</metadata></package>"
+            ).getBytes()
+        );
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.downloads;
+
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import java.time.Duration;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Downloads}.
+ *
+ * @since 1.6
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+class DownloadsTest {
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    @BeforeEach
+    void init() {
+        this.storage = new InMemoryStorage();
+    }
+
+    @Test
+    void countsWithoutStorageWrites() {
+        try (Downloads downloads = new Downloads(this.storage, Duration.ofHours(1))) {
+            downloads.count("Newtonsoft.Json", "12.0.3");
+            downloads.count("newtonsoft.json", "12.0.3");
+            MatcherAssert.assertThat(
+                "Should count downloads case-insensitively",
+                downloads.downloads("NEWTONSOFT.JSON", "12.0.3"),
+                Matchers.is(2L)
+            );
+            MatcherAssert.assertThat(
+                "Should not write storage before flush",
+                this.storage.list(Downloads.ROOT).join(),
+                Matchers.empty()
+            );
+        }
+    }
+
+    @Test
+    void flushesAndLoadsTotals() {
+        try (Downloads first = new Downloads(this.storage, Duration.ofHours(1))) {
+            first.count("Serilog", "2.0.0");
+            first.flush().toCompletableFuture().join();
+            first.count("Serilog", "2.0.0");
+        }
+        try (Downloads second = new Downloads(this.storage, Duration.ofHours(1))) {
+            second.count("Serilog", "2.0.0");
+            second.ready().toCompletableFuture().join();
+            second.flush().toCompletableFuture().join();
+            MatcherAssert.assertThat(
+                second.downloads("Serilog", "2.0.0"),
+                Matchers.is(3L)
+            );
+        }
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.group;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.nuget.AstoRepository;
+import com.artipie.nuget.PackageIdentity;
+import com.artipie.nuget.PackageKeys;
+import com.artipie.nuget.ReadOnlyRepositoryException;
+import com.artipie.nuget.Repository;
+import com.artipie.nuget.Versions;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.NuspecField;
+import com.artipie.nuget.metadata.Version;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link GroupRepository}.
+ *
+ * @since 1.6
+ */
+class GroupRepositoryTest {
+
+    /**
+     * Storage of first member.
+     */
+    private Storage first;
+
+    /**
+     * Storage of second member.
+     */
+    private Storage second;
+
+    @BeforeEach
+    void init() {
+        this.first = new InMemoryStorage();
+        this.second = new InMemoryStorage();
+    }
+
+    @Test
+    void mergesVersionsOfAllMembers() {
+        GroupRepositoryTest.save(this.first, "lib/index.json", "{\"versions\":[\"1.0.0\"]}");
+        GroupRepositoryTest.save(
+            this.second, "lib/index.json", "{\"versions\":[\"1.0.0\",\"2.0.0\"]}"
+        );
+        MatcherAssert.assertThat(
+            this.group(Duration.ofSeconds(1)).versions(new PackageKeys("Lib"))
+                .toCompletableFuture().join().all(),
+            Matchers.contains(new Version("1.0.0"), new Version("2.0.0"))
+        );
+    }
+
+    @Test
+    void servesContentFromFirstMemberHavingIt() {
+        GroupRepositoryTest.save(this.first, "lib/1.0.0/lib.1.0.0.nupkg", "first");
+        GroupRepositoryTest.save(this.second, "lib/1.0.0/lib.1.0.0.nupkg", "second");
+        GroupRepositoryTest.save(this.second, "lib/2.0.0/lib.2.0.0.nupkg", "only second");
+        final GroupRepository group = this.group(Duration.ofSeconds(1));
+        MatcherAssert.assertThat(
+            "Content is not served from first member",
+            GroupRepositoryTest.read(group, "lib/1.0.0/lib.1.0.0.nupkg"),
+            Matchers.equalTo(Optional.of("first"))
+        );
+        MatcherAssert.assertThat(
+            "Content is not served from second member",
+            GroupRepositoryTest.read(group, "lib/2.0.0/lib.2.0.0.nupkg"),
+            Matchers.equalTo(Optional.of("only second"))
+        );
+        MatcherAssert.assertThat(
+            "Content absent in all members is found",
+            GroupRepositoryTest.read(group, "lib/3.0.0/lib.3.0.0.nupkg"),
+            Matchers.equalTo(Optional.empty())
+        );
+    }
+
+    @Test
+    void doesNotAskNextMemberForContentFirstMemberHas() {
+        GroupRepositoryTest.save(this.first, "lib/1.0.0/lib.1.0.0.nupkg", "first");
+        final Counting next = new Counting();
+        final GroupRepository group = new GroupRepository(
+            Arrays.asList(new AstoRepository(this.first), next),
+            Duration.ofSeconds(1)
+        );
+        MatcherAssert.assertThat(
+            "Content is not served from first member",
+            GroupRepositoryTest.read(group, "lib/1.0.0/lib.1.0.0.nupkg"),
+            Matchers.equalTo(Optional.of("first"))
+        );
+        MatcherAssert.assertThat(
+            "Next member is asked for package first member has",
+            next.calls.get(),
+            Matchers.equalTo(0)
+        );
+    }
+
+    @Test
+    void skipsMemberWhichDoesNotAnswerInTime() {
+        GroupRepositoryTest.save(this.second, "lib/1.0.0/lib.1.0.0.nupkg", "second");
+        GroupRepositoryTest.save(this.second, "lib/index.json", "{\"versions\":[\"1.0.0\"]}");
+        final GroupRepository group = new GroupRepository(
+            Arrays.asList(new Hanging(), new AstoRepository(this.second)),
+            Duration.ofMillis(100)
+        );
+        MatcherAssert.assertThat(
+            "Content is not served from answering member",
+            GroupRepositoryTest.read(group, "lib/1.0.0/lib.1.0.0.nupkg"),
+            Matchers.equalTo(Optional.of("second"))
+        );
+        MatcherAssert.assertThat(
+            "Versions are not served from answering member",
+            group.versions(new PackageKeys("lib")).toCompletableFuture().join().all(),
+            Matchers.contains(new Version("1.0.0"))
+        );
+    }
+
+    @Test
+    void mergesPackagesOfAllMembers() {
+        GroupRepositoryTest.save(this.first, "lib/index.json", "{\"versions\":[\"1.0.0\"]}");
+        GroupRepositoryTest.save(this.second, "lib/index.json", "{\"versions\":[\"2.0.0\"]}");
+        GroupRepositoryTest.save(this.second, "app/index.json", "{\"versions\":[\"1.0.0\"]}");
+        MatcherAssert.assertThat(
+            this.group(Duration.ofSeconds(1)).packages().toCompletableFuture().join()
+                .stream().map(NuspecField::normalized).collect(Collectors.toList()),
+            Matchers.containsInAnyOrder("lib", "app")
+        );
+    }
+
+    @Test
+    void rejectsPublishing() {
+        final CompletionException err = Assertions.assertThrows(
+            CompletionException.class,
+            () -> this.group(Duration.ofSeconds(1))
+                .add(new Content.From(new byte[]{1}))
+                .toCompletableFuture().join()
+        );
+        MatcherAssert.assertThat(
+            err.getCause(),
+            Matchers.instanceOf(ReadOnlyRepositoryException.class)
+        );
+    }
+
+    /**
+     * Group of two members.
+     *
+     * @param timeout Member timeout.
+     * @return Group repository.
+     */
+    private GroupRepository group(final Duration timeout) {
+        return new GroupRepository(
+            Arrays.asList(new AstoRepository(this.first), new AstoRepository(this.second)),
+            timeout
+        );
+    }
+
+    /**
+     * Save string to storage.
+     *
+     * @param storage Storage.
+     * @param key Key.
+     * @param value Value.
+     */
+    private static void save(final Storage storage, final String key, final String value) {
+        storage.save(new Key.From(key), new Content.From(value.getBytes(StandardCharsets.UTF_8)))
+            .join();
+    }
+
+    /**
+     * Read content from repository as string.
+     *
+     * @param repo Repository.
+     * @param key Key.
+     * @return Content as string if exists.
+     */
+    private static Optional<String> read(final Repository repo, final String key) {
+        return repo.content(new Key.From(key)).toCompletableFuture().join().map(
+            content -> new PublisherAs(content).string(StandardCharsets.UTF_8)
+                .toCompletableFuture().join()
+        );
+    }
+
+    /**
+     * Repository which never answers.
+     *
+     * @since 1.6
+     */
+    private static final class Hanging implements Repository {
+
+        @Override
+        public CompletionStage<Optional<Content>> content(final Key key) {
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public CompletionStage<Optional<Long>> size(final Key key) {
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public CompletionStage<PackageInfo> add(final Content content) {
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public CompletionStage<Versions> versions(final PackageKeys id) {
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public CompletionStage<Nuspec> nuspec(final PackageIdentity identity) {
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public CompletionStage<Collection<NuspecField>> packages() {
+            return new CompletableFuture<>();
+        }
+    }
+
+    /**
+     * Repository which has no packages and counts package file lookups.
+     *
+     * @since 1.6
+     */
+    private static final class Counting implements Repository {
+
+        /**
+         * Package file lookups.
+         */
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public CompletionStage<Optional<Content>> content(final Key key) {
+            this.calls.incrementAndGet();
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        @Override
+        public CompletionStage<Optional<Long>> size(final Key key) {
+            this.calls.incrementAndGet();
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        @Override
+        public CompletionStage<PackageInfo> add(final Content content) {
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public CompletionStage<Versions> versions(final PackageKeys id) {
+            return CompletableFuture.completedFuture(new Versions());
+        }
+
+        @Override
+        public CompletionStage<Nuspec> nuspec(final PackageIdentity identity) {
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public CompletionStage<Collection<NuspecField>> packages() {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http;
+
+import com.artipie.http.auth.AuthUser;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link AuthCache}.
+ *
+ * @since 1.6
+ */
+class AuthCacheTest {
+
+    @Test
+    void shouldAuthenticateOnceForSameHeader() {
+        final AuthCache cache = new AuthCache();
+        final AtomicInteger calls = new AtomicInteger();
+        for (int cnt = 0; cnt < 3; cnt = cnt + 1) {
+            cache.user(
+                "Basic abc",
+                header -> {
+                    calls.incrementAndGet();
+                    return Optional.of(new AuthUser("alice", "test"));
+                }
+            );
+        }
+        MatcherAssert.assertThat(
+            "Origin authentication should be called once",
+            calls.get(),
+            new IsEqual<>(1)
+        );
+        MatcherAssert.assertThat(
+            "Cache hits should be counted",
+            cache.successes().hitCount(),
+            new IsEqual<>(2L)
+        );
+    }
+
+    @Test
+    void shouldCacheFailures() {
+        final AuthCache cache = new AuthCache();
+        final AtomicInteger calls = new AtomicInteger();
+        cache.user("Basic xyz", header -> Optional.empty());
+        MatcherAssert.assertThat(
+            "Failed authentication should be cached",
+            cache.user(
+                "Basic xyz",
+                header -> {
+                    calls.incrementAndGet();
+                    return Optional.of(new AuthUser("bob", "test"));
+                }
+            ).isPresent(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Origin authentication should not be called",
+            calls.get(),
+            new IsEqual<>(0)
+        );
+        MatcherAssert.assertThat(
+            "Negative cache hit should be counted",
+            cache.failures().hitCount(),
+            new IsEqual<>(1L)
+        );
+    }
+
+    @Test
+    void shouldAuthenticateAgainWhenExpired() {
+        final AuthCache cache = new AuthCache(Duration.ZERO, Duration.ZERO, 10);
+        final AtomicInteger calls = new AtomicInteger();
+        cache.user("Basic one", header -> Optional.of(new AuthUser("carol", "test")));
+        cache.user(
+            "Basic one",
+            header -> {
+                calls.incrementAndGet();
+                return Optional.of(new AuthUser("carol", "test"));
+            }
+        );
+        MatcherAssert.assertThat(calls.get(), new IsEqual<>(1));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http;
+
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.auth.OperationControl;
+import com.artipie.http.headers.Authorization;
+import com.artipie.http.headers.Header;
+import com.artipie.http.hm.ResponseMatcher;
+import com.artipie.http.hm.RsHasHeaders;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.rs.RsFull;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.security.perms.Action;
+import com.artipie.security.perms.AdapterBasicPermission;
+import com.artipie.security.policy.PolicyByUsername;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+
+/**
+ * Tests for {@link BasicAuthResource}.
+ *
+ * @since 1.6
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+class BasicAuthResourceTest {
+
+    @Test
+    void shouldServeAuthorizedRequestWithLogin() {
+        MatcherAssert.assertThat(
+            this.resource().get(new TestAuthentication.Headers()),
+            Matchers.allOf(
+                new RsHasStatus(RsStatus.OK),
+                new RsHasHeaders(new Header("artipie_login", TestAuthentication.USERNAME))
+            )
+        );
+    }
+
+    @Test
+    void shouldServeAuthorizedPut() {
+        MatcherAssert.assertThat(
+            this.resource().put(new TestAuthentication.Headers(), Flowable.empty()),
+            new RsHasStatus(RsStatus.CREATED)
+        );
+    }
+
+    @Test
+    void shouldRequireCredentials() {
+        MatcherAssert.assertThat(
+            this.resource().get(Headers.EMPTY),
+            new ResponseMatcher(
+                RsStatus.UNAUTHORIZED, new Header("WWW-Authenticate", "Basic realm=\"artipie\"")
+            )
+        );
+    }
+
+    @Test
+    void shouldRejectWrongPassword() {
+        MatcherAssert.assertThat(
+            this.resource().get(
+                new Headers.From(
+                    new Authorization.Basic(TestAuthentication.USERNAME, "wrong")
+                )
+            ),
+            new RsHasStatus(RsStatus.UNAUTHORIZED)
+        );
+    }
+
+    @Test
+    void shouldForbidUserWithoutPermission() {
+        MatcherAssert.assertThat(
+            new BasicAuthResource(
+                new Echo(),
+                new TestAuthentication(),
+                new OperationControl(
+                    new PolicyByUsername("Jafar"),
+                    new AdapterBasicPermission("test", Action.Standard.READ)
+                )
+            ).get(new TestAuthentication.Headers()),
+            new RsHasStatus(RsStatus.FORBIDDEN)
+        );
+    }
+
+    /**
+     * Resource under test.
+     *
+     * @return Protected resource.
+     */
+    private Resource resource() {
+        return new BasicAuthResource(
+            new Echo(),
+            new TestAuthentication(),
+            new OperationControl(
+                new PolicyByUsername(TestAuthentication.USERNAME),
+                new AdapterBasicPermission("test", Action.Standard.READ)
+            )
+        );
+    }
+
+    /**
+     * Resource responding with request headers.
+     *
+     * @since 1.6
+     */
+    private static final class Echo implements Resource {
+
+        @Override
+        public Response get(final Headers headers) {
+            return new RsFull(RsStatus.OK, headers, Flowable.empty());
+        }
+
+        @Override
+        public Response head(final Headers headers) {
+            return new RsWithStatus(RsStatus.OK);
+        }
+
+        @Override
+        public Response put(final Headers headers, final Publisher<ByteBuffer> body) {
+            return new RsWithStatus(RsStatus.CREATED);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http;
+
+import com.artipie.http.Headers;
+import com.artipie.http.headers.Header;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasHeaders;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.rs.RsStatus;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.apache.commons.io.IOUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsNot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for {@link RsNegotiated}.
+ *
+ * @since 1.6
+ */
+class RsNegotiatedTest {
+
+    /**
+     * Document used in tests.
+     */
+    private static final byte[] DOC =
+        "{\"versions\":[\"1.0.0\",\"1.0.1\"]}".getBytes(StandardCharsets.UTF_8);
+
+    @ParameterizedTest
+    @ValueSource(strings = {"gzip", "deflate, gzip", "br;q=1.0, gzip;q=0.8"})
+    void shouldSendGzip(final String accept) {
+        MatcherAssert.assertThat(
+            new RsNegotiated(
+                new Headers.From("Accept-Encoding", accept), RsNegotiatedTest.DOC, new GzipCache()
+            ),
+            Matchers.allOf(
+                new RsHasStatus(RsStatus.OK),
+                new RsHasHeaders(new Header("Content-Encoding", "gzip")),
+                new RsHasBody(new IsNot<>(new IsEqual<>(RsNegotiatedTest.DOC)))
+            )
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"identity", "br", "gzip;q=0"})
+    void shouldSendPlainBody(final String accept) {
+        MatcherAssert.assertThat(
+            new RsNegotiated(
+                new Headers.From("Accept-Encoding", accept), RsNegotiatedTest.DOC, new GzipCache()
+            ),
+            Matchers.allOf(
+                new RsHasStatus(RsStatus.OK),
+                new RsHasBody(RsNegotiatedTest.DOC)
+            )
+        );
+    }
+
+    @Test
+    void shouldCompressOnce() throws IOException {
+        final GzipCache cache = new GzipCache();
+        final byte[] first = cache.gzip(RsNegotiatedTest.DOC);
+        MatcherAssert.assertThat(
+            "Same encoded bytes should be returned from cache",
+            cache.gzip(RsNegotiatedTest.DOC),
+            Matchers.sameInstance(first)
+        );
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(first))) {
+            MatcherAssert.assertThat(
+                "Encoded bytes should be decompressed to original document",
+                IOUtils.toByteArray(input),
+                new IsEqual<>(RsNegotiatedTest.DOC)
+            );
+        }
+    }
+}
@@ -46,6 +46,11 @@ public class SliceFromResourceTest {
                     );
                 }
 
+                @Override
+                public Response head(final Headers headers) {
+                    throw new UnsupportedOperationException();
+                }
+
                 @Override
                 public Response put(final Headers headers, final Publisher<ByteBuffer> body) {
                     throw new UnsupportedOperationException();
@@ -78,6 +83,11 @@ public class SliceFromResourceTest {
                     throw new UnsupportedOperationException();
                 }
 
+                @Override
+                public Response head(final Headers headers) {
+                    throw new UnsupportedOperationException();
+                }
+
                 @Override
                 public Response put(final Headers headers, final Publisher<ByteBuffer> body) {
                     return new RsFull(status, headers, body);
@@ -13,6 +13,7 @@ import com.artipie.http.Response;
 import com.artipie.http.headers.Header;
 import com.artipie.http.hm.ResponseMatcher;
 import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasHeaders;
 import com.artipie.http.hm.RsHasStatus;
 import com.artipie.http.rq.RequestLine;
 import com.artipie.http.rq.RqMethod;
@@ -90,6 +91,46 @@ class NuGetPackageContentTest {
         );
     }
 
+    @Test
+    void shouldHeadPackageContent() throws Exception {
+        final byte[] data = "data".getBytes();
+        new BlockingStorage(this.storage).save(
+            new Key.From("package", "1.0.0", "content.nupkg"),
+            data
+        );
+        MatcherAssert.assertThat(
+            "Package content size should be returned without body",
+            this.nuget.response(
+                new RequestLine(
+                    RqMethod.HEAD,
+                    "/content/package/1.0.0/content.nupkg"
+                ).toString(),
+                new TestAuthentication.Headers(),
+                Flowable.empty()
+            ),
+            Matchers.allOf(
+                new RsHasStatus(RsStatus.OK),
+                new RsHasHeaders(new Header("Content-Length", String.valueOf(data.length))),
+                new RsHasBody(new byte[0])
+            )
+        );
+    }
+
+    @Test
+    void shouldFailHeadPackageContentWhenNotExists() {
+        MatcherAssert.assertThat(
+            this.nuget.response(
+                new RequestLine(
+                    RqMethod.HEAD,
+                    "/content/package/1.0.0/content.nupkg"
+                ).toString(),
+                new TestAuthentication.Headers(),
+                Flowable.empty()
+            ),
+            new RsHasStatus(RsStatus.NOT_FOUND)
+        );
+    }
+
     @Test
     void shouldFailGetPackageContentWhenNotExists() {
         MatcherAssert.assertThat(
@@ -106,6 +147,44 @@ class NuGetPackageContentTest {
         );
     }
 
+    @Test
+    void shouldNotGetInternalData() {
+        new BlockingStorage(this.storage).save(
+            new Key.From(".uploads", "3f2504e0-4f89-11d3-9a0c-0305e82c3301", "parts", "1"),
+            "data".getBytes()
+        );
+        MatcherAssert.assertThat(
+            this.nuget.response(
+                new RequestLine(
+                    RqMethod.GET,
+                    "/content/.uploads/3f2504e0-4f89-11d3-9a0c-0305e82c3301/parts/1"
+                ).toString(),
+                new TestAuthentication.Headers(),
+                Flowable.empty()
+            ),
+            new RsHasStatus(RsStatus.NOT_FOUND)
+        );
+    }
+
+    @Test
+    void shouldNotGetPartOfPackageFile() {
+        new BlockingStorage(this.storage).save(
+            new Key.From("package", "1.0.0", "content.nupkg.parts", "1"),
+            "data".getBytes()
+        );
+        MatcherAssert.assertThat(
+            this.nuget.response(
+                new RequestLine(
+                    RqMethod.GET,
+                    "/content/package/1.0.0/content.nupkg.parts/1"
+                ).toString(),
+                new TestAuthentication.Headers(),
+                Flowable.empty()
+            ),
+            new RsHasStatus(RsStatus.NOT_FOUND)
+        );
+    }
+
     @Test
     void shouldFailPutPackageContent() {
         final Response response = this.nuget.response(
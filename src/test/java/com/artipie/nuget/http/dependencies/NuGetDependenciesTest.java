@@ -0,0 +1,139 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.dependencies;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.nuget.AstoRepository;
+import com.artipie.nuget.PackageIdentity;
+import com.artipie.nuget.PackageKeys;
+import com.artipie.nuget.Versions;
+import com.artipie.nuget.http.NuGet;
+import com.artipie.nuget.http.TestAuthentication;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.Version;
+import com.artipie.scheduling.EventQueue;
+import com.artipie.security.policy.PolicyByUsername;
+import io.reactivex.Flowable;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link NuGet}.
+ * Dependency closure resource.
+ *
+ * @since 1.6
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+class NuGetDependenciesTest {
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    /**
+     * Tested NuGet slice.
+     */
+    private NuGet nuget;
+
+    @BeforeEach
+    void init() throws Exception {
+        this.storage = new InMemoryStorage();
+        this.nuget = new NuGet(
+            new URL("http://localhost"),
+            new AstoRepository(this.storage),
+            new PolicyByUsername(TestAuthentication.USERNAME),
+            new TestAuthentication(),
+            "test",
+            new EventQueue<>()
+        );
+    }
+
+    @Test
+    void shouldResolveClosure() {
+        this.save("App", "1.0.0", "<dependency id=\"Lib\" version=\"[1.0.0, )\"/>");
+        this.save("Lib", "1.0.0", "");
+        MatcherAssert.assertThat(
+            this.nuget.response(
+                new RequestLine(
+                    RqMethod.GET, "/dependencies?package=app@1.0.0&package=Unknown"
+                ).toString(),
+                new TestAuthentication.Headers(),
+                Flowable.empty()
+            ),
+            Matchers.allOf(
+                new RsHasStatus(RsStatus.OK),
+                new RsHasBody(
+                    String.join(
+                        "",
+                        "{\"packages\":[",
+                        "{\"id\":\"App\",\"version\":\"1.0.0\",",
+                        "\"packageContent\":",
+                        "\"http://localhost/content/app/1.0.0/app.1.0.0.nupkg\",",
+                        "\"packageHash\":\"App-hash\",\"packageHashAlgorithm\":\"SHA512\"},",
+                        "{\"id\":\"Lib\",\"version\":\"1.0.0\",",
+                        "\"packageContent\":",
+                        "\"http://localhost/content/lib/1.0.0/lib.1.0.0.nupkg\",",
+                        "\"packageHash\":\"Lib-hash\",\"packageHashAlgorithm\":\"SHA512\"}],",
+                        "\"unresolved\":[{\"id\":\"Unknown\",\"range\":\"\"}]}"
+                    ).getBytes(StandardCharsets.UTF_8)
+                )
+            )
+        );
+    }
+
+    @Test
+    void shouldRejectRequestWithoutPackages() {
+        MatcherAssert.assertThat(
+            this.nuget.response(
+                new RequestLine(RqMethod.GET, "/dependencies").toString(),
+                new TestAuthentication.Headers(),
+                Flowable.empty()
+            ),
+            new RsHasStatus(RsStatus.BAD_REQUEST)
+        );
+    }
+
+    /**
+     * Save package nuspec, hash and versions registry.
+     *
+     * @param id Package id.
+     * @param version Package version.
+     * @param deps Dependencies XML.
+     */
+    private void save(final String id, final String version, final String deps) {
+        final Nuspec.Xml nuspec = new Nuspec.Xml(
+            String.join(
+                "",
+                "<?xml version=\"1.0\"?>",
+                "<package xmlns=\"http://schemas.microsoft.com/packaging/2013/05/nuspec.xsd\">",
+                String.format(
+                    "<metadata><id>%s</id><version>%s</version>", id, version
+                ),
+                String.format("<dependencies><group>%s</group></dependencies>", deps),
+                "</metadata></package>"
+            ).getBytes()
+        );
+        final PackageIdentity identity = new PackageIdentity(nuspec.id(), nuspec.version());
+        this.storage.save(identity.nuspecKey(), new Content.From(nuspec.bytes())).join();
+        this.storage.save(
+            identity.hashKey(),
+            new Content.From(String.format("%s-hash", id).getBytes(StandardCharsets.US_ASCII))
+        ).join();
+        new Versions().add(new Version(version))
+            .save(this.storage, new PackageKeys(id).versionsKey()).join();
+    }
+}
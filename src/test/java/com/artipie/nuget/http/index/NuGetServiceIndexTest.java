@@ -25,6 +25,7 @@ import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
 import org.hamcrest.TypeSafeMatcher;
 import org.hamcrest.core.AllOf;
 import org.junit.jupiter.api.BeforeEach;
@@ -87,9 +88,47 @@ class NuGetServiceIndexTest {
                                                 "RegistrationsBaseUrl/Versioned",
                                                 String.format("%s/registrations", this.url)
                                             ),
+                                            new IsService(
+                                                "RegistrationsBaseUrl/3.4.0",
+                                                String.format("%s/registrations-gz", this.url)
+                                            ),
+                                            new IsService(
+                                                "RegistrationsBaseUrl/3.6.0",
+                                                String.format(
+                                                    "%s/registrations-gz-semver2", this.url
+                                                )
+                                            ),
                                             new IsService(
                                                 "PackageBaseAddress/3.0.0",
                                                 String.format("%s/content", this.url)
+                                            ),
+                                            new IsService(
+                                                "SearchQueryService",
+                                                String.format("%s/query", this.url)
+                                            ),
+                                            new IsService(
+                                                "SearchQueryService/3.5.0",
+                                                String.format("%s/query", this.url)
+                                            ),
+                                            new IsService(
+                                                "SearchAutocompleteService",
+                                                String.format("%s/autocomplete", this.url)
+                                            ),
+                                            new IsService(
+                                                "SearchAutocompleteService/3.5.0",
+                                                String.format("%s/autocomplete", this.url)
+                                            ),
+                                            new IsService(
+                                                "Catalog/3.0.0",
+                                                String.format("%s/catalog", this.url)
+                                            ),
+                                            new IsService(
+                                                "DependencyClosure/1.0.0",
+                                                String.format("%s/dependencies", this.url)
+                                            ),
+                                            new IsService(
+                                                "PackageDependents/1.0.0",
+                                                String.format("%s/dependents", this.url)
                                             )
                                         )
                                     )
@@ -102,6 +141,21 @@ class NuGetServiceIndexTest {
         );
     }
 
+    @Test
+    void shouldHeadIndex() {
+        MatcherAssert.assertThat(
+            this.nuget.response(
+                new RequestLine(RqMethod.HEAD, "/index.json").toString(),
+                Collections.emptyList(),
+                Flowable.empty()
+            ),
+            Matchers.allOf(
+                new RsHasStatus(RsStatus.OK),
+                new RsHasBody(new byte[0])
+            )
+        );
+    }
+
     @Test
     void shouldFailPutIndex() {
         final Response response = this.nuget.response(
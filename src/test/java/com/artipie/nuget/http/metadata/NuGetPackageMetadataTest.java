@@ -11,6 +11,7 @@ import com.artipie.http.Response;
 import com.artipie.http.headers.Header;
 import com.artipie.http.hm.ResponseMatcher;
 import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasHeaders;
 import com.artipie.http.hm.RsHasStatus;
 import com.artipie.http.rq.RequestLine;
 import com.artipie.http.rq.RqMethod;
@@ -27,8 +28,11 @@ import com.artipie.scheduling.EventQueue;
 import com.artipie.security.policy.PolicyByUsername;
 import io.reactivex.Flowable;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URL;
 import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
 import javax.json.Json;
 import javax.json.JsonObject;
 import javax.json.JsonReader;
@@ -38,6 +42,8 @@ import org.hamcrest.TypeSafeMatcher;
 import org.hamcrest.core.AllOf;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 
 /**
  * Tests for {@link NuGet}.
@@ -133,6 +139,63 @@ class NuGetPackageMetadataTest {
         );
     }
 
+    @ParameterizedTest
+    @CsvSource({
+        "/registrations-gz/my.lib/index.json,1",
+        "/registrations-gz-semver2/my.lib/index.json,2"
+    })
+    void shouldFilterVersionsInGzipHives(final String path, final int count) {
+        new Versions()
+            .add(new Version("1.0.0"))
+            .add(new Version("2.0.0-beta.1"))
+            .save(this.storage, new PackageKeys("My.Lib").versionsKey())
+            .join();
+        this.saveNuspec("My.Lib", "1.0.0");
+        this.saveNuspec("My.Lib", "2.0.0-beta.1");
+        MatcherAssert.assertThat(
+            this.nuget.response(
+                new RequestLine(RqMethod.GET, path).toString(),
+                new TestAuthentication.Headers(),
+                Flowable.empty()
+            ),
+            new AllOf<>(
+                Arrays.asList(
+                    new RsHasStatus(RsStatus.OK),
+                    new RsHasHeaders(new Header("Content-Encoding", "gzip")),
+                    new RsHasBody(new IsGzipRegistrationWithVersions(count))
+                )
+            )
+        );
+    }
+
+    @Test
+    void shouldHeadRegistration() {
+        new Versions()
+            .add(new Version("1.0.1"))
+            .save(this.storage, new PackageKeys("My.Lib").versionsKey())
+            .join();
+        MatcherAssert.assertThat(
+            this.nuget.response(
+                new RequestLine(RqMethod.HEAD, "/registrations/my.lib/index.json").toString(),
+                new TestAuthentication.Headers(),
+                Flowable.empty()
+            ),
+            new RsHasStatus(RsStatus.OK)
+        );
+    }
+
+    @Test
+    void shouldFailHeadRegistrationWhenAbsent() {
+        MatcherAssert.assertThat(
+            this.nuget.response(
+                new RequestLine(RqMethod.HEAD, "/registrations/unknown/index.json").toString(),
+                new TestAuthentication.Headers(),
+                Flowable.empty()
+            ),
+            new RsHasStatus(RsStatus.NOT_FOUND)
+        );
+    }
+
     @Test
     void shouldFailPutRegistration() {
         final Response response = this.nuget.response(
@@ -163,6 +226,70 @@ class NuGetPackageMetadataTest {
         );
     }
 
+    /**
+     * Save nuspec of the package into storage.
+     *
+     * @param id Package id.
+     * @param version Package version.
+     */
+    private void saveNuspec(final String id, final String version) {
+        final Nuspec.Xml nuspec = new Nuspec.Xml(
+            String.join(
+                "",
+                "<?xml version=\"1.0\"?>",
+                "<package xmlns=\"http://schemas.microsoft.com/packaging/2013/05/nuspec.xsd\">",
+                String.format("<metadata><id>%s</id><version>%s</version></metadata>", id, version),
+                "</package>"
+            ).getBytes()
+        );
+        this.storage.save(
+            new PackageIdentity(nuspec.id(), nuspec.version()).nuspecKey(),
+            new Content.From(nuspec.bytes())
+        ).join();
+    }
+
+    /**
+     * Matcher for gzipped registration JSON with expected number of versions.
+     *
+     * @since 1.6
+     */
+    private static class IsGzipRegistrationWithVersions extends TypeSafeMatcher<byte[]> {
+
+        /**
+         * Expected versions count.
+         */
+        private final int count;
+
+        /**
+         * Ctor.
+         *
+         * @param count Expected versions count.
+         */
+        IsGzipRegistrationWithVersions(final int count) {
+            this.count = count;
+        }
+
+        @Override
+        public void describeTo(final Description description) {
+            description.appendText(
+                String.format("is gzipped registration JSON with %d versions", this.count)
+            );
+        }
+
+        @Override
+        public boolean matchesSafely(final byte[] bytes) {
+            final JsonObject root;
+            try (JsonReader reader = Json.createReader(
+                new GZIPInputStream(new ByteArrayInputStream(bytes))
+            )) {
+                root = reader.readObject();
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return root.getJsonArray("items").getJsonObject(0).getInt("count") == this.count;
+        }
+    }
+
     /**
      * Matcher for bytes array representing valid Registration JSON.
      *
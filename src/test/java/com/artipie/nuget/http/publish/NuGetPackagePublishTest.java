@@ -14,6 +14,8 @@ import com.artipie.http.rq.RequestLine;
 import com.artipie.http.rq.RqMethod;
 import com.artipie.http.rs.RsStatus;
 import com.artipie.nuget.AstoRepository;
+import com.artipie.nuget.NewtonJsonResource;
+import com.artipie.nuget.group.GroupRepository;
 import com.artipie.nuget.http.NuGet;
 import com.artipie.nuget.http.TestAuthentication;
 import com.artipie.scheduling.ArtifactEvent;
@@ -24,6 +26,10 @@ import io.reactivex.Flowable;
 import java.io.ByteArrayOutputStream;
 import java.net.URL;
 import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
 import org.apache.http.HttpEntity;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
@@ -74,6 +80,41 @@ class NuGetPackagePublishTest {
         MatcherAssert.assertThat("Events queue has one event", this.events.size() == 1);
     }
 
+    @Test
+    void shouldRejectPackageToGroup() throws Exception {
+        this.nuget = new NuGet(
+            new URL("http://localhost"),
+            new GroupRepository(
+                Collections.singletonList(new AstoRepository(new InMemoryStorage())),
+                Duration.ofSeconds(1)
+            ),
+            new PolicyByUsername(TestAuthentication.USERNAME),
+            new TestAuthentication(),
+            "test",
+            this.events
+        );
+        MatcherAssert.assertThat(
+            this.putPackage(nupkg()),
+            new RsHasStatus(RsStatus.METHOD_NOT_ALLOWED)
+        );
+    }
+
+    @Test
+    void shouldPutRawPackage() throws Exception {
+        MatcherAssert.assertThat(
+            this.nuget.response(
+                new RequestLine(RqMethod.PUT, "/package").toString(),
+                new Headers.From(
+                    new TestAuthentication.Header(),
+                    new Header("Content-Type", "application/octet-stream")
+                ),
+                Flowable.fromArray(ByteBuffer.wrap(nupkg()))
+            ),
+            new RsHasStatus(RsStatus.CREATED)
+        );
+        MatcherAssert.assertThat("Events queue has one event", this.events.size() == 1);
+    }
+
     @Test
     void shouldFailPutPackage() throws Exception {
         MatcherAssert.assertThat(
@@ -91,12 +132,51 @@ class NuGetPackagePublishTest {
         ).toCompletableFuture().join();
         MatcherAssert.assertThat(
             "Should fail to add same package when it is already present in the repository",
-            this.putPackage(nupkg()),
+            this.putPackage(new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").altered()),
             new RsHasStatus(RsStatus.CONFLICT)
         );
         MatcherAssert.assertThat("Events queue is contains one item", this.events.size() == 1);
     }
 
+    @Test
+    void shouldAcceptIdenticalPackageAgain() throws Exception {
+        this.putPackage(nupkg()).send(
+            (status, headers, body) -> CompletableFuture.allOf()
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Should accept retry of identical package",
+            this.putPackage(nupkg()),
+            new RsHasStatus(RsStatus.OK)
+        );
+        MatcherAssert.assertThat("Events queue is contains one item", this.events.size() == 1);
+    }
+
+    @Test
+    void shouldRejectPublishedPackageByEntityTag() throws Exception {
+        this.putPackage(nupkg()).send(
+            (status, headers, body) -> CompletableFuture.allOf()
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.nuget.response(
+                new RequestLine(RqMethod.PUT, "/package").toString(),
+                new Headers.From(
+                    new TestAuthentication.Header(),
+                    new Header(
+                        "If-None-Match",
+                        String.format(
+                            "\"%s\"",
+                            Base64.getEncoder().encodeToString(
+                                MessageDigest.getInstance("SHA-512").digest(nupkg())
+                            )
+                        )
+                    )
+                ),
+                Flowable.empty()
+            ),
+            new RsHasStatus(RsStatus.PRECONDITION_FAILED)
+        );
+    }
+
     @Test
     void shouldFailGetPackagePublish() {
         final Response response = this.nuget.response(
@@ -0,0 +1,236 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.publish;
+
+import com.artipie.asto.ArtipieIOException;
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.Response;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.nuget.AstoRepository;
+import com.artipie.nuget.Repository;
+import com.artipie.nuget.downloads.Downloads;
+import com.artipie.nuget.http.AuthCache;
+import com.artipie.nuget.http.NuGet;
+import com.artipie.nuget.http.TestAuthentication;
+import com.artipie.nuget.search.SearchIndex;
+import com.artipie.nuget.uploads.Uploads;
+import com.artipie.scheduling.ArtifactEvent;
+import com.artipie.scheduling.EventQueue;
+import com.artipie.security.policy.PolicyByUsername;
+import com.google.common.io.Resources;
+import io.reactivex.Flowable;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link NuGet}.
+ * Chunked package upload resource.
+ *
+ * @since 1.6
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+class NuGetPackageUploadTest {
+
+    /**
+     * Tested NuGet slice.
+     */
+    private NuGet nuget;
+
+    /**
+     * Uploads.
+     */
+    private Uploads uploads;
+
+    /**
+     * Events queue.
+     */
+    private EventQueue<ArtifactEvent> events;
+
+    @BeforeEach
+    void init() throws Exception {
+        final Repository repository = new AstoRepository(new InMemoryStorage());
+        this.events = new EventQueue<>();
+        this.uploads = new Uploads();
+        this.nuget = new NuGet(
+            new URL("http://localhost"),
+            repository,
+            new PolicyByUsername(TestAuthentication.USERNAME),
+            new TestAuthentication(),
+            "test",
+            this.events,
+            new AuthCache(),
+            new SearchIndex(repository),
+            new Downloads(),
+            this.uploads
+        );
+    }
+
+    @Test
+    void shouldStartUpload() {
+        MatcherAssert.assertThat(
+            this.put("/package/uploads", new byte[0]),
+            new RsHasStatus(RsStatus.CREATED)
+        );
+    }
+
+    @Test
+    void shouldPublishPackageFromParts() throws Exception {
+        final String id = this.uploads.start().toCompletableFuture().join();
+        final byte[] nupkg = NuGetPackageUploadTest.nupkg();
+        final int half = nupkg.length / 2;
+        MatcherAssert.assertThat(
+            "Second part is not stored",
+            this.put(
+                String.format("/package/uploads/%s/2", id),
+                Arrays.copyOfRange(nupkg, half, nupkg.length)
+            ),
+            new RsHasStatus(RsStatus.CREATED)
+        );
+        MatcherAssert.assertThat(
+            "First part is not stored",
+            this.put(
+                String.format("/package/uploads/%s/1", id), Arrays.copyOfRange(nupkg, 0, half)
+            ),
+            new RsHasStatus(RsStatus.CREATED)
+        );
+        MatcherAssert.assertThat(
+            "Package is not published",
+            this.put(String.format("/package/uploads/%s", id), new byte[0]),
+            new RsHasStatus(RsStatus.CREATED)
+        );
+        MatcherAssert.assertThat("Events queue has one event", this.events.size() == 1);
+        MatcherAssert.assertThat(
+            "Upload is not removed",
+            this.get(String.format("/package/uploads/%s", id)),
+            new RsHasStatus(RsStatus.NOT_FOUND)
+        );
+    }
+
+    @Test
+    void shouldKeepIncompleteUpload() {
+        final String id = this.uploads.start().toCompletableFuture().join();
+        this.uploads.part(id, 2, new Content.From(new byte[]{1})).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Incomplete upload is committed",
+            this.put(String.format("/package/uploads/%s", id), new byte[0]),
+            new RsHasStatus(RsStatus.BAD_REQUEST)
+        );
+        MatcherAssert.assertThat(
+            "Incomplete upload is removed",
+            this.get(String.format("/package/uploads/%s", id)),
+            new RsHasStatus(RsStatus.OK)
+        );
+    }
+
+    @Test
+    void shouldKeepUploadWhenPublishFails() throws Exception {
+        final Repository repository = new AstoRepository(
+            new Storage.Wrap(new InMemoryStorage()) {
+                @Override
+                public CompletableFuture<Void> move(final Key source, final Key destination) {
+                    final CompletableFuture<Void> res = new CompletableFuture<>();
+                    res.completeExceptionally(new ArtipieIOException("Storage is unavailable"));
+                    return res;
+                }
+            }
+        );
+        this.nuget = new NuGet(
+            new URL("http://localhost"),
+            repository,
+            new PolicyByUsername(TestAuthentication.USERNAME),
+            new TestAuthentication(),
+            "test",
+            this.events,
+            new AuthCache(),
+            new SearchIndex(repository),
+            new Downloads(),
+            this.uploads
+        );
+        final String id = this.uploads.start().toCompletableFuture().join();
+        this.uploads.part(id, 1, new Content.From(NuGetPackageUploadTest.nupkg()))
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Upload is committed",
+            this.put(String.format("/package/uploads/%s", id), new byte[0]),
+            new RsHasStatus(RsStatus.INTERNAL_ERROR)
+        );
+        MatcherAssert.assertThat(
+            "Upload is removed after failure",
+            this.get(String.format("/package/uploads/%s", id)),
+            new RsHasStatus(RsStatus.OK)
+        );
+    }
+
+    @Test
+    void shouldNotStorePartOfUnknownUpload() {
+        MatcherAssert.assertThat(
+            this.put(
+                "/package/uploads/3f2504e0-4f89-11d3-9a0c-0305e82c3301/1", new byte[]{1}
+            ),
+            new RsHasStatus(RsStatus.NOT_FOUND)
+        );
+    }
+
+    @Test
+    void shouldRejectMalformedPartNumber() {
+        final String id = this.uploads.start().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.put(String.format("/package/uploads/%s/0", id), new byte[]{1}),
+            new RsHasStatus(RsStatus.NOT_FOUND)
+        );
+    }
+
+    /**
+     * Send PUT request.
+     *
+     * @param path Request path.
+     * @param body Request body.
+     * @return Response.
+     */
+    private Response put(final String path, final byte[] body) {
+        return this.nuget.response(
+            new RequestLine(RqMethod.PUT, path).toString(),
+            new TestAuthentication.Headers(),
+            Flowable.fromArray(ByteBuffer.wrap(body))
+        );
+    }
+
+    /**
+     * Send GET request.
+     *
+     * @param path Request path.
+     * @return Response.
+     */
+    private Response get(final String path) {
+        return this.nuget.response(
+            new RequestLine(RqMethod.GET, path).toString(),
+            new TestAuthentication.Headers(),
+            Flowable.empty()
+        );
+    }
+
+    /**
+     * Package bytes.
+     *
+     * @return Package content.
+     * @throws Exception If failed to read package.
+     */
+    private static byte[] nupkg() throws Exception {
+        final URL resource = Thread.currentThread().getContextClassLoader()
+            .getResource("newtonsoft.json/12.0.3/newtonsoft.json.12.0.3.nupkg");
+        return Resources.toByteArray(resource);
+    }
+}
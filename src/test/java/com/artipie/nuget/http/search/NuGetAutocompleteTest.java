@@ -0,0 +1,132 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.search;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.nuget.AstoRepository;
+import com.artipie.nuget.PackageIdentity;
+import com.artipie.nuget.PackageKeys;
+import com.artipie.nuget.Versions;
+import com.artipie.nuget.http.NuGet;
+import com.artipie.nuget.http.TestAuthentication;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.Version;
+import com.artipie.scheduling.EventQueue;
+import com.artipie.security.policy.PolicyByUsername;
+import io.reactivex.Flowable;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link NuGet}.
+ * Autocomplete resource.
+ *
+ * @since 1.6
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+class NuGetAutocompleteTest {
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    /**
+     * Tested NuGet slice.
+     */
+    private NuGet nuget;
+
+    @BeforeEach
+    void init() throws Exception {
+        this.storage = new InMemoryStorage();
+        this.nuget = new NuGet(
+            new URL("http://localhost"),
+            new AstoRepository(this.storage),
+            new PolicyByUsername(TestAuthentication.USERNAME),
+            new TestAuthentication(),
+            "test",
+            new EventQueue<>()
+        );
+    }
+
+    @Test
+    void shouldCompletePackageIds() {
+        this.save("Newtonsoft.Json", "12.0.3");
+        this.save("Newton.Core", "1.0.0");
+        this.save("Serilog", "2.0.0");
+        MatcherAssert.assertThat(
+            this.nuget.response(
+                new RequestLine(RqMethod.GET, "/autocomplete?q=NEWTON&take=5").toString(),
+                new TestAuthentication.Headers(),
+                Flowable.empty()
+            ),
+            Matchers.allOf(
+                new RsHasStatus(RsStatus.OK),
+                new RsHasBody(
+                    "{\"totalHits\":2,\"data\":[\"Newton.Core\",\"Newtonsoft.Json\"]}"
+                        .getBytes(StandardCharsets.UTF_8)
+                )
+            )
+        );
+    }
+
+    @Test
+    void shouldListPackageVersions() {
+        this.save("Serilog", "2.0.0", "1.0.0", "3.0.0-beta");
+        MatcherAssert.assertThat(
+            this.nuget.response(
+                new RequestLine(RqMethod.GET, "/autocomplete?id=serilog").toString(),
+                new TestAuthentication.Headers(),
+                Flowable.empty()
+            ),
+            Matchers.allOf(
+                new RsHasStatus(RsStatus.OK),
+                new RsHasBody(
+                    "{\"data\":[\"1.0.0\",\"2.0.0\"]}".getBytes(StandardCharsets.UTF_8)
+                )
+            )
+        );
+    }
+
+    /**
+     * Save package nuspecs and versions registry.
+     *
+     * @param id Package id.
+     * @param versions Package versions.
+     */
+    private void save(final String id, final String... versions) {
+        Versions registry = new Versions();
+        for (final String version : versions) {
+            final Nuspec.Xml nuspec = new Nuspec.Xml(
+                String.join(
+                    "",
+                    "<?xml version=\"1.0\"?>",
+                    "<package xmlns=\"http://schemas.microsoft.com/packaging/2013/05/nuspec.xsd\">",
+                    String.format(
+                        "<metadata><id>%s</id><version>%s</version></metadata>", id, version
+                    ),
+                    "</package>"
+                ).getBytes()
+            );
+            this.storage.save(
+                new PackageIdentity(nuspec.id(), nuspec.version()).nuspecKey(),
+                new Content.From(nuspec.bytes())
+            ).join();
+            registry = registry.add(new Version(version));
+        }
+        registry.save(this.storage, new PackageKeys(id).versionsKey()).join();
+    }
+}
@@ -6,6 +6,8 @@ package com.artipie.nuget.metadata;
 
 import com.artipie.asto.test.TestResource;
 import com.artipie.nuget.NewtonJsonResource;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.hamcrest.core.IsEqual;
@@ -123,6 +125,29 @@ class NuspecTest {
         );
     }
 
+    @Test
+    void readsDependencyGroups() {
+        final List<DependencyGroup> groups =
+            new Nuspec.Xml(new TestResource("deps-format.nuspec").asBytes()).dependencyGroups();
+        MatcherAssert.assertThat(
+            "Should read groups in document order",
+            groups.stream().map(DependencyGroup::targetFramework).collect(Collectors.toList()),
+            Matchers.contains("", ".NETFramework4.7.2", "netcoreapp3.1")
+        );
+        MatcherAssert.assertThat(
+            "Should read dependencies of the group",
+            groups.get(1).dependencies().stream()
+                .map(dep -> String.format("%s %s", dep.id(), dep.version()))
+                .collect(Collectors.toList()),
+            Matchers.contains("jQuery 1.6.2", "WebActivator 1.4.4")
+        );
+        MatcherAssert.assertThat(
+            "Should read empty group",
+            groups.get(2).dependencies(),
+            Matchers.empty()
+        );
+    }
+
     @Test
     void returnsEmptyWhenPackageTypesAreAbsent() {
         MatcherAssert.assertThat(
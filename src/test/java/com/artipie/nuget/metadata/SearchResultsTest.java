@@ -8,7 +8,11 @@ import com.artipie.asto.test.TestResource;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import org.cactoos.list.ListOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
 import org.json.JSONException;
 import org.junit.jupiter.api.Test;
 import org.skyscreamer.jsonassert.JSONAssert;
@@ -50,4 +54,40 @@ class SearchResultsTest {
         );
     }
 
+    @Test
+    void writesPageAndCountsAllHits() throws IOException, JSONException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final List<String> rendered = new ArrayList<>(1);
+        new SearchResults(out).generate(
+            new ListOf<>("first", "second", "third").iterator(), 1, 1,
+            id -> {
+                rendered.add(id);
+                return new SearchResults.Package(
+                    id, new ListOf<>("Dependency"),
+                    new ListOf<>(
+                        new SearchResults.Version("1.0", 1, "http://link/1.0"),
+                        new SearchResults.Version("2.0-rc", 2, "http://link/2.0-rc")
+                    )
+                );
+            }
+        );
+        MatcherAssert.assertThat(
+            "Only hits of the page should be rendered",
+            rendered,
+            Matchers.contains("second")
+        );
+        JSONAssert.assertEquals(
+            String.join(
+                "",
+                "{\"totalHits\":3,\"data\":[",
+                "{\"id\":\"second\",\"version\":\"2.0-rc\",\"totalDownloads\":3,",
+                "\"packageTypes\":[\"Dependency\"],\"versions\":[",
+                "{\"version\":\"1.0\",\"downloads\":1,\"@id\":\"http://link/1.0\"},",
+                "{\"version\":\"2.0-rc\",\"downloads\":2,\"@id\":\"http://link/2.0-rc\"}",
+                "]}]}"
+            ),
+            out.toString(StandardCharsets.UTF_8.name()),
+            true
+        );
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.metadata;
+
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for {@link VersionRange}.
+ *
+ * @since 1.6
+ */
+class VersionRangeTest {
+
+    @ParameterizedTest
+    @CsvSource(
+        delimiter = ';',
+        value = {
+            "1.0;1.0;true",
+            "1.0;0.9;false",
+            "1.0;2.0-beta;true",
+            "(1.0,);1.0;false",
+            "(1.0,);1.0.1;true",
+            "[1.0];1.0.0;true",
+            "[1.0];1.0.1;false",
+            "(,1.0];1.0;true",
+            "(,1.0);1.0;false",
+            "(,1.0);0.1;true",
+            "[1.0, 2.0);2.0;false",
+            "[1.0, 2.0);1.9.9;true",
+            "[1.0, 2.0];2.0;true",
+            "(1.0, 2.0);1.0;false",
+            "'';0.0.1;true"
+        }
+    )
+    void checksMembership(final String range, final String version, final boolean expected) {
+        MatcherAssert.assertThat(
+            new VersionRange(range).satisfies(new Version(version)),
+            Matchers.is(expected)
+        );
+    }
+
+    @ParameterizedTest
+    @CsvSource(
+        delimiter = ';',
+        value = {
+            "1.0;[1.0, )",
+            "(1.00, 2.0.0.0];(1.0, 2.0.0]",
+            "[1.0.0];[1.0.0]",
+            "(, 2.0);(, 2.0)",
+            "'';(, )"
+        }
+    )
+    void normalizes(final String range, final String expected) {
+        MatcherAssert.assertThat(
+            new VersionRange(range).normalized(),
+            Matchers.equalTo(expected)
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"[1.0", "(1.0)", "[]", "[1.0, 2.0, 3.0]", "[a, b]", "abc"})
+    void failsOnMalformedRange(final String range) {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new VersionRange(range)
+        );
+    }
+
+    @Test
+    void findsLowestMatchingVersion() {
+        final List<Version> sorted = VersionRangeTest.versions(
+            "0.9", "1.0", "1.5", "2.0", "2.1", "3.0"
+        );
+        MatcherAssert.assertThat(
+            "Should find lowest version in list",
+            new VersionRange("(1.0, 3.0)").bestMatch(sorted).map(Version::raw).get(),
+            Matchers.equalTo("1.5")
+        );
+        MatcherAssert.assertThat(
+            "Should find lowest version in set",
+            new VersionRange("(1.0, 3.0)").bestMatch(new TreeSet<>(sorted))
+                .map(Version::raw).get(),
+            Matchers.equalTo("1.5")
+        );
+        MatcherAssert.assertThat(
+            "Should find nothing if lowest candidate is above upper bound",
+            new VersionRange("(1.5, 2.0)").bestMatch(sorted).isPresent(),
+            Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            "Should find nothing if all versions are below lower bound",
+            new VersionRange("4.0").bestMatch(new TreeSet<>(sorted)).isPresent(),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * Versions from strings.
+     *
+     * @param versions Versions.
+     * @return List of versions.
+     */
+    private static List<Version> versions(final String... versions) {
+        return Stream.of(versions).map(Version::new).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.proxy;
+
+import com.artipie.asto.Key;
+import java.time.Duration;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link NegativeCache}.
+ *
+ * @since 1.6
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+class NegativeCacheTest {
+
+    @Test
+    void remembersAbsentResourceIgnoringCase() {
+        final NegativeCache cache = new NegativeCache();
+        cache.add(new Key.From("Internal", "index.json"));
+        MatcherAssert.assertThat(
+            cache.contains(new Key.From("internal", "index.json")),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void reportsHitRate() {
+        final NegativeCache cache = new NegativeCache();
+        final Key key = new Key.From("internal", "index.json");
+        cache.contains(key);
+        cache.add(key);
+        cache.contains(key);
+        cache.contains(key);
+        cache.contains(new Key.From("other", "index.json"));
+        MatcherAssert.assertThat(
+            cache.stats().hitRate(),
+            Matchers.equalTo(0.5)
+        );
+    }
+
+    @Test
+    void forgetsExpiredResource() {
+        final NegativeCache cache = new NegativeCache(Duration.ZERO, 10);
+        final Key key = new Key.From("internal", "index.json");
+        cache.add(key);
+        MatcherAssert.assertThat(cache.contains(key), Matchers.is(false));
+    }
+
+    @Test
+    void isBoundedBySize() {
+        final NegativeCache cache = new NegativeCache(Duration.ofMinutes(1), 1);
+        cache.add(new Key.From("first", "index.json"));
+        cache.add(new Key.From("second", "index.json"));
+        MatcherAssert.assertThat(
+            cache.contains(new Key.From("first", "index.json")),
+            Matchers.is(false)
+        );
+    }
+}
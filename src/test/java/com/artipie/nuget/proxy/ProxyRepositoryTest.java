@@ -0,0 +1,275 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.proxy;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.nuget.NewtonJsonResource;
+import com.artipie.nuget.PackageIdentity;
+import com.artipie.nuget.PackageKeys;
+import com.artipie.nuget.ReadOnlyRepositoryException;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ProxyRepository}.
+ *
+ * @since 1.6
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+class ProxyRepositoryTest {
+
+    /**
+     * Upstream service index.
+     */
+    private static final URI INDEX = URI.create("http://upstream/v3/index.json");
+
+    /**
+     * Upstream package versions registry.
+     */
+    private static final String VERSIONS =
+        "http://upstream/v3-flatcontainer/newtonsoft.json/index.json";
+
+    /**
+     * Upstream package.
+     */
+    private static final String NUPKG = String.join(
+        "",
+        "http://upstream/v3-flatcontainer/newtonsoft.json/12.0.3/",
+        "newtonsoft.json.12.0.3.nupkg"
+    );
+
+    /**
+     * Cache storage.
+     */
+    private Storage storage;
+
+    /**
+     * Fake upstream.
+     */
+    private FakeUpstream upstream;
+
+    @BeforeEach
+    void init() {
+        this.storage = new InMemoryStorage();
+        this.upstream = new FakeUpstream();
+        this.upstream.put(
+            ProxyRepositoryTest.INDEX.toString(),
+            String.join(
+                "",
+                "{\"version\":\"3.0.0\",\"resources\":[",
+                "{\"@id\":\"http://upstream/v3-flatcontainer\",",
+                "\"@type\":\"PackageBaseAddress/3.0.0\"}]}"
+            ).getBytes(StandardCharsets.UTF_8)
+        );
+        this.upstream.put(
+            ProxyRepositoryTest.VERSIONS,
+            "{\"versions\":[\"12.0.3\"]}".getBytes(StandardCharsets.UTF_8)
+        );
+        this.upstream.put(
+            ProxyRepositoryTest.NUPKG,
+            new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").bytes()
+        );
+    }
+
+    @Test
+    void fetchesPackageOnceAndCachesItWithHash() {
+        final ProxyRepository repo = this.repository(Duration.ofHours(1));
+        final Key key = new Key.From("newtonsoft.json", "12.0.3", "newtonsoft.json.12.0.3.nupkg");
+        repo.content(key).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Package is not served from cache",
+            new PublisherAs(repo.content(key).toCompletableFuture().join().get())
+                .bytes().toCompletableFuture().join(),
+            Matchers.equalTo(new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").bytes())
+        );
+        MatcherAssert.assertThat(
+            "Package is fetched from upstream more than once",
+            this.upstream.calls(ProxyRepositoryTest.NUPKG),
+            Matchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            "Package hash is not cached",
+            this.storage.exists(
+                new PackageIdentity(new PackageId("Newtonsoft.Json"), new Version("12.0.3"))
+                    .hashKey()
+            ).toCompletableFuture().join(),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void fetchesVersionsFromUpstream() {
+        MatcherAssert.assertThat(
+            this.repository(Duration.ofHours(1))
+                .versions(new PackageKeys("Newtonsoft.Json"))
+                .toCompletableFuture().join()
+                .all(),
+            Matchers.contains(new Version("12.0.3"))
+        );
+    }
+
+    @Test
+    void servesFreshVersionsFromCache() {
+        final ProxyRepository repo = this.repository(Duration.ofHours(1));
+        final PackageKeys id = new PackageKeys("Newtonsoft.Json");
+        repo.versions(id).toCompletableFuture().join();
+        repo.versions(id).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.upstream.calls(ProxyRepositoryTest.VERSIONS),
+            Matchers.equalTo(1)
+        );
+    }
+
+    @Test
+    void servesStaleVersionsWhileRevalidating() {
+        final ProxyRepository repo = this.repository(Duration.ZERO);
+        final PackageKeys id = new PackageKeys("Newtonsoft.Json");
+        repo.versions(id).toCompletableFuture().join();
+        this.upstream.fail(ProxyRepositoryTest.VERSIONS);
+        MatcherAssert.assertThat(
+            repo.versions(id).toCompletableFuture().join().all(),
+            Matchers.contains(new Version("12.0.3"))
+        );
+    }
+
+    @Test
+    void returnsEmptyIfUpstreamHasNoPackage() {
+        MatcherAssert.assertThat(
+            this.repository(Duration.ofHours(1)).content(
+                new Key.From("unknown", "1.0.0", "unknown.1.0.0.nupkg")
+            ).toCompletableFuture().join().isPresent(),
+            Matchers.is(false)
+        );
+    }
+
+    @Test
+    void answersRepeatedMissesFromNegativeCache() {
+        final NegativeCache misses = new NegativeCache();
+        final ProxyRepository repo = new ProxyRepository(
+            this.upstream, ProxyRepositoryTest.INDEX, this.storage, Duration.ofHours(1), misses
+        );
+        final Key key = new Key.From("internal", "1.0.0", "internal.1.0.0.nupkg");
+        repo.content(key).toCompletableFuture().join();
+        repo.content(key).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Missing package is requested from upstream more than once",
+            this.upstream.calls(
+                "http://upstream/v3-flatcontainer/internal/1.0.0/internal.1.0.0.nupkg"
+            ),
+            Matchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            "Negative cache hit is not recorded",
+            misses.stats().hitCount(),
+            Matchers.equalTo(1L)
+        );
+    }
+
+    @Test
+    void rejectsPublishing() {
+        final CompletionException err = Assertions.assertThrows(
+            CompletionException.class,
+            () -> this.repository(Duration.ofHours(1))
+                .add(new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").content())
+                .toCompletableFuture().join()
+        );
+        MatcherAssert.assertThat(
+            err.getCause(),
+            Matchers.instanceOf(ReadOnlyRepositoryException.class)
+        );
+    }
+
+    /**
+     * Proxy repository over fake upstream.
+     *
+     * @param ttl Metadata time to live.
+     * @return Repository.
+     */
+    private ProxyRepository repository(final Duration ttl) {
+        return new ProxyRepository(this.upstream, ProxyRepositoryTest.INDEX, this.storage, ttl);
+    }
+
+    /**
+     * Upstream serving resources from memory and counting requests.
+     *
+     * @since 1.6
+     */
+    private static final class FakeUpstream implements Upstream {
+
+        /**
+         * Resources by URI.
+         */
+        private final Map<String, byte[]> resources = new ConcurrentHashMap<>();
+
+        /**
+         * Requests count by URI.
+         */
+        private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+        @Override
+        public CompletionStage<Optional<Content>> get(final URI uri) {
+            this.counts.computeIfAbsent(uri.toString(), key -> new AtomicInteger())
+                .incrementAndGet();
+            final byte[] bytes = this.resources.get(uri.toString());
+            final CompletableFuture<Optional<Content>> res = new CompletableFuture<>();
+            if (bytes == null) {
+                res.complete(Optional.empty());
+            } else if (bytes.length == 0) {
+                res.completeExceptionally(new IllegalStateException("Upstream failure"));
+            } else {
+                res.complete(Optional.of(new Content.From(bytes)));
+            }
+            return res;
+        }
+
+        /**
+         * Add resource.
+         *
+         * @param uri Resource URI.
+         * @param bytes Resource content.
+         */
+        void put(final String uri, final byte[] bytes) {
+            this.resources.put(uri, bytes);
+        }
+
+        /**
+         * Make requests for resource fail.
+         *
+         * @param uri Resource URI.
+         */
+        void fail(final String uri) {
+            this.resources.put(uri, new byte[0]);
+        }
+
+        /**
+         * Number of requests for resource.
+         *
+         * @param uri Resource URI.
+         * @return Requests count.
+         */
+        int calls(final String uri) {
+            return this.counts.getOrDefault(uri, new AtomicInteger()).get();
+        }
+    }
+}
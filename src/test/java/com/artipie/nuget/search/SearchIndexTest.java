@@ -0,0 +1,169 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.search;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.nuget.AstoRepository;
+import com.artipie.nuget.PackageIdentity;
+import com.artipie.nuget.PackageKeys;
+import com.artipie.nuget.Versions;
+import com.artipie.nuget.metadata.Nuspec;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link SearchIndex}.
+ *
+ * @since 1.6
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class SearchIndexTest {
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    /**
+     * Search index.
+     */
+    private SearchIndex index;
+
+    @BeforeEach
+    void init() {
+        this.storage = new InMemoryStorage();
+        this.index = new SearchIndex(new AstoRepository(this.storage));
+    }
+
+    @Test
+    void findsByIdPrefixAndTags() {
+        this.index.add(SearchIndexTest.nuspec("Newtonsoft.Json", "12.0.3", "json serializer"));
+        this.index.add(SearchIndexTest.nuspec("Serilog", "2.10.0", "logging"));
+        MatcherAssert.assertThat(
+            "Should find package by prefix of id token",
+            SearchIndexTest.ids(this.index.search("newton", false)),
+            Matchers.contains("Newtonsoft.Json")
+        );
+        MatcherAssert.assertThat(
+            "Should find package by tag",
+            SearchIndexTest.ids(this.index.search("LOG", false)),
+            Matchers.contains("Serilog")
+        );
+        MatcherAssert.assertThat(
+            "Should require all query terms",
+            SearchIndexTest.ids(this.index.search("json logging", false)),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    void putsExactIdMatchFirst() {
+        this.index.add(SearchIndexTest.nuspec("Json.Extensions", "1.0.0", "json"));
+        this.index.add(SearchIndexTest.nuspec("Json", "1.0.0", ""));
+        MatcherAssert.assertThat(
+            SearchIndexTest.ids(this.index.search("json", false)),
+            Matchers.contains("Json", "Json.Extensions")
+        );
+    }
+
+    @Test
+    void filtersPrereleaseAndUsesLatestMetadata() {
+        this.index.add(SearchIndexTest.nuspec("Pkg", "1.0.0", "old"));
+        this.index.add(SearchIndexTest.nuspec("Pkg", "2.0.0-beta", "new"));
+        MatcherAssert.assertThat(
+            "Should hide pre-release versions",
+            this.index.search("pkg", false).get(0).versions(),
+            Matchers.contains("1.0.0")
+        );
+        MatcherAssert.assertThat(
+            "Should include pre-release versions",
+            this.index.search("pkg", true).get(0).versions(),
+            Matchers.contains("1.0.0", "2.0.0-beta")
+        );
+        MatcherAssert.assertThat(
+            "Should drop tokens of older version",
+            this.index.search("old", true),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    void loadsPackagesFromRepository() {
+        final Nuspec nuspec = SearchIndexTest.nuspec("Stored", "0.1.0", "persisted");
+        this.storage.save(
+            new PackageIdentity(nuspec.id(), nuspec.version()).nuspecKey(),
+            new Content.From(nuspec.bytes())
+        ).join();
+        new Versions().add(nuspec.version())
+            .save(this.storage, new PackageKeys(nuspec.id()).versionsKey()).join();
+        this.index.ready().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            SearchIndexTest.ids(this.index.search("persisted", false)),
+            Matchers.contains("Stored")
+        );
+    }
+
+    @Test
+    void restoresFromSegmentsWithoutScanningPackages() {
+        final Storage segments = new InMemoryStorage();
+        final SearchIndex first = new SearchIndex(new AstoRepository(this.storage), segments);
+        first.ready().toCompletableFuture().join();
+        first.published(SearchIndexTest.nuspec("Seg", "1.0.0", "alpha"))
+            .toCompletableFuture().join();
+        first.published(SearchIndexTest.nuspec("Seg", "1.1.0", "beta"))
+            .toCompletableFuture().join();
+        final SearchIndex second = new SearchIndex(new AstoRepository(this.storage), segments);
+        second.ready().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Should restore latest metadata",
+            SearchIndexTest.ids(second.search("beta", false)),
+            Matchers.contains("Seg")
+        );
+        MatcherAssert.assertThat(
+            "Should restore all versions",
+            second.search("seg", false).get(0).versions(),
+            Matchers.contains("1.0.0", "1.1.0")
+        );
+    }
+
+    /**
+     * Ids of search hits.
+     *
+     * @param hits Search hits.
+     * @return Ids.
+     */
+    private static List<String> ids(final List<SearchIndex.Hit> hits) {
+        return hits.stream().map(SearchIndex.Hit::id).collect(Collectors.toList());
+    }
+
+    /**
+     * Create nuspec.
+     *
+     * @param id Package id.
+     * @param version Package version.
+     * @param tags Package tags.
+     * @return Nuspec.
+     */
+    private static Nuspec nuspec(final String id, final String version, final String tags) {
+        return new Nuspec.Xml(
+            String.join(
+                "",
+                "<?xml version=\"1.0\"?>",
+                "<package xmlns=\"http://schemas.microsoft.com/packaging/2013/05/nuspec.xsd\">",
+                String.format(
+                    "<metadata><id>%s</id><version>%s</version><tags>%s</tags></metadata>",
+                    id, version, tags
+                ),
+                "</package>"
+            ).getBytes()
+        );
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.search;
+
+import com.artipie.nuget.metadata.Version;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Segment}.
+ *
+ * @since 1.6
+ */
+class SegmentTest {
+
+    @Test
+    void readsWrittenPackages() {
+        final List<IndexedPackage> read = Segment.from(
+            new Segment(
+                Arrays.asList(
+                    SegmentTest.pkg("Zeta", "1.0.0"),
+                    SegmentTest.pkg("Alpha", "0.1.0", "0.2.0-rc")
+                )
+            ).bytes()
+        ).packages();
+        MatcherAssert.assertThat(
+            "Should sort packages by id",
+            read.stream().map(IndexedPackage::id).collect(Collectors.toList()),
+            Matchers.contains("Alpha", "Zeta")
+        );
+        MatcherAssert.assertThat(
+            "Should keep versions",
+            read.get(0).versions().stream().map(Version::raw).collect(Collectors.toList()),
+            Matchers.contains("0.1.0", "0.2.0-rc")
+        );
+        MatcherAssert.assertThat(
+            "Should keep tokens",
+            read.get(0).tokens(),
+            Matchers.containsInAnyOrder("alpha", "lib")
+        );
+    }
+
+    /**
+     * Create indexed package.
+     *
+     * @param id Package id.
+     * @param versions Versions.
+     * @return Indexed package.
+     */
+    private static IndexedPackage pkg(final String id, final String... versions) {
+        return new IndexedPackage(
+            id,
+            Arrays.asList("Dependency"),
+            new HashSet<>(Arrays.asList(id.toLowerCase(), "lib")),
+            Arrays.stream(versions).map(Version::new).collect(Collectors.toCollection(TreeSet::new))
+        );
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.search;
+
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.nuget.metadata.Version;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Segments}.
+ *
+ * @since 1.6
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+class SegmentsTest {
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    @BeforeEach
+    void init() {
+        this.storage = new InMemoryStorage();
+    }
+
+    @Test
+    void mergesSegmentsAppendedByOtherNodes() {
+        final Segments first = new Segments(this.storage);
+        final Segments second = new Segments(this.storage);
+        first.append(SegmentsTest.pkg("Alpha", "1.0.0")).toCompletableFuture().join();
+        second.append(SegmentsTest.pkg("Beta", "1.0.0")).toCompletableFuture().join();
+        first.append(SegmentsTest.pkg("Alpha", "2.0.0")).toCompletableFuture().join();
+        first.merge().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Segments are not merged into one",
+            this.storage.list(Segments.ROOT).join(),
+            Matchers.hasSize(1)
+        );
+        MatcherAssert.assertThat(
+            "Packages of merged segments are lost",
+            SegmentsTest.strings(new Segments(this.storage).load().toCompletableFuture().join()
+                .get()),
+            Matchers.containsInAnyOrder("Alpha 1.0.0,2.0.0", "Beta 1.0.0")
+        );
+    }
+
+    @Test
+    void mergesRecordsOfSegmentsWrittenAtOnce() {
+        final Segments segments = new Segments(this.storage);
+        for (int num = 0; num < 20; num += 1) {
+            segments.append(SegmentsTest.pkg("Alpha", String.format("1.0.%d", num)))
+                .toCompletableFuture().join();
+        }
+        MatcherAssert.assertThat(
+            SegmentsTest.strings(segments.load().toCompletableFuture().join().get()),
+            Matchers.contains(
+                String.format(
+                    "Alpha %s",
+                    IntStream.range(0, 20).mapToObj(num -> String.format("1.0.%d", num))
+                        .collect(Collectors.joining(","))
+                )
+            )
+        );
+    }
+
+    @Test
+    void keepsVersionsOfRecordAppendedOutOfOrder() {
+        final Segments segments = new Segments(this.storage);
+        segments.append(SegmentsTest.pkg("Alpha", "1.0.0", "2.0.0"))
+            .toCompletableFuture().join();
+        segments.append(SegmentsTest.pkg("Alpha", "1.0.0")).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            SegmentsTest.strings(segments.load().toCompletableFuture().join().get()),
+            Matchers.contains("Alpha 1.0.0,2.0.0")
+        );
+    }
+
+    @Test
+    void keepsSegmentAppendedAfterMerge() {
+        final Segments segments = new Segments(this.storage);
+        segments.append(SegmentsTest.pkg("Alpha", "1.0.0")).toCompletableFuture().join();
+        segments.append(SegmentsTest.pkg("Beta", "1.0.0")).toCompletableFuture().join();
+        segments.merge().toCompletableFuture().join();
+        segments.append(SegmentsTest.pkg("Alpha", "2.0.0")).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            SegmentsTest.strings(segments.load().toCompletableFuture().join().get()),
+            Matchers.containsInAnyOrder("Alpha 1.0.0,2.0.0", "Beta 1.0.0")
+        );
+    }
+
+    /**
+     * Packages as strings.
+     *
+     * @param packages Packages.
+     * @return Id and versions of every package.
+     */
+    private static Collection<String> strings(final Collection<IndexedPackage> packages) {
+        return packages.stream()
+            .map(
+                pkg -> String.format(
+                    "%s %s",
+                    pkg.id(),
+                    pkg.versions().stream().map(Version::raw).collect(Collectors.joining(","))
+                )
+            ).collect(Collectors.toList());
+    }
+
+    /**
+     * Create indexed package.
+     *
+     * @param id Package id.
+     * @param versions Versions.
+     * @return Single package collection.
+     */
+    private static Collection<IndexedPackage> pkg(final String id, final String... versions) {
+        return Collections.singleton(
+            new IndexedPackage(
+                id,
+                Arrays.asList("Dependency"),
+                new HashSet<>(Arrays.asList(id.toLowerCase(), "lib")),
+                Stream.of(versions).map(Version::new)
+                    .collect(Collectors.toCollection(TreeSet::new))
+            )
+        );
+    }
+}
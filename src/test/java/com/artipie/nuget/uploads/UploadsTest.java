@@ -0,0 +1,165 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.uploads;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Uploads}.
+ *
+ * @since 1.6
+ */
+class UploadsTest {
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    /**
+     * Uploads being tested.
+     */
+    private Uploads uploads;
+
+    @BeforeEach
+    void init() {
+        this.storage = new InMemoryStorage();
+        this.uploads = new Uploads(this.storage);
+    }
+
+    @Test
+    void assemblesPartsInOrderOfNumbers() {
+        final String id = this.uploads.start().toCompletableFuture().join();
+        this.uploads.part(id, 2, UploadsTest.content("world")).toCompletableFuture().join();
+        this.uploads.part(id, 1, UploadsTest.content("hello ")).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.uploads.content(id)
+                .thenCompose(content -> new PublisherAs(content).string(StandardCharsets.UTF_8))
+                .toCompletableFuture().join(),
+            Matchers.equalTo("hello world")
+        );
+    }
+
+    @Test
+    void replacesPartUploadedAgain() {
+        final String id = this.uploads.start().toCompletableFuture().join();
+        this.uploads.part(id, 1, UploadsTest.content("broken")).toCompletableFuture().join();
+        this.uploads.part(id, 1, UploadsTest.content("fixed")).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.uploads.content(id)
+                .thenCompose(content -> new PublisherAs(content).string(StandardCharsets.UTF_8))
+                .toCompletableFuture().join(),
+            Matchers.equalTo("fixed")
+        );
+    }
+
+    @Test
+    void listsStoredParts() {
+        final String id = this.uploads.start().toCompletableFuture().join();
+        this.uploads.part(id, 3, UploadsTest.content("c")).toCompletableFuture().join();
+        this.uploads.part(id, 1, UploadsTest.content("a")).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.uploads.parts(id).toCompletableFuture().join(),
+            Matchers.equalTo(Optional.of(Arrays.asList(1, 3)))
+        );
+    }
+
+    @Test
+    void failsToAssembleUploadWithMissingPart() {
+        final String id = this.uploads.start().toCompletableFuture().join();
+        this.uploads.part(id, 2, UploadsTest.content("b")).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            Assertions.assertThrows(
+                CompletionException.class,
+                () -> this.uploads.content(id).toCompletableFuture().join()
+            ).getCause(),
+            Matchers.instanceOf(IncompleteUploadException.class)
+        );
+    }
+
+    @Test
+    void doesNotStorePartOfUnknownUpload() {
+        MatcherAssert.assertThat(
+            "Part of unknown upload is stored",
+            this.uploads.part("unknown", 1, UploadsTest.content("a"))
+                .toCompletableFuture().join(),
+            Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            "Storage is not empty",
+            this.storage.list(Key.ROOT).join(),
+            Matchers.emptyIterable()
+        );
+    }
+
+    @Test
+    void removesUploadWithParts() {
+        final String id = this.uploads.start().toCompletableFuture().join();
+        this.uploads.part(id, 1, UploadsTest.content("a")).toCompletableFuture().join();
+        this.uploads.remove(id).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Upload exists",
+            this.uploads.exists(id).toCompletableFuture().join(),
+            Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            "Storage is not empty",
+            this.storage.list(Key.ROOT).join(),
+            Matchers.emptyIterable()
+        );
+    }
+
+    @Test
+    void removesAbandonedUploads() {
+        final Uploads expiring = new Uploads(this.storage, Duration.ZERO);
+        final String id = expiring.start().toCompletableFuture().join();
+        expiring.part(id, 1, UploadsTest.content("a")).toCompletableFuture().join();
+        expiring.expire().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Abandoned upload exists",
+            expiring.exists(id).toCompletableFuture().join(),
+            Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            "Storage is not empty",
+            this.storage.list(Key.ROOT).join(),
+            Matchers.emptyIterable()
+        );
+    }
+
+    @Test
+    void keepsRecentUploads() {
+        final String id = this.uploads.start().toCompletableFuture().join();
+        this.uploads.expire().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.uploads.exists(id).toCompletableFuture().join(),
+            Matchers.is(true)
+        );
+    }
+
+    /**
+     * Content from string.
+     *
+     * @param text Text.
+     * @return Content.
+     */
+    private static Content content(final String text) {
+        return new Content.From(text.getBytes(StandardCharsets.UTF_8));
+    }
+}